@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+abstract class AbstractBufferRecycler implements BufferRecycler {
+
+	static final int MINIMUM_SIZE = 128;
+
+	static final int SIZE_CLASSES = 14;
+
+	@Override
+	public final char[] acquireCharacters(int minimumSize) throws IllegalArgumentException {
+		int sizeClass = getSizeClass(minimumSize);
+		if (sizeClass < SIZE_CLASSES) {
+			char[] buffer = takeCharacters(sizeClass);
+			return null != buffer ? buffer : new char[MINIMUM_SIZE << sizeClass];
+		} else {
+			return new char[minimumSize];
+		}
+	}
+
+	@Override
+	public final void releaseCharacters(char[] buffer) throws IllegalArgumentException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		int sizeClass = getSizeClass(buffer.length);
+		if (sizeClass < SIZE_CLASSES && buffer.length == MINIMUM_SIZE << sizeClass) {
+			putCharacters(sizeClass, buffer);
+		}
+	}
+
+	@Override
+	public final byte[] acquireBytes(int minimumSize) throws IllegalArgumentException {
+		int sizeClass = getSizeClass(minimumSize);
+		if (sizeClass < SIZE_CLASSES) {
+			byte[] buffer = takeBytes(sizeClass);
+			return null != buffer ? buffer : new byte[MINIMUM_SIZE << sizeClass];
+		} else {
+			return new byte[minimumSize];
+		}
+	}
+
+	@Override
+	public final void releaseBytes(byte[] buffer) throws IllegalArgumentException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		int sizeClass = getSizeClass(buffer.length);
+		if (sizeClass < SIZE_CLASSES && buffer.length == MINIMUM_SIZE << sizeClass) {
+			putBytes(sizeClass, buffer);
+		}
+	}
+
+	private static int getSizeClass(int minimumSize) throws IllegalArgumentException {
+		if (minimumSize < 0) {
+			throw new IllegalArgumentException("The given minimum size is negative");
+		}
+		int sizeClass = 0;
+		while (sizeClass < SIZE_CLASSES && MINIMUM_SIZE << sizeClass < minimumSize) {
+			sizeClass++;
+		}
+		return sizeClass;
+	}
+
+	abstract char[] takeCharacters(int sizeClass);
+
+	abstract void putCharacters(int sizeClass, char[] buffer);
+
+	abstract byte[] takeBytes(int sizeClass);
+
+	abstract void putBytes(int sizeClass, byte[] buffer);
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+abstract class AbstractJsonParserPool implements JsonParserPool {
+
+	private final JsonParserMode[] modes;
+
+	AbstractJsonParserPool(JsonParserMode... modes) {
+		this.modes = null == modes ? null : modes.clone();
+	}
+
+	@Override
+	public final DefaultJsonPullParser getPullParser(JsonSource source) throws IllegalArgumentException {
+		if (null == source) {
+			throw new IllegalArgumentException("The given source is null");
+		}
+		DefaultJsonPullParser parser = takePullParser();
+		if (null == parser) {
+			parser = new DefaultJsonPullParser(source, modes);
+		} else {
+			parser.reset(source);
+		}
+		parser.lendFrom(this);
+		return parser;
+	}
+
+	@Override
+	public final DefaultJsonPushParser getPushParser(JsonSource source) throws IllegalArgumentException {
+		if (null == source) {
+			throw new IllegalArgumentException("The given source is null");
+		}
+		DefaultJsonPushParser parser = takePushParser();
+		if (null == parser) {
+			parser = new DefaultJsonPushParser(source, modes);
+		} else {
+			parser.reset(source);
+		}
+		parser.lendFrom(this);
+		return parser;
+	}
+
+	@Override
+	public final void release(DefaultJsonPullParser parser) throws IllegalArgumentException {
+		if (null == parser) {
+			throw new IllegalArgumentException("The given parser is null");
+		}
+		if (parser.returnTo(this)) {
+			parser.recycle();
+			putPullParser(parser);
+		}
+	}
+
+	@Override
+	public final void release(DefaultJsonPushParser parser) throws IllegalArgumentException {
+		if (null == parser) {
+			throw new IllegalArgumentException("The given parser is null");
+		}
+		if (parser.returnTo(this)) {
+			parser.recycle();
+			putPushParser(parser);
+		}
+	}
+
+	abstract DefaultJsonPullParser takePullParser();
+
+	abstract void putPullParser(DefaultJsonPullParser parser);
+
+	abstract DefaultJsonPushParser takePushParser();
+
+	abstract void putPushParser(DefaultJsonPushParser parser);
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import net.markenwerk.utils.json.common.JsonValueException;
+
+final class Base64Decoder {
+
+	private static final int SIZE = 1024;
+
+	private static final int INVALID = -1;
+
+	private static final int IGNORED = -2;
+
+	private static final int PADDING = -3;
+
+	private static final int[] VALUES = new int[128];
+
+	static {
+		for (int i = 0; i < VALUES.length; i++) {
+			VALUES[i] = INVALID;
+		}
+		for (int i = 0; i < 26; i++) {
+			VALUES['A' + i] = i;
+			VALUES['a' + i] = 26 + i;
+		}
+		for (int i = 0; i < 10; i++) {
+			VALUES['0' + i] = 52 + i;
+		}
+		VALUES['+'] = 62;
+		VALUES['-'] = 62;
+		VALUES['/'] = 63;
+		VALUES['_'] = 63;
+		VALUES['\r'] = IGNORED;
+		VALUES['\n'] = IGNORED;
+		VALUES['='] = PADDING;
+	}
+
+	private final char[] characters = new char[SIZE];
+
+	private final byte[] bytes = new byte[SIZE / 4 * 3 + 3];
+
+	private int bits;
+
+	private int count;
+
+	private int padding;
+
+	private boolean finished;
+
+	void begin() {
+		bits = 0;
+		count = 0;
+		padding = 0;
+		finished = false;
+	}
+
+	void cancel() {
+		finished = true;
+	}
+
+	char[] getCharacters() {
+		return characters;
+	}
+
+	byte[] getBytes() {
+		return bytes;
+	}
+
+	boolean isFinished() {
+		return finished;
+	}
+
+	int decode(int length) throws JsonValueException {
+		int position = 0;
+		for (int i = 0; i < length; i++) {
+			position = decode(characters[i], position);
+		}
+		return position;
+	}
+
+	int decode(char character) throws JsonValueException {
+		return decode(character, 0);
+	}
+
+	private int decode(char character, int position) throws JsonValueException {
+		int value = character < 128 ? VALUES[character] : INVALID;
+		if (0 <= value && 0 == padding) {
+			bits = (bits << 6) | value;
+			if (4 == ++count) {
+				bytes[position++] = (byte) (bits >> 16);
+				bytes[position++] = (byte) (bits >> 8);
+				bytes[position++] = (byte) bits;
+				bits = 0;
+				count = 0;
+			}
+		} else if (PADDING == value && count + padding >= 2 && count + padding < 4) {
+			padding++;
+		} else if (IGNORED != value) {
+			throw new JsonValueException("Value contains an invalid Base64 character: '" + character + "'");
+		}
+		return position;
+	}
+
+	int end() throws JsonValueException {
+		finished = true;
+		if (0 != padding && 4 != count + padding) {
+			throw new JsonValueException("Value contains incomplete Base64 padding");
+		}
+		switch (count) {
+		case 0:
+			return 0;
+		case 2:
+			bytes[0] = (byte) (bits >> 4);
+			return 1;
+		case 3:
+			bytes[0] = (byte) (bits >> 10);
+			bytes[1] = (byte) (bits >> 2);
+			return 2;
+		default:
+			throw new JsonValueException("Value is not a complete Base64 sequence");
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+import net.markenwerk.utils.json.handler.JsonHandlingException;
+
+/**
+ * A {@link BatchingJsonHandler} is a {@link JsonHandler} that receives runs of
+ * consecutive JSON integers or JSON reals in a JSON array as chunks of
+ * primitive values from a {@link DefaultJsonPushParser}.
+ * 
+ * <p>
+ * Instead of calling {@link JsonHandler#onNext()} and
+ * {@link JsonHandler#onLong(long)} or {@link JsonHandler#onDouble(double)} for
+ * every element of such a run, a {@link DefaultJsonPushParser} calls
+ * {@link BatchingJsonHandler#onLongs(long[], int)} or
+ * {@link BatchingJsonHandler#onDoubles(double[], int)}. The call to
+ * {@link JsonHandler#onNext()} that precedes the first element of a run, if
+ * the run doesn't start with the first element of the JSON array, is still
+ * reported. A long run may be reported with multiple consecutive calls.
+ * 
+ * <p>
+ * The given arrays are reused by the {@link DefaultJsonPushParser} and are only
+ * valid during the call.
+ * 
+ * @param <Result>
+ *            The result type.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface BatchingJsonHandler<Result> extends JsonHandler<Result> {
+
+	/**
+	 * Called when a run of JSON integers has been encountered.
+	 * 
+	 * @param values
+	 *            The values, starting at index {@code 0}.
+	 * @param count
+	 *            The amount of values.
+	 * 
+	 * @throws JsonHandlingException
+	 *             If the handling failed.
+	 */
+	public void onLongs(long[] values, int count) throws JsonHandlingException;
+
+	/**
+	 * Called when a run of JSON reals has been encountered.
+	 * 
+	 * @param values
+	 *            The values, starting at index {@code 0}.
+	 * @param count
+	 *            The amount of values.
+	 * 
+	 * @throws JsonHandlingException
+	 *             If the handling failed.
+	 */
+	public void onDoubles(double[] values, int count) throws JsonHandlingException;
+
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link BinaryJsonHandler} is a {@link JsonHandler} that records the
+ * reported events in a compact binary format, which can be persisted and later
+ * be replayed with a {@link BinaryJsonPullParser} or a
+ * {@link BinaryJsonPushParser} without having to parse the JSON text again.
+ * 
+ * <p>
+ * The binary format consists of a header, a table of all distinct names and
+ * strings and the sequence of events. JSON integers are stored as variable
+ * length integers, JSON reals are stored as eight byte IEEE 754 values, names
+ * and strings are stored as references into the string table and JSON arrays
+ * and JSON objects are prefixed with the length of their content, which allows
+ * to skip them without processing their content.
+ * 
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * <code>
+ * byte[] events = new DefaultJsonPushParser(reader).handle(new BinaryJsonHandler());
+ * </code>
+ * </pre>
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class BinaryJsonHandler implements JsonHandler<byte[]> {
+
+	static final byte[] MAGIC = { 'J', 'S', 'N', 'B' };
+
+	static final byte VERSION = 1;
+
+	static final byte DOCUMENT_BEGIN = 1;
+
+	static final byte DOCUMENT_END = 2;
+
+	static final byte ARRAY_BEGIN = 3;
+
+	static final byte ARRAY_END = 4;
+
+	static final byte OBJECT_BEGIN = 5;
+
+	static final byte OBJECT_END = 6;
+
+	static final byte NAME = 7;
+
+	static final byte NULL = 8;
+
+	static final byte FALSE = 9;
+
+	static final byte TRUE = 10;
+
+	static final byte LONG = 11;
+
+	static final byte DOUBLE = 12;
+
+	static final byte STRING = 13;
+
+	private final Map<String, Integer> stringIndices = new HashMap<String, Integer>();
+
+	private final ByteArray strings = new ByteArray();
+
+	private final ByteArray events = new ByteArray();
+
+	private int[] structures = new int[16];
+
+	private int depth;
+
+	/**
+	 * Creates a new {@link BinaryJsonHandler}.
+	 */
+	public BinaryJsonHandler() {
+	}
+
+	@Override
+	public void onDocumentBegin() {
+		depth = 0;
+		events.write(DOCUMENT_BEGIN);
+	}
+
+	@Override
+	public void onDocumentEnd() {
+		events.write(DOCUMENT_END);
+	}
+
+	@Override
+	public void onArrayBegin() {
+		beginStructure(ARRAY_BEGIN);
+	}
+
+	@Override
+	public void onArrayEnd() {
+		endStructure(ARRAY_END);
+	}
+
+	@Override
+	public void onObjectBegin() {
+		beginStructure(OBJECT_BEGIN);
+	}
+
+	@Override
+	public void onName(String name) {
+		events.write(NAME);
+		events.writeVarint(indexOf(name));
+	}
+
+	@Override
+	public void onObjectEnd() {
+		endStructure(OBJECT_END);
+	}
+
+	@Override
+	public void onNext() {
+	}
+
+	@Override
+	public void onNull() {
+		events.write(NULL);
+	}
+
+	@Override
+	public void onBoolean(boolean value) {
+		events.write(value ? TRUE : FALSE);
+	}
+
+	@Override
+	public void onLong(long value) {
+		events.write(LONG);
+		events.writeVarint((value << 1) ^ (value >> 63));
+	}
+
+	@Override
+	public void onDouble(double value) {
+		events.write(DOUBLE);
+		events.writeLong(Double.doubleToRawLongBits(value));
+	}
+
+	@Override
+	public void onString(String value) {
+		events.write(STRING);
+		events.writeVarint(indexOf(value));
+	}
+
+	/**
+	 * Returns the binary representation of all events that have been reported
+	 * to this {@link BinaryJsonHandler} so far.
+	 * 
+	 * @return The binary representation.
+	 */
+	@Override
+	public byte[] getResult() {
+		ByteArray header = new ByteArray();
+		header.write(MAGIC, 0, MAGIC.length);
+		header.write(VERSION);
+		header.writeVarint(stringIndices.size());
+		byte[] result = new byte[header.size + strings.size + events.size];
+		System.arraycopy(header.bytes, 0, result, 0, header.size);
+		System.arraycopy(strings.bytes, 0, result, header.size, strings.size);
+		System.arraycopy(events.bytes, 0, result, header.size + strings.size, events.size);
+		return result;
+	}
+
+	private void beginStructure(byte tag) {
+		events.write(tag);
+		if (depth == structures.length) {
+			structures = Arrays.copyOf(structures, depth * 2);
+		}
+		structures[depth++] = events.size;
+		events.writeInt(0);
+	}
+
+	private void endStructure(byte tag) {
+		events.write(tag);
+		int lengthPosition = structures[--depth];
+		events.writeInt(lengthPosition, events.size - lengthPosition - 4);
+	}
+
+	private int indexOf(String string) {
+		Integer index = stringIndices.get(string);
+		if (null == index) {
+			index = stringIndices.size();
+			stringIndices.put(string, index);
+			strings.writeString(string);
+		}
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return "BinaryJsonHandler [strings=" + stringIndices.size() + ", size=" + events.size + "]";
+	}
+
+	private static final class ByteArray {
+
+		private byte[] bytes = new byte[256];
+
+		private int size;
+
+		private void ensureCapacity(int additional) {
+			if (size + additional > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+			}
+		}
+
+		private void write(byte value) {
+			ensureCapacity(1);
+			bytes[size++] = value;
+		}
+
+		private void write(byte[] values, int offset, int length) {
+			ensureCapacity(length);
+			System.arraycopy(values, offset, bytes, size, length);
+			size += length;
+		}
+
+		private void writeVarint(long value) {
+			ensureCapacity(10);
+			while (0 != (value & ~0x7FL)) {
+				bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeInt(int value) {
+			ensureCapacity(4);
+			writeInt(size, value);
+			size += 4;
+		}
+
+		private void writeInt(int position, int value) {
+			bytes[position] = (byte) (value >>> 24);
+			bytes[position + 1] = (byte) (value >>> 16);
+			bytes[position + 2] = (byte) (value >>> 8);
+			bytes[position + 3] = (byte) value;
+		}
+
+		private void writeLong(long value) {
+			ensureCapacity(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				bytes[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void writeString(String string) {
+			int length = string.length();
+			int encodedLength = 0;
+			for (int i = 0; i < length; i++) {
+				char character = string.charAt(i);
+				encodedLength += character < 0x80 ? 1 : character < 0x800 ? 2 : 3;
+			}
+			writeVarint(length);
+			writeVarint(encodedLength);
+			ensureCapacity(encodedLength);
+			for (int i = 0; i < length; i++) {
+				char character = string.charAt(i);
+				if (character < 0x80) {
+					bytes[size++] = (byte) character;
+				} else if (character < 0x800) {
+					bytes[size++] = (byte) (0xC0 | (character >> 6));
+					bytes[size++] = (byte) (0x80 | (character & 0x3F));
+				} else {
+					bytes[size++] = (byte) (0xE0 | (character >> 12));
+					bytes[size++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+					bytes[size++] = (byte) (0x80 | (character & 0x3F));
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A {@link BinaryJsonPullParser} is a {@link JsonPullParser} that replays
+ * events that have been recorded by a {@link BinaryJsonHandler}.
+ * 
+ * <p>
+ * The events can be read from a {@code byte[]} or from a {@link ByteBuffer},
+ * which may also be a memory-mapped file. Strings are only decoded when they
+ * are first reported and JSON arrays and JSON objects are
+ * {@link JsonPullParser#skipValue() skipped} without processing their
+ * content.
+ * 
+ * <p>
+ * Because binary events have no lines or columns,
+ * {@link BinaryJsonPullParser#getLine()} always returns {@code 1} and
+ * {@link BinaryJsonPullParser#getColumn()} returns the position of the current
+ * event in the binary representation.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class BinaryJsonPullParser extends EventJsonPullParser {
+
+	private final ByteBuffer buffer;
+
+	private final int start;
+
+	private int[] stringOffsets;
+
+	private String[] strings;
+
+	private int[] structureEnds = new int[16];
+
+	private byte[] structureTags = new byte[16];
+
+	private int depth;
+
+	private char[] characters = new char[64];
+
+	private byte[] bytes;
+
+	/**
+	 * Creates a new {@link BinaryJsonPullParser}.
+	 * 
+	 * @param bytes
+	 *            The {@code byte[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 */
+	public BinaryJsonPullParser(byte[] bytes) throws IllegalArgumentException {
+		if (null == bytes) {
+			throw new IllegalArgumentException("The given byte array is null");
+		}
+		this.buffer = ByteBuffer.wrap(bytes);
+		this.start = 0;
+	}
+
+	/**
+	 * Creates a new {@link BinaryJsonPullParser} for the remaining content of
+	 * the given {@link ByteBuffer}. The position of the given
+	 * {@link ByteBuffer} is not changed.
+	 * 
+	 * @param buffer
+	 *            The {@link ByteBuffer} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link ByteBuffer} is {@literal null}.
+	 */
+	public BinaryJsonPullParser(ByteBuffer buffer) throws IllegalArgumentException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		this.start = buffer.position();
+	}
+
+	@Override
+	JsonState readEvent() throws IOException {
+		try {
+			if (null == strings) {
+				readHeader();
+			}
+			if (!buffer.hasRemaining()) {
+				return JsonState.SOURCE_END;
+			}
+			byte tag = buffer.get();
+			switch (tag) {
+			case BinaryJsonHandler.DOCUMENT_BEGIN:
+				depth = 0;
+				return JsonState.DOCUMENT_BEGIN;
+			case BinaryJsonHandler.DOCUMENT_END:
+				if (0 != depth) {
+					throw new IOException("Unexpected document end at position " + (buffer.position() - 1 - start));
+				}
+				return JsonState.DOCUMENT_END;
+			case BinaryJsonHandler.ARRAY_BEGIN:
+				beginStructure(BinaryJsonHandler.ARRAY_END);
+				return JsonState.ARRAY_BEGIN;
+			case BinaryJsonHandler.ARRAY_END:
+				endStructure(BinaryJsonHandler.ARRAY_END);
+				return JsonState.ARRAY_END;
+			case BinaryJsonHandler.OBJECT_BEGIN:
+				beginStructure(BinaryJsonHandler.OBJECT_END);
+				return JsonState.OBJECT_BEGIN;
+			case BinaryJsonHandler.OBJECT_END:
+				endStructure(BinaryJsonHandler.OBJECT_END);
+				return JsonState.OBJECT_END;
+			case BinaryJsonHandler.NAME:
+				stringValue = readStringReference();
+				return JsonState.NAME;
+			case BinaryJsonHandler.NULL:
+				return JsonState.NULL;
+			case BinaryJsonHandler.FALSE:
+				booleanValue = false;
+				return JsonState.BOOLEAN;
+			case BinaryJsonHandler.TRUE:
+				booleanValue = true;
+				return JsonState.BOOLEAN;
+			case BinaryJsonHandler.LONG:
+				long value = readVarint();
+				longValue = (value >>> 1) ^ -(value & 1);
+				return JsonState.LONG;
+			case BinaryJsonHandler.DOUBLE:
+				doubleValue = Double.longBitsToDouble(buffer.getLong());
+				return JsonState.DOUBLE;
+			case BinaryJsonHandler.STRING:
+				stringValue = readStringReference();
+				return JsonState.STRING;
+			default:
+				throw new IOException("Invalid event tag at position " + (buffer.position() - 1 - start) + ": "
+						+ tag);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Unexpected end of binary events", e);
+		}
+	}
+
+	private void readHeader() throws IOException {
+		for (int i = 0; i < BinaryJsonHandler.MAGIC.length; i++) {
+			if (!buffer.hasRemaining() || BinaryJsonHandler.MAGIC[i] != buffer.get()) {
+				throw new IOException("Invalid binary events header");
+			}
+		}
+		if (!buffer.hasRemaining() || BinaryJsonHandler.VERSION != buffer.get()) {
+			throw new IOException("Unsupported binary events version");
+		}
+		int count = readLength();
+		if (count > buffer.remaining() / 2) {
+			throw new IOException("Invalid string count: " + count);
+		}
+		int[] offsets = new int[count];
+		for (int i = 0; i < count; i++) {
+			offsets[i] = buffer.position();
+			readLength();
+			int encodedLength = readLength();
+			if (encodedLength > buffer.remaining()) {
+				throw new IOException("Unexpected end of binary events");
+			}
+			buffer.position(buffer.position() + encodedLength);
+		}
+		stringOffsets = offsets;
+		strings = new String[count];
+	}
+
+	private void beginStructure(byte endTag) throws IOException {
+		int length = buffer.getInt();
+		if (length < 1 || length > buffer.remaining()) {
+			throw new IOException("Invalid structure length at position " + (buffer.position() - 4 - start) + ": "
+					+ length);
+		}
+		if (depth == structureEnds.length) {
+			structureEnds = Arrays.copyOf(structureEnds, depth * 2);
+			structureTags = Arrays.copyOf(structureTags, depth * 2);
+		}
+		structureEnds[depth] = buffer.position() + length;
+		structureTags[depth++] = endTag;
+	}
+
+	private void endStructure(byte endTag) throws IOException {
+		int position = buffer.position();
+		if (0 == depth || structureTags[depth - 1] != endTag || structureEnds[depth - 1] != position) {
+			throw new IOException("Unexpected structure end at position " + (position - 1 - start));
+		}
+		depth--;
+	}
+
+	@Override
+	boolean skipStructure() throws IOException {
+		if (0 == depth) {
+			throw new IOException("Unexpected structure skip at position " + (buffer.position() - start));
+		}
+		int end = structureEnds[--depth];
+		if (buffer.get(end - 1) != structureTags[depth]) {
+			throw new IOException("Invalid structure end at position " + (end - 1 - start));
+		}
+		buffer.position(end);
+		return true;
+	}
+
+	private String readStringReference() throws IOException {
+		int index = readLength();
+		if (index >= strings.length) {
+			throw new IOException("Invalid string reference: " + index);
+		}
+		String string = strings[index];
+		if (null == string) {
+			string = decodeString(stringOffsets[index]);
+			strings[index] = string;
+		}
+		return string;
+	}
+
+	private String decodeString(int offset) throws IOException {
+		int position = buffer.position();
+		buffer.position(offset);
+		int length = readLength();
+		int encodedLength = readLength();
+		if (length > encodedLength || encodedLength > buffer.remaining()) {
+			throw new IOException("Invalid string encoding");
+		}
+		byte[] source;
+		int index;
+		if (buffer.hasArray()) {
+			source = buffer.array();
+			index = buffer.arrayOffset() + buffer.position();
+		} else {
+			if (null == bytes || bytes.length < encodedLength) {
+				bytes = new byte[Math.max(encodedLength, 64)];
+			}
+			buffer.get(bytes, 0, encodedLength);
+			source = bytes;
+			index = 0;
+		}
+		buffer.position(position);
+		if (characters.length < length) {
+			characters = new char[length];
+		}
+		int limit = index + encodedLength;
+		for (int i = 0; i < length; i++) {
+			if (index >= limit) {
+				throw new IOException("Invalid string encoding");
+			}
+			int first = source[index++] & 0xFF;
+			if (first < 0x80) {
+				characters[i] = (char) first;
+			} else if (first < 0xE0) {
+				if (index + 1 > limit) {
+					throw new IOException("Invalid string encoding");
+				}
+				characters[i] = (char) (((first & 0x1F) << 6) | (source[index++] & 0x3F));
+			} else {
+				if (index + 2 > limit) {
+					throw new IOException("Invalid string encoding");
+				}
+				characters[i] = (char) (((first & 0x0F) << 12) | ((source[index++] & 0x3F) << 6)
+						| (source[index++] & 0x3F));
+			}
+		}
+		if (index != limit) {
+			throw new IOException("Invalid string encoding");
+		}
+		return new String(characters, 0, length);
+	}
+
+	private int readLength() throws IOException {
+		long value = readVarint();
+		if (value < 0 || value > Integer.MAX_VALUE) {
+			throw new IOException("Invalid length: " + value);
+		}
+		return (int) value;
+	}
+
+	private long readVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte next = buffer.get();
+			value |= (long) (next & 0x7F) << shift;
+			if (0 == (next & 0x80)) {
+				return value;
+			}
+		}
+		throw new IOException("Invalid variable length integer");
+	}
+
+	@Override
+	public int getLine() {
+		return 1;
+	}
+
+	@Override
+	public int getColumn() {
+		return buffer.position() - start;
+	}
+
+	@Override
+	public String toString() {
+		return "BinaryJsonPullParser [position=" + (buffer.position() - start) + "]";
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link BinaryJsonPushParser} is a {@link JsonPushParser} that replays
+ * events that have been recorded by a {@link BinaryJsonHandler}.
+ * 
+ * <p>
+ * The events can be read from a {@code byte[]} or from a {@link ByteBuffer},
+ * which may also be a memory-mapped file.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class BinaryJsonPushParser implements JsonPushParser {
+
+	private final BinaryJsonPullParser parser;
+
+	/**
+	 * Creates a new {@link BinaryJsonPushParser}.
+	 * 
+	 * @param bytes
+	 *            The {@code byte[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 */
+	public BinaryJsonPushParser(byte[] bytes) throws IllegalArgumentException {
+		this.parser = new BinaryJsonPullParser(bytes);
+	}
+
+	/**
+	 * Creates a new {@link BinaryJsonPushParser} for the remaining content of
+	 * the given {@link ByteBuffer}. The position of the given
+	 * {@link ByteBuffer} is not changed.
+	 * 
+	 * @param buffer
+	 *            The {@link ByteBuffer} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link ByteBuffer} is {@literal null}.
+	 */
+	public BinaryJsonPushParser(ByteBuffer buffer) throws IllegalArgumentException {
+		this.parser = new BinaryJsonPullParser(buffer);
+	}
+
+	@Override
+	public <Result> Result handle(JsonHandler<Result> handler) throws IllegalArgumentException, JsonException,
+			IOException {
+		if (null == handler) {
+			throw new IllegalArgumentException("The given handler is null");
+		}
+		try {
+			return parser.replay(handler);
+		} finally {
+			close();
+		}
+	}
+
+	@Override
+	public int getLine() {
+		return parser.getLine();
+	}
+
+	@Override
+	public int getColumn() {
+		return parser.getColumn();
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	@Override
+	public String toString() {
+		return "BinaryJsonPushParser [position=" + parser.getColumn() + "]";
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link BoundedJsonParserPool} is a {@link JsonParserPool} that is shared
+ * between all threads and retains at most a given amount of
+ * {@link DefaultJsonPullParser DefaultJsonPullParsers} and
+ * {@link DefaultJsonPushParser DefaultJsonPushParsers}.
+ * 
+ * <p>
+ * If no pooled parser is available, a new parser is created. If a parser is
+ * released while the pool is full, the parser is discarded.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class BoundedJsonParserPool extends AbstractJsonParserPool {
+
+	private final Deque<DefaultJsonPullParser> pullParsers = new ArrayDeque<DefaultJsonPullParser>();
+
+	private final Deque<DefaultJsonPushParser> pushParsers = new ArrayDeque<DefaultJsonPushParser>();
+
+	private final int capacity;
+
+	/**
+	 * Creates a new {@link BoundedJsonParserPool}.
+	 * 
+	 * @param capacity
+	 *            The maximum amount of pooled parsers of each kind.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be used
+	 *            by the created parsers.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given capacity is negative.
+	 */
+	public BoundedJsonParserPool(int capacity, JsonParserMode... modes) throws IllegalArgumentException {
+		super(modes);
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The given capacity is negative");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the maximum amount of pooled parsers of each kind.
+	 * 
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the amount of currently pooled
+	 * {@link DefaultJsonPullParser DefaultJsonPullParsers}.
+	 * 
+	 * @return The amount of pooled pull parsers.
+	 */
+	public int getPullParserCount() {
+		synchronized (pullParsers) {
+			return pullParsers.size();
+		}
+	}
+
+	/**
+	 * Returns the amount of currently pooled
+	 * {@link DefaultJsonPushParser DefaultJsonPushParsers}.
+	 * 
+	 * @return The amount of pooled push parsers.
+	 */
+	public int getPushParserCount() {
+		synchronized (pushParsers) {
+			return pushParsers.size();
+		}
+	}
+
+	@Override
+	DefaultJsonPullParser takePullParser() {
+		synchronized (pullParsers) {
+			return pullParsers.pollFirst();
+		}
+	}
+
+	@Override
+	void putPullParser(DefaultJsonPullParser parser) {
+		synchronized (pullParsers) {
+			if (pullParsers.size() < capacity) {
+				pullParsers.offerFirst(parser);
+			}
+		}
+	}
+
+	@Override
+	DefaultJsonPushParser takePushParser() {
+		synchronized (pushParsers) {
+			return pushParsers.pollFirst();
+		}
+	}
+
+	@Override
+	void putPushParser(DefaultJsonPushParser parser) {
+		synchronized (pushParsers) {
+			if (pushParsers.size() < capacity) {
+				pushParsers.offerFirst(parser);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedJsonParserPool [capacity=" + capacity + "]";
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link BufferRecycler} is a thread-safe pool of {@code char[]} and
+ * {@code byte[]} buffers that allows a {@link JsonSource} to reuse a large
+ * buffer instead of allocating a new buffer for every JSON text.
+ * 
+ * <p>
+ * Buffers are pooled in size classes. The sizes of the size classes are the
+ * powers of two from {@code 128} up to {@code 1048576}. A requested size is
+ * rounded up to the next size class. Buffers that are larger than the largest
+ * size class are neither pooled nor reused.
+ * 
+ * <p>
+ * A buffer that has been released must not be used anymore.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface BufferRecycler {
+
+	/**
+	 * Returns a {@code char[]} that has at least the given size.
+	 * 
+	 * @param minimumSize
+	 *            The minimum size of the {@code char[]}.
+	 * 
+	 * @return A pooled or newly created {@code char[]}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given minimum size is negative.
+	 */
+	public char[] acquireCharacters(int minimumSize) throws IllegalArgumentException;
+
+	/**
+	 * Releases the given {@code char[]} to this {@link BufferRecycler}.
+	 * 
+	 * @param buffer
+	 *            The {@code char[]} to be released.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} is {@literal null}.
+	 */
+	public void releaseCharacters(char[] buffer) throws IllegalArgumentException;
+
+	/**
+	 * Returns a {@code byte[]} that has at least the given size.
+	 * 
+	 * @param minimumSize
+	 *            The minimum size of the {@code byte[]}.
+	 * 
+	 * @return A pooled or newly created {@code byte[]}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given minimum size is negative.
+	 */
+	public byte[] acquireBytes(int minimumSize) throws IllegalArgumentException;
+
+	/**
+	 * Releases the given {@code byte[]} to this {@link BufferRecycler}.
+	 * 
+	 * @param buffer
+	 *            The {@code byte[]} to be released.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 */
+	public void releaseBytes(byte[] buffer) throws IllegalArgumentException;
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+interface BulkJsonSource extends JsonSource {
+
+	/**
+	 * Consumes and copies the next characters in the character sequence into
+	 * the given {@code char[]}.
+	 * 
+	 * <p>
+	 * Callers must {@link JsonSource#makeAvailable(int) ensure}, that the
+	 * desired amount of characters is available.
+	 * 
+	 * @param buffer
+	 *            The {@code char[]} to copy the characters into.
+	 * @param offset
+	 *            The index in the given {@code char[]} to copy the first
+	 *            character to.
+	 * @param length
+	 *            The amount of characters to be consumed. Must be non-negative.
+	 */
+	public void copyNextString(char[] buffer, int offset, int length);
+
+	/**
+	 * Consumes the next characters in the character sequence without copying
+	 * them.
+	 * 
+	 * <p>
+	 * Callers must {@link JsonSource#makeAvailable(int) ensure}, that the
+	 * desired amount of characters is available.
+	 * 
+	 * @param length
+	 *            The amount of characters to be consumed. Must be non-negative.
+	 */
+	public void skipNextString(int length);
+
+}
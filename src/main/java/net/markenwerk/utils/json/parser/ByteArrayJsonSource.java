@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A {@link ByteArrayJsonSource} is a {@link JsonSource} that is backed by a
+ * given UTF-8 encoded {@code byte[]} and decodes a small portion of the bytes
+ * into a {@code char[]} at a time.
+ * 
+ * <p>
+ * While decoding, a {@link ByteArrayJsonSource} keeps track of the runs of
+ * ASCII characters it encounters. A {@link String} that only consists of ASCII
+ * characters is created directly from the underlying {@code byte[]} with the
+ * ISO-8859-1 charset, which allows the JVM to create a compact {@link String}
+ * without inspecting the characters again. Malformed byte sequences are
+ * replaced with {@code U+FFFD}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ByteArrayJsonSource implements BulkJsonSource {
+
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+	private static final int BUFFER_SIZE = 512;
+
+	private final byte[] bytes;
+
+	private final int byteEnd;
+
+	private int bytePosition;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	private int position;
+
+	private int end;
+
+	private int[] runStarts = new int[16];
+
+	private int[] runByteStarts = new int[16];
+
+	private int[] runEnds = new int[16];
+
+	private int runCount = 1;
+
+	private int run;
+
+	private int line = 1;
+
+	private int column = 1;
+
+	private int lastNewLinePosition;
+
+	/**
+	 * Creates a new {@link ByteArrayJsonSource}.
+	 * 
+	 * @param bytes
+	 *            The UTF-8 encoded {@code byte[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 */
+	public ByteArrayJsonSource(byte[] bytes) throws IllegalArgumentException {
+		this(bytes, 0, null == bytes ? 0 : bytes.length);
+	}
+
+	/**
+	 * Creates a new {@link ByteArrayJsonSource} for a slice of the given
+	 * {@code byte[]}.
+	 * 
+	 * @param bytes
+	 *            The UTF-8 encoded {@code byte[]} to read from.
+	 * @param offset
+	 *            The index of the first byte to be read.
+	 * @param length
+	 *            The amount of bytes to be read.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null} or if the
+	 *             given offset and length don't describe a slice of the given
+	 *             {@code byte[]}.
+	 */
+	public ByteArrayJsonSource(byte[] bytes, int offset, int length) throws IllegalArgumentException {
+		if (null == bytes) {
+			throw new IllegalArgumentException("The given bytes are null");
+		}
+		if (offset < 0 || length < 0 || offset > bytes.length - length) {
+			throw new IllegalArgumentException("The given offset and length are out of bounds: " + offset + ", "
+					+ length);
+		}
+		this.bytes = bytes;
+		this.byteEnd = offset + length;
+		if (length >= 3 && (byte) 0xEF == bytes[offset] && (byte) 0xBB == bytes[offset + 1]
+				&& (byte) 0xBF == bytes[offset + 2]) {
+			offset += 3;
+			column++;
+		}
+		this.bytePosition = offset;
+		this.runByteStarts[0] = offset;
+	}
+
+	@Override
+	public int getAvailable() {
+		return end - position;
+	}
+
+	@Override
+	public int makeAvailable() {
+		int available = getAvailable();
+		if (0 != available) {
+			return available;
+		} else {
+			fillBuffer(1);
+			return getAvailable();
+		}
+	}
+
+	@Override
+	public boolean makeAvailable(int minimum) {
+		return minimum <= end - position || fillBuffer(minimum);
+	}
+
+	private boolean fillBuffer(int minimum) {
+		if (0 != position) {
+			System.arraycopy(buffer, position, buffer, 0, getAvailable());
+			column += (position - lastNewLinePosition);
+			lastNewLinePosition = 0;
+			compactRuns();
+			end -= position;
+			position = 0;
+		}
+		while (bytePosition < byteEnd && end < buffer.length - 1) {
+			int value = bytes[bytePosition];
+			if (value >= 0) {
+				buffer[end++] = (char) value;
+				bytePosition++;
+			} else {
+				runEnds[runCount - 1] = end;
+				decodeSequence(value & 0xFF);
+				beginRun();
+			}
+		}
+		runEnds[runCount - 1] = end;
+		return minimum <= getAvailable();
+	}
+
+	private void compactRuns() {
+		int count = 0;
+		for (int i = run; i < runCount; i++) {
+			int start = runStarts[i];
+			int byteStart = runByteStarts[i];
+			if (runEnds[i] <= position && i != runCount - 1) {
+				continue;
+			} else if (start < position) {
+				byteStart += position - start;
+				start = position;
+			}
+			runStarts[count] = start - position;
+			runByteStarts[count] = byteStart;
+			runEnds[count] = runEnds[i] - position;
+			count++;
+		}
+		runCount = count;
+		run = 0;
+	}
+
+	private void beginRun() {
+		if (runCount == runStarts.length) {
+			runStarts = Arrays.copyOf(runStarts, runCount * 2);
+			runByteStarts = Arrays.copyOf(runByteStarts, runCount * 2);
+			runEnds = Arrays.copyOf(runEnds, runCount * 2);
+		}
+		runStarts[runCount] = end;
+		runByteStarts[runCount] = bytePosition;
+		runEnds[runCount] = end;
+		runCount++;
+	}
+
+	private void decodeSequence(int lead) {
+		int length;
+		int codePoint;
+		int minimum;
+		if (0xC0 == (lead & 0xE0)) {
+			length = 2;
+			codePoint = lead & 0x1F;
+			minimum = 0x80;
+		} else if (0xE0 == (lead & 0xF0)) {
+			length = 3;
+			codePoint = lead & 0x0F;
+			minimum = 0x800;
+		} else if (0xF0 == (lead & 0xF8)) {
+			length = 4;
+			codePoint = lead & 0x07;
+			minimum = 0x10000;
+		} else {
+			buffer[end++] = REPLACEMENT_CHARACTER;
+			bytePosition++;
+			return;
+		}
+		for (int i = 1; i < length; i++) {
+			if (bytePosition + i == byteEnd || 0x80 != (bytes[bytePosition + i] & 0xC0)) {
+				buffer[end++] = REPLACEMENT_CHARACTER;
+				bytePosition += i;
+				return;
+			}
+			codePoint = (codePoint << 6) | (bytes[bytePosition + i] & 0x3F);
+		}
+		bytePosition += length;
+		if (codePoint < minimum || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+			buffer[end++] = REPLACEMENT_CHARACTER;
+		} else if (codePoint < 0x10000) {
+			buffer[end++] = (char) codePoint;
+		} else {
+			buffer[end++] = (char) (0xD7C0 + (codePoint >>> 10));
+			buffer[end++] = (char) (0xDC00 + (codePoint & 0x3FF));
+		}
+	}
+
+	@Override
+	public char nextCharacter() {
+		char result = buffer[position++];
+		if ('\n' == result) {
+			lastNewLinePosition = position;
+			column = 1;
+			line += 1;
+		}
+		return result;
+	}
+
+	@Override
+	public char peekCharacter(int offset) {
+		return buffer[position + offset];
+	}
+
+	@Override
+	public String nextString(int length) {
+		String string;
+		while (run < runCount - 1 && runEnds[run] <= position) {
+			run++;
+		}
+		if (position >= runStarts[run] && position + length <= runEnds[run]) {
+			string = new String(bytes, runByteStarts[run] + (position - runStarts[run]), length, ISO_8859_1);
+		} else {
+			string = new String(buffer, position, length);
+		}
+		consume(length);
+		return string;
+	}
+
+	@Override
+	public void appendNextString(StringBuilder builder, int length) {
+		builder.append(buffer, position, length);
+		consume(length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		System.arraycopy(this.buffer, position, buffer, offset, length);
+		consume(length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		consume(length);
+	}
+
+	private void consume(int length) {
+		for (int i = position, n = position + length; i < n; i++) {
+			if ('\n' == buffer[i]) {
+				lastNewLinePosition = i + 1;
+				column = 1;
+				line += 1;
+			}
+		}
+		position += length;
+	}
+
+	@Override
+	public int getLine() {
+		return line;
+	}
+
+	@Override
+	public int getColumn() {
+		return column + (position - lastNewLinePosition);
+	}
+
+	@Override
+	public String getPast(int maximum) {
+		int stillAvailable = Math.min(position, maximum);
+		return new String(buffer, position - stillAvailable, stillAvailable);
+	}
+
+	@Override
+	public String getFuture(int maximum) {
+		int alreadyAvailable = Math.min(end - position, maximum);
+		return new String(buffer, position, alreadyAvailable);
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public String toString() {
+		return "ByteArrayJsonSource [line=" + line + ", column=" + getColumn() + "]";
+	}
+
+}
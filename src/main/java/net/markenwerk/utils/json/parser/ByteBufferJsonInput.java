@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ByteBufferJsonInput} is a {@link JsonInput} for the remaining
+ * content of a {@link ByteBuffer} that yields a UTF-8 encoded JSON text.
+ * Malformed byte sequences are replaced with {@code U+FFFD}.
+ * 
+ * <p>
+ * If the {@link ByteBuffer} is backed by an array, the array is used directly
+ * by a {@link ByteArrayJsonSource}. Otherwise, the remaining content is copied
+ * into a new array, when the {@link ByteBufferJsonInput} is opened. The
+ * position of the {@link ByteBuffer} is not changed.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ByteBufferJsonInput implements JsonInput {
+
+	private final String name;
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * Creates a new {@link ByteBufferJsonInput}.
+	 * 
+	 * @param name
+	 *            The name of the {@link ByteBufferJsonInput}.
+	 * @param buffer
+	 *            The {@link ByteBuffer} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given name or the given {@link ByteBuffer} is
+	 *             {@literal null}.
+	 */
+	public ByteBufferJsonInput(String name, ByteBuffer buffer) throws IllegalArgumentException {
+		if (null == name) {
+			throw new IllegalArgumentException("The given name is null");
+		}
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		this.name = name;
+		this.buffer = buffer;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public JsonSource open() {
+		if (buffer.hasArray()) {
+			return new ByteArrayJsonSource(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					buffer.remaining());
+		} else {
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.duplicate().get(bytes);
+			return new ByteArrayJsonSource(bytes);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ByteBufferJsonInput [name=" + name + "]";
+	}
+
+}
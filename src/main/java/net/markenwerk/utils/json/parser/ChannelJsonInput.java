@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link ChannelJsonInput} is a {@link JsonInput} for a
+ * {@link ReadableByteChannel} that yields a UTF-8 encoded JSON text. Malformed
+ * byte sequences are replaced with {@code U+FFFD}. The
+ * {@link ReadableByteChannel} is closed, when the opened {@link JsonSource} is
+ * closed.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ChannelJsonInput implements JsonInput {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	private final String name;
+
+	private final ReadableByteChannel channel;
+
+	/**
+	 * Creates a new {@link ChannelJsonInput}.
+	 * 
+	 * @param name
+	 *            The name of the {@link ChannelJsonInput}.
+	 * @param channel
+	 *            The {@link ReadableByteChannel} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given name or the given {@link ReadableByteChannel}
+	 *             is {@literal null}.
+	 */
+	public ChannelJsonInput(String name, ReadableByteChannel channel) throws IllegalArgumentException {
+		if (null == name) {
+			throw new IllegalArgumentException("The given name is null");
+		}
+		if (null == channel) {
+			throw new IllegalArgumentException("The given channel is null");
+		}
+		this.name = name;
+		this.channel = channel;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public JsonSource open() throws IOException {
+		CharsetDecoder decoder = UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		return new ReaderJsonSource(Channels.newReader(channel, decoder, -1), BUFFER_SIZE);
+	}
+
+	@Override
+	public String toString() {
+		return "ChannelJsonInput [name=" + name + "]";
+	}
+
+}
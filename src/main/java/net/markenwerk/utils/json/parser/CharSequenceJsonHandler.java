@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+import net.markenwerk.utils.json.handler.JsonHandlingException;
+
+/**
+ * A {@link CharSequenceJsonHandler} is a {@link JsonHandler} that receives
+ * names and strings as a {@link CharSequence} from a
+ * {@link DefaultJsonPushParser}, instead of a newly created {@link String}.
+ * 
+ * <p>
+ * A {@link DefaultJsonPushParser} calls
+ * {@link CharSequenceJsonHandler#onName(CharSequence)} and
+ * {@link CharSequenceJsonHandler#onString(CharSequence)} instead of
+ * {@link JsonHandler#onName(String)} and {@link JsonHandler#onString(String)}.
+ * If a name or string contains no escape sequences, the given
+ * {@link CharSequence} is a view of the characters of the underlying
+ * {@link JsonSource}. Otherwise, the escape sequences are decoded into a
+ * buffer.
+ * 
+ * <p>
+ * The given {@link CharSequence} is reused by the {@link DefaultJsonPushParser}
+ * and is only valid during the call. {@link CharSequence#toString()} can be
+ * used to obtain a {@link String} that remains valid.
+ * 
+ * @param <Result>
+ *            The result type.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface CharSequenceJsonHandler<Result> extends JsonHandler<Result> {
+
+	/**
+	 * Called when a name of a JSON object has been encountered.
+	 * 
+	 * @param name
+	 *            The name, only valid during this call.
+	 * 
+	 * @throws JsonHandlingException
+	 *             If the handling failed.
+	 */
+	public void onName(CharSequence name) throws JsonHandlingException;
+
+	/**
+	 * Called when a JSON string has been encountered.
+	 * 
+	 * @param value
+	 *            The value, only valid during this call.
+	 * 
+	 * @throws JsonHandlingException
+	 *             If the handling failed.
+	 */
+	public void onString(CharSequence value) throws JsonHandlingException;
+
+}
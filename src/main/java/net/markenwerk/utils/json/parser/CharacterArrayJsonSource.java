@@ -30,10 +30,14 @@ import java.io.IOException;
  * @author Torsten Krause (tk at markenwerk dot net)
  * @since 1.0.0
  */
-public final class CharacterArrayJsonSource implements JsonSource {
+public final class CharacterArrayJsonSource implements BulkJsonSource {
 
 	private char[] characters;
 
+	private int start;
+
+	private int end;
+
 	private int position;
 
 	private int line = 1;
@@ -52,11 +56,39 @@ public final class CharacterArrayJsonSource implements JsonSource {
 	 *             If the given {@link String} is {@literal null}.
 	 */
 	public CharacterArrayJsonSource(char[] characters) throws IllegalArgumentException {
+		this(characters, 0, null == characters ? 0 : characters.length);
+	}
+
+	/**
+	 * Creates a new {@link CharacterArrayJsonSource} that only uses a part of
+	 * the given {@code char[]}.
+	 * 
+	 * @param characters
+	 *            The {@code char[]} to be used.
+	 * @param offset
+	 *            The index of the first character to be used.
+	 * @param length
+	 *            The amount of characters to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} is {@literal null} or if the
+	 *             given offset and length don't describe a part of the given
+	 *             {@code char[]}.
+	 */
+	public CharacterArrayJsonSource(char[] characters, int offset, int length) throws IllegalArgumentException {
 		if (null == characters) {
 			throw new IllegalArgumentException("The given character array is null");
 		}
+		if (offset < 0 || length < 0 || offset > characters.length - length) {
+			throw new IllegalArgumentException("The given offset and length are out of bounds: " + offset + ", "
+					+ length);
+		}
 		this.characters = characters;
-		if (0 != characters.length && JsonSource.BYTE_ORDER_MARK == characters[0]) {
+		this.start = offset;
+		this.end = offset + length;
+		this.position = offset;
+		this.lastNewLinePosition = offset;
+		if (0 != length && JsonSource.BYTE_ORDER_MARK == characters[offset]) {
 			position++;
 			column++;
 		}
@@ -64,17 +96,17 @@ public final class CharacterArrayJsonSource implements JsonSource {
 
 	@Override
 	public int getAvailable() {
-		return characters.length - position;
+		return end - position;
 	}
 
 	@Override
 	public int makeAvailable() throws IOException {
-		return characters.length - position;
+		return end - position;
 	}
 
 	@Override
 	public boolean makeAvailable(int minimum) throws IOException {
-		return position + minimum <= characters.length;
+		return position + minimum <= end;
 	}
 
 	@Override
@@ -96,33 +128,51 @@ public final class CharacterArrayJsonSource implements JsonSource {
 	@Override
 	public String nextString(int length) {
 		String string = new String(characters, position, length);
-		for (int i = 0; i < length; i++) {
-			nextCharacter();
-		}
+		consume(length);
 		return string;
 	}
 
 	@Override
 	public void appendNextString(StringBuilder builder, int length) {
 		builder.append(characters, position, length);
-		for (int i = 0; i < length; i++) {
-			nextCharacter();
+		consume(length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		System.arraycopy(characters, position, buffer, offset, length);
+		consume(length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		consume(length);
+	}
+
+	private void consume(int length) {
+		for (int i = position, n = position + length; i < n; i++) {
+			if ('\n' == characters[i]) {
+				lastNewLinePosition = i + 1;
+				column = 1;
+				line += 1;
+			}
 		}
+		position += length;
 	}
 
 	@Override
 	public String getPast(int maximum) {
-		if (0 == position) {
+		if (start == position) {
 			return "";
 		} else {
-			int availableLength = Math.min(maximum, position);
+			int availableLength = Math.min(maximum, position - start);
 			return new String(characters, position - availableLength, availableLength);
 		}
 	}
 
 	@Override
 	public String getFuture(int maximum) {
-		int availableLength = Math.min(maximum, characters.length - position);
+		int availableLength = Math.min(maximum, end - position);
 		return new String(characters, position, availableLength);
 	}
 
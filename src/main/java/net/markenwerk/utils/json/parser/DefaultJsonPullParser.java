@@ -22,10 +22,20 @@
 package net.markenwerk.utils.json.parser;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
+import net.markenwerk.utils.json.common.JsonException;
 import net.markenwerk.utils.json.common.JsonValueException;
 
 /**
@@ -37,16 +47,30 @@ import net.markenwerk.utils.json.common.JsonValueException;
  */
 public final class DefaultJsonPullParser implements JsonPullParser {
 
+	private static final int MAXIMUM_BUILDER_CAPACITY = 8 * 1024;
+
+	private static final JsonSource RELEASED_SOURCE = new StringJsonSource("");
+
 	private final StringBuilder builder = new StringBuilder();
 
+	private JsonStringSink sink;
+
+	private Base64Decoder decoder;
+
+	private JsonSourceCharSequence sourceCharacters;
+
+	private EnumMatcherCache enumMatchers;
+
 	private final Stack<Context> stack = new Stack<Context>();
 
-	private final JsonSource source;
+	private JsonSource source;
 
 	private final boolean multiDocumentMode;
 
 	private final boolean strictStructMode;
 
+	private final JsonStringCache stringCache;
+
 	private JsonState state;
 
 	private boolean booleanValue;
@@ -55,6 +79,8 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 
 	private double doubleValue;
 
+	private Object lender;
+
 	/**
 	 * Creates a new {@link DefaultJsonPullParser}.
 	 *
@@ -81,6 +107,20 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		this(new CharacterArrayJsonSource(characters), (JsonParserMode[]) null);
 	}
 
+	/**
+	 * Creates a new {@link DefaultJsonPullParser}.
+	 * 
+	 * @param bytes
+	 *            The UTF-8 encoded {@code byte[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 * @since 3.1.0
+	 */
+	public DefaultJsonPullParser(byte[] bytes) throws IllegalArgumentException {
+		this(new ByteArrayJsonSource(bytes), (JsonParserMode[]) null);
+	}
+
 	/**
 	 * Creates a new {@link DefaultJsonPullParser}.
 	 * 
@@ -121,10 +161,34 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 	 *             If the given {@link JsonSource} is {@literal null}.
 	 */
 	public DefaultJsonPullParser(JsonSource source, JsonParserMode... modes) throws IllegalArgumentException {
+		this(source, null, modes);
+	}
+
+	/**
+	 * Creates a new {@link DefaultJsonPullParser} that uses the given
+	 * {@link JsonStringCache} for string values.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * @param stringCache
+	 *            The {@link JsonStringCache} to be used or {@literal null}, if
+	 *            string values shouldn't be cached.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be used
+	 *            during parsing.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 * 
+	 * @since 3.1.0
+	 */
+	public DefaultJsonPullParser(JsonSource source, JsonStringCache stringCache, JsonParserMode... modes)
+			throws IllegalArgumentException {
 		if (null == source) {
 			throw new IllegalArgumentException("The given source is null");
 		}
 		this.source = source;
+		this.stringCache = stringCache;
 		if (null != modes) {
 			List<JsonParserMode> modesList = Arrays.asList(modes);
 			this.multiDocumentMode = modesList.contains(JsonParserMode.MULTI_DOCUMENT_MODE);
@@ -136,6 +200,60 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		stack.push(Context.BEFORE_PARSE);
 	}
 
+	/**
+	 * Resets this {@link DefaultJsonPullParser} to read from the given
+	 * {@link JsonSource}, as if it was newly created with the same
+	 * {@link JsonParserMode JsonParserModes} and {@link JsonStringCache}. The
+	 * previously used {@link JsonSource} is not closed.
+	 * 
+	 * <p>
+	 * Internal buffers that have grown beyond a few kilobytes while reading a
+	 * large value are discarded, so that a reused
+	 * {@link DefaultJsonPullParser} doesn't retain them.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 * 
+	 * @since 3.1.0
+	 */
+	public void reset(JsonSource source) throws IllegalArgumentException {
+		if (null == source) {
+			throw new IllegalArgumentException("The given source is null");
+		}
+		recycle();
+		this.source = source;
+		stack.clear();
+		stack.push(Context.BEFORE_PARSE);
+	}
+
+	synchronized void lendFrom(Object lender) {
+		this.lender = lender;
+	}
+
+	synchronized boolean returnTo(Object lender) {
+		if (this.lender != lender) {
+			return false;
+		}
+		this.lender = null;
+		return true;
+	}
+
+	void recycle() {
+		if (builder.capacity() > MAXIMUM_BUILDER_CAPACITY) {
+			builder.setLength(0);
+			builder.trimToSize();
+		}
+		source = RELEASED_SOURCE;
+		sourceCharacters = null;
+		enumMatchers = null;
+		state = null;
+		stack.clear();
+		stack.push(Context.CLOSED);
+	}
+
 	private JsonState nextState() throws JsonSyntaxException, IOException {
 		switch (stack.peek()) {
 		case BEFORE_PARSE:
@@ -316,7 +434,7 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		return false;
 	}
 
-	private String getNextString() throws JsonSyntaxException, IOException {
+	private String getNextString(JsonStringCache cache) throws JsonSyntaxException, IOException {
 		builder.setLength(0);
 		boolean buffered = false;
 		while (source.makeAvailable(1)) {
@@ -329,8 +447,10 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 					if (buffered) {
 						source.appendNextString(builder, offset);
 						stringValue = builder.toString();
-					} else {
+					} else if (null == cache) {
 						stringValue = source.nextString(offset);
+					} else {
+						stringValue = cache.nextString(source, offset);
 					}
 					source.nextCharacter();
 					return stringValue;
@@ -352,6 +472,190 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		throw syntaxError(JsonSyntaxError.UNTERMINATED_STRING);
 	}
 
+	private JsonStringSink getSink() {
+		if (null == sink) {
+			sink = new JsonStringSink();
+		}
+		return sink;
+	}
+
+	private int transferNextString(JsonStringSink sink) throws JsonSyntaxException, IOException {
+		try {
+			int length = 0;
+			while (source.makeAvailable(1)) {
+				int available = source.getAvailable();
+				int offset = 0;
+				char nextCharacter = 0;
+				while (offset < available) {
+					nextCharacter = source.peekCharacter(offset);
+					if ('"' == nextCharacter || '\\' == nextCharacter) {
+						break;
+					}
+					offset++;
+				}
+				if (0 != offset) {
+					sink.write(source, offset);
+					length += offset;
+				}
+				if (offset != available) {
+					source.nextCharacter();
+					if ('"' == nextCharacter) {
+						return length;
+					}
+					sink.write(readEscaped());
+					length++;
+				}
+			}
+		} catch (BufferOverflowException e) {
+			skipRemainingString();
+			throw e;
+		}
+		throw syntaxError(JsonSyntaxError.UNTERMINATED_STRING);
+	}
+
+	private void skipRemainingString() throws JsonSyntaxException, IOException {
+		while (source.makeAvailable(1)) {
+			char nextCharacter = source.nextCharacter();
+			if ('"' == nextCharacter) {
+				return;
+			} else if ('\\' == nextCharacter) {
+				readEscaped();
+			}
+		}
+		throw syntaxError(JsonSyntaxError.UNTERMINATED_STRING);
+	}
+
+	private <E extends Enum<E>> EnumMatcher<E> getEnumMatcher(Class<E> type) {
+		if (null == enumMatchers) {
+			enumMatchers = new EnumMatcherCache();
+		}
+		return enumMatchers.get(type);
+	}
+
+	private Base64Decoder getDecoder() {
+		if (null == decoder) {
+			decoder = new Base64Decoder();
+		}
+		decoder.begin();
+		return decoder;
+	}
+
+	private int decodeNextBase64(Base64Decoder decoder) throws JsonValueException, JsonSyntaxException,
+			IOException {
+		if (!source.makeAvailable(1)) {
+			throw syntaxError(JsonSyntaxError.UNTERMINATED_STRING);
+		}
+		char[] characters = decoder.getCharacters();
+		int limit = Math.min(source.getAvailable(), characters.length);
+		int length = 0;
+		char nextCharacter = 0;
+		while (length < limit) {
+			nextCharacter = source.peekCharacter(length);
+			if ('"' == nextCharacter || '\\' == nextCharacter) {
+				break;
+			}
+			length++;
+		}
+		if (0 != length) {
+			JsonSources.copyNextString(source, characters, 0, length);
+			return decoder.decode(length);
+		}
+		source.nextCharacter();
+		if ('"' == nextCharacter) {
+			return decoder.end();
+		} else {
+			return decoder.decode(readEscaped());
+		}
+	}
+
+	private void skipRemainingBase64(Base64Decoder decoder) throws JsonSyntaxException, IOException {
+		if (!decoder.isFinished()) {
+			skipRemainingString();
+			decoder.cancel();
+		}
+	}
+
+	private InputStream readNextBase64() {
+
+		final Base64Decoder decoder = getDecoder();
+
+		return new InputStream() {
+
+			private int offset;
+
+			private int length;
+
+			@Override
+			public int read(byte[] buffer, int offset, int maxLength) throws IOException {
+				if (0 == maxLength) {
+					return 0;
+				} else if (!fill()) {
+					return -1;
+				}
+				int amount = Math.min(length, maxLength);
+				System.arraycopy(decoder.getBytes(), this.offset, buffer, offset, amount);
+				this.offset += amount;
+				this.length -= amount;
+				return amount;
+			}
+
+			@Override
+			public int read() throws IOException {
+				if (!fill()) {
+					return -1;
+				}
+				length--;
+				return decoder.getBytes()[offset++] & 0xFF;
+			}
+
+			private boolean fill() throws IOException {
+				while (0 == length) {
+					if (decoder.isFinished()) {
+						return false;
+					}
+					try {
+						offset = 0;
+						length = decodeNextBase64(decoder);
+					} catch (JsonValueException e) {
+						try {
+							skipRemainingBase64(decoder);
+						} catch (JsonSyntaxException syntaxException) {
+							throw new IOException(syntaxException.getMessage(), syntaxException);
+						}
+						throw new IOException(e.getMessage(), e);
+					} catch (JsonException e) {
+						throw new IOException(e.getMessage(), e);
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public void close() throws IOException {
+				while (fill()) {
+					length = 0;
+				}
+			}
+		};
+
+	}
+
+	private CharSequence readNextCharacters() throws JsonSyntaxException, IOException {
+		if (null == sourceCharacters) {
+			sourceCharacters = new JsonSourceCharSequence(source);
+		}
+		if (sourceCharacters.prepareNextString()) {
+			return sourceCharacters;
+		}
+		return getNextString(null);
+	}
+
+	private void skipNextCharacters(CharSequence characters) {
+		if (sourceCharacters == characters) {
+			sourceCharacters.consumeNextString();
+		}
+	}
+
 	private Reader readNextString() throws JsonSyntaxException, IOException {
 
 		return new Reader() {
@@ -365,13 +669,37 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 				}
 				int amount = 0;
 				while (amount < maxLength) {
-					int readValue = read();
-					if (-1 == readValue) {
-						break;
-					} else {
-						buffer[offset + amount] = (char) readValue;
+					if (!source.makeAvailable(1)) {
+						JsonSyntaxException e = syntaxError(JsonSyntaxError.UNTERMINATED_STRING);
+						throw new IOException(e.getMessage(), e);
+					}
+					int limit = Math.min(source.getAvailable(), maxLength - amount);
+					int length = 0;
+					char character = 0;
+					while (length < limit) {
+						character = source.peekCharacter(length);
+						if ('"' == character || '\\' == character) {
+							break;
+						}
+						length++;
+					}
+					if (0 != length) {
+						JsonSources.copyNextString(source, buffer, offset + amount, length);
+						amount += length;
+					}
+					if (length == limit) {
+						continue;
+					}
+					source.nextCharacter();
+					if ('"' == character) {
+						endReached = true;
+						return 0 == amount ? -1 : amount;
+					}
+					try {
+						buffer[offset + amount++] = readEscaped();
+					} catch (JsonSyntaxException e) {
+						throw new IOException(e.getMessage(), e);
 					}
-					amount++;
 				}
 				return amount;
 			}
@@ -453,66 +781,223 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		if (!source.makeAvailable(4)) {
 			throw syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
 		} else {
-			String hex = source.nextString(4);
-			try {
-				return (char) Integer.parseInt(hex, 16);
-			} catch (NumberFormatException e) {
-				if (hex.contains("\"")) {
-					throw syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
-				} else {
-					throw syntaxError(JsonSyntaxError.INVALID_UNICODE_ESCAPE_SEQUENCE);
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = toHexValue(source.peekCharacter(i));
+				if (-1 == digit) {
+					throw unicodeEscapedError();
 				}
+				value = (value << 4) | digit;
 			}
+			for (int i = 0; i < 4; i++) {
+				source.nextCharacter();
+			}
+			return (char) value;
+		}
+	}
+
+	private static int toHexValue(char character) {
+		if ('0' <= character && '9' >= character) {
+			return character - '0';
+		} else if ('a' <= character && 'f' >= character) {
+			return character - 'a' + 10;
+		} else if ('A' <= character && 'F' >= character) {
+			return character - 'A' + 10;
+		} else {
+			return -1;
+		}
+	}
+
+	private JsonSyntaxException unicodeEscapedError() {
+		boolean unfinished = false;
+		for (int i = 0; i < 4; i++) {
+			unfinished |= '"' == source.nextCharacter();
+		}
+		if (unfinished) {
+			return syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
+		} else {
+			return syntaxError(JsonSyntaxError.INVALID_UNICODE_ESCAPE_SEQUENCE);
 		}
 	}
 
 	private JsonState prepareNextLiteral(char firstCharacter) throws JsonSyntaxException, IOException {
+		switch (firstCharacter) {
+		case 'n':
+			if (nextKeyword("null")) {
+				return JsonState.NULL;
+			}
+			break;
+		case 'f':
+			if (nextKeyword("false")) {
+				booleanValue = false;
+				return JsonState.BOOLEAN;
+			}
+			break;
+		case 't':
+			if (nextKeyword("true")) {
+				booleanValue = true;
+				return JsonState.BOOLEAN;
+			}
+			break;
+		case '-':
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			return prepareNextNumber(firstCharacter);
+		}
 		builder.setLength(0);
 		builder.append(firstCharacter);
-		while (0 != source.makeAvailable()) {
-			switch (source.peekCharacter(0)) {
-			case ']':
-			case '}':
-			case ',':
-			case ' ':
-			case '\b':
-			case '\f':
-			case '\n':
-			case '\r':
-			case '\t':
-				return decodeLiteral(builder.toString());
-			default:
-				builder.append(source.nextCharacter());
+		return decodeNumberLiteral();
+	}
+
+	private boolean nextKeyword(String keyword) throws IOException {
+		int length = keyword.length() - 1;
+		if (!source.makeAvailable(length)) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (keyword.charAt(i + 1) != source.peekCharacter(i)) {
+				return false;
 			}
 		}
-		return decodeLiteral(builder.toString());
+		if (source.makeAvailable(length + 1) && !isLiteralEnd(source.peekCharacter(length))) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			source.nextCharacter();
+		}
+		return true;
 	}
 
-	private JsonState decodeLiteral(String literal) throws JsonSyntaxException {
-		if ("null".equals(literal)) {
-			return JsonState.NULL;
-		} else if ("false".equals(literal)) {
-			booleanValue = false;
-			return JsonState.BOOLEAN;
-		} else if ("true".equals(literal)) {
-			booleanValue = true;
-			return JsonState.BOOLEAN;
+	private boolean prepareNextArrayNumber(JsonState expected) throws IllegalStateException, JsonSyntaxException,
+			IOException {
+		char nextCharacter;
+		JsonSyntaxError error;
+		if (Context.EMPTY_ARRAY == stack.peek()) {
+			nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_ARRAY_FIRST);
+			if (']' == nextCharacter) {
+				stack.pop();
+				return false;
+			}
+			stack.replace(Context.NONEMPTY_ARRAY);
+			error = JsonSyntaxError.INVALID_ARRAY_FIRST;
+		} else {
+			nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_ARRAY_FOLLOW);
+			if (']' == nextCharacter) {
+				stack.pop();
+				return false;
+			} else if (',' != nextCharacter) {
+				throw syntaxError(JsonSyntaxError.INVALID_ARRAY_FOLLOW);
+			}
+			error = JsonSyntaxError.INVALID_ARRAY_VALUE;
+			nextCharacter = nextNonWhitespace(error);
+		}
+		JsonState nextState;
+		if ('-' == nextCharacter || ('0' <= nextCharacter && '9' >= nextCharacter)) {
+			nextState = prepareNextNumber(nextCharacter);
+		} else {
+			nextState = prepareNextValue(nextCharacter, error);
+		}
+		if (JsonState.LONG == nextState) {
+			if (JsonState.DOUBLE == expected) {
+				doubleValue = longValue;
+			}
+			return true;
+		} else if (JsonState.DOUBLE == nextState && JsonState.DOUBLE == expected) {
+			return true;
 		} else {
-			return decodeNumber(literal);
+			state = nextState;
+			throw new IllegalStateException("Current state is " + state + " (expected " + expected + ")");
 		}
 	}
 
-	private JsonState decodeNumber(String literal) throws JsonSyntaxException {
-		try {
-			longValue = Long.parseLong(literal);
+	private JsonState prepareNextNumber(char firstCharacter) throws JsonSyntaxException, IOException {
+		boolean negative = '-' == firstCharacter;
+		long value = negative ? 0 : firstCharacter - '0';
+		int digits = negative ? 0 : 1;
+		while (0 != source.makeAvailable()) {
+			char nextCharacter = source.peekCharacter(0);
+			if ('0' <= nextCharacter && '9' >= nextCharacter && digits < 18) {
+				value = value * 10 + (nextCharacter - '0');
+				digits++;
+				source.nextCharacter();
+			} else if (0 != digits && isLiteralEnd(nextCharacter)) {
+				longValue = negative ? -value : value;
+				return JsonState.LONG;
+			} else {
+				return prepareNextNumberLiteral(negative, value, digits);
+			}
+		}
+		if (0 != digits) {
+			longValue = negative ? -value : value;
 			return JsonState.LONG;
-		} catch (NumberFormatException ignored) {
-			try {
-				doubleValue = Double.parseDouble(literal);
-				return JsonState.DOUBLE;
-			} catch (NumberFormatException e) {
-				throw syntaxError(JsonSyntaxError.INVALID_LITERAL);
+		}
+		return prepareNextNumberLiteral(negative, value, digits);
+	}
+
+	private JsonState prepareNextNumberLiteral(boolean negative, long value, int digits) throws JsonSyntaxException,
+			IOException {
+		builder.setLength(0);
+		if (negative) {
+			builder.append('-');
+		}
+		if (0 != digits) {
+			int length = 1;
+			for (long remainder = value / 10; 0 != remainder; remainder /= 10) {
+				length++;
+			}
+			for (int i = length; i < digits; i++) {
+				builder.append('0');
+			}
+			builder.append(value);
+		}
+		return decodeNumberLiteral();
+	}
+
+	private JsonState decodeNumberLiteral() throws JsonSyntaxException, IOException {
+		while (0 != source.makeAvailable()) {
+			char nextCharacter = source.peekCharacter(0);
+			if (isLiteralEnd(nextCharacter)) {
+				break;
+			}
+			builder.append(source.nextCharacter());
+		}
+		try {
+			if (!NumberDecoder.isReal(builder)) {
+				try {
+					longValue = NumberDecoder.parseLong(builder);
+					return JsonState.LONG;
+				} catch (NumberFormatException ignored) {
+				}
 			}
+			doubleValue = NumberDecoder.parseDouble(builder);
+			return JsonState.DOUBLE;
+		} catch (NumberFormatException e) {
+			throw syntaxError(JsonSyntaxError.INVALID_LITERAL);
+		}
+	}
+
+	private static boolean isLiteralEnd(char character) {
+		switch (character) {
+		case ']':
+		case '}':
+		case ',':
+		case ' ':
+		case '\b':
+		case '\f':
+		case '\n':
+		case '\r':
+		case '\t':
+			return true;
+		default:
+			return false;
 		}
 	}
 
@@ -634,7 +1119,7 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 	@Override
 	public float nextFloat() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException {
 		consume(JsonState.DOUBLE);
-		if (doubleValue < Float.MIN_VALUE) {
+		if (doubleValue < -Float.MAX_VALUE) {
 			throw new JsonValueException("Value is too small to be a float: " + longValue);
 		} else if (doubleValue > Float.MAX_VALUE) {
 			throw new JsonValueException("Value is too large to be a float: " + longValue);
@@ -649,10 +1134,107 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		return doubleValue;
 	}
 
+	@Override
+	public long[] nextLongArray() throws IllegalStateException, JsonSyntaxException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		long[] values = new long[16];
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.LONG)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = longValue;
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int nextLongArray(LongBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.LONG)) {
+			buffer.put(longValue);
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public int[] nextIntArray() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		int[] values = new int[16];
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.LONG)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = toInteger(longValue);
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int nextIntArray(IntBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			JsonValueException, IllegalStateException, JsonSyntaxException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.LONG)) {
+			buffer.put(toInteger(longValue));
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public double[] nextDoubleArray() throws IllegalStateException, JsonSyntaxException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		double[] values = new double[16];
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.DOUBLE)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = doubleValue;
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int nextDoubleArray(DoubleBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (prepareNextArrayNumber(JsonState.DOUBLE)) {
+			buffer.put(doubleValue);
+			size++;
+		}
+		return size;
+	}
+
+	private static int toInteger(long value) throws JsonValueException {
+		if (value < Integer.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be an integer: " + value);
+		} else if (value > Integer.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be an integer: " + value);
+		} else {
+			return (int) value;
+		}
+	}
+
 	@Override
 	public String nextString() throws IllegalStateException, JsonSyntaxException, IOException {
 		consume(JsonState.STRING);
-		return getNextString();
+		return getNextString(stringCache);
 	}
 
 	@Override
@@ -661,10 +1243,225 @@ public final class DefaultJsonPullParser implements JsonPullParser {
 		return readNextString();
 	}
 
+	@Override
+	public int nextString(char[] buffer, int offset) throws IllegalArgumentException, BufferOverflowException,
+			IndexOutOfBoundsException, IllegalStateException, JsonSyntaxException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		return nextString(CharBuffer.wrap(buffer, offset, buffer.length - offset));
+	}
+
+	@Override
+	public int nextString(CharBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(buffer);
+		try {
+			return transferNextString(sink);
+		} finally {
+			sink.end();
+		}
+	}
+
+	@Override
+	public int nextString(Appendable appendable) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException {
+		if (null == appendable) {
+			throw new IllegalArgumentException("The given appendable is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(appendable);
+		try {
+			return transferNextString(sink);
+		} finally {
+			sink.end();
+		}
+	}
+
+	@Override
+	public int nextString(OutputStream stream) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException {
+		if (null == stream) {
+			throw new IllegalArgumentException("The given stream is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(stream);
+		int count;
+		try {
+			transferNextString(sink);
+		} finally {
+			count = sink.end();
+		}
+		return count;
+	}
+
+	@Override
+	public int nextString(WritableByteChannel channel) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException {
+		if (null == channel) {
+			throw new IllegalArgumentException("The given channel is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(channel);
+		int count;
+		try {
+			transferNextString(sink);
+		} finally {
+			count = sink.end();
+		}
+		return count;
+	}
+
+	@Override
+	public int nextBase64(OutputStream stream) throws IllegalArgumentException, JsonValueException,
+			IllegalStateException, JsonSyntaxException, IOException {
+		if (null == stream) {
+			throw new IllegalArgumentException("The given stream is null");
+		}
+		consume(JsonState.STRING);
+		Base64Decoder decoder = getDecoder();
+		int count = 0;
+		try {
+			while (!decoder.isFinished()) {
+				int length = decodeNextBase64(decoder);
+				if (0 != length) {
+					stream.write(decoder.getBytes(), 0, length);
+					count += length;
+				}
+			}
+		} catch (JsonValueException e) {
+			skipRemainingBase64(decoder);
+			throw e;
+		}
+		return count;
+	}
+
+	@Override
+	public byte[] nextBase64Bytes() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException {
+		consume(JsonState.STRING);
+		Base64Decoder decoder = getDecoder();
+		byte[] values = new byte[64];
+		int size = 0;
+		try {
+			while (!decoder.isFinished()) {
+				int length = decodeNextBase64(decoder);
+				if (size + length > values.length) {
+					values = Arrays.copyOf(values, Math.max(size + length, size * 2));
+				}
+				System.arraycopy(decoder.getBytes(), 0, values, size, length);
+				size += length;
+			}
+		} catch (JsonValueException e) {
+			skipRemainingBase64(decoder);
+			throw e;
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public InputStream readBase64() throws IllegalStateException, JsonSyntaxException, IOException {
+		consume(JsonState.STRING);
+		return readNextBase64();
+	}
+
+	@Override
+	public long nextEpochMillis() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException {
+		consume(JsonState.STRING);
+		CharSequence characters = readNextCharacters();
+		try {
+			return JsonStrings.toEpochMillis(characters);
+		} finally {
+			skipNextCharacters(characters);
+		}
+	}
+
+	@Override
+	public long nextEpochNanos() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException {
+		consume(JsonState.STRING);
+		CharSequence characters = readNextCharacters();
+		try {
+			return JsonStrings.toEpochNanos(characters);
+		} finally {
+			skipNextCharacters(characters);
+		}
+	}
+
+	@Override
+	public UUID nextUuid() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException {
+		consume(JsonState.STRING);
+		CharSequence characters = readNextCharacters();
+		try {
+			return JsonStrings.toUuid(characters);
+		} finally {
+			skipNextCharacters(characters);
+		}
+	}
+
+	@Override
+	public <E extends Enum<E>> E nextEnum(Class<E> type) throws IllegalArgumentException, JsonValueException,
+			IllegalStateException, JsonSyntaxException, IOException {
+		if (null == type) {
+			throw new IllegalArgumentException("The given type is null");
+		}
+		EnumMatcher<E> matcher = getEnumMatcher(type);
+		consume(JsonState.STRING);
+		CharSequence characters = readNextCharacters();
+		try {
+			return matcher.match(characters);
+		} finally {
+			skipNextCharacters(characters);
+		}
+	}
+
+	@Override
+	public long nextLongFromString() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException {
+		if (JsonState.LONG == currentState()) {
+			return nextLong();
+		}
+		consume(JsonState.STRING);
+		CharSequence characters = readNextCharacters();
+		try {
+			return JsonStrings.toLong(characters);
+		} finally {
+			skipNextCharacters(characters);
+		}
+	}
+
+	@Override
+	public double nextDoubleFromString() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException {
+		switch (currentState()) {
+		case LONG:
+			return nextLong();
+		case DOUBLE:
+			return nextDouble();
+		default:
+			consume(JsonState.STRING);
+			CharSequence characters = readNextCharacters();
+			try {
+				return JsonStrings.toDouble(characters);
+			} finally {
+				skipNextCharacters(characters);
+			}
+		}
+	}
+
 	@Override
 	public String nextName() throws IllegalStateException, JsonSyntaxException, IOException {
 		consume(JsonState.NAME);
-		return getNextString();
+		return getNextString(null);
 	}
 
 	@Override
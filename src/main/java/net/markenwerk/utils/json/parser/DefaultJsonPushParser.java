@@ -39,16 +39,44 @@ import net.markenwerk.utils.json.handler.JsonHandler;
  */
 public final class DefaultJsonPushParser implements JsonPushParser {
 
+	private static final int BATCH_SIZE = 1024;
+
+	private static final int MAXIMUM_BUILDER_CAPACITY = 8 * 1024;
+
+	private static final JsonSource RELEASED_SOURCE = new StringJsonSource("");
+
 	private final StringBuilder builder = new StringBuilder();
 
-	private final JsonSource source;
+	private JsonSource source;
 
 	private final boolean multiDocumentMode;
 
 	private final boolean strictStructMode;
 
+	private final JsonStringCache stringCache;
+
 	private JsonHandler<?> handler;
 
+	private BatchingJsonHandler<?> batchingHandler;
+
+	private CharSequenceJsonHandler<?> charSequenceHandler;
+
+	private JsonSourceCharSequence sourceCharacters;
+
+	private long[] longValues;
+
+	private double[] doubleValues;
+
+	private JsonState batchState;
+
+	private int batchSize;
+
+	private long longValue;
+
+	private double doubleValue;
+
+	private Object lender;
+
 	/**
 	 * Creates a new {@link DefaultJsonPushParser}.
 	 *
@@ -75,6 +103,20 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		this(new CharacterArrayJsonSource(characters));
 	}
 
+	/**
+	 * Creates a new {@link DefaultJsonPushParser}.
+	 * 
+	 * @param bytes
+	 *            The UTF-8 encoded {@code byte[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code byte[]} is {@literal null}.
+	 * @since 3.1.0
+	 */
+	public DefaultJsonPushParser(byte[] bytes) throws IllegalArgumentException {
+		this(new ByteArrayJsonSource(bytes));
+	}
+
 	/**
 	 * Creates a new {@link DefaultJsonPushParser}.
 	 * 
@@ -114,10 +156,34 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 	 *             If the given {@link JsonSource} is {@literal null}.
 	 */
 	public DefaultJsonPushParser(JsonSource source, JsonParserMode... modes) throws IllegalArgumentException {
+		this(source, null, modes);
+	}
+
+	/**
+	 * Creates a new {@link DefaultJsonPushParser} that uses the given
+	 * {@link JsonStringCache} for string values.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * @param stringCache
+	 *            The {@link JsonStringCache} to be used or {@literal null}, if
+	 *            string values shouldn't be cached.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be used
+	 *            during parsing.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 * 
+	 * @since 3.1.0
+	 */
+	public DefaultJsonPushParser(JsonSource source, JsonStringCache stringCache, JsonParserMode... modes)
+			throws IllegalArgumentException {
 		if (null == source) {
 			throw new IllegalArgumentException("The given source is null");
 		}
 		this.source = source;
+		this.stringCache = stringCache;
 		if (null != modes) {
 			List<JsonParserMode> modesList = Arrays.asList(modes);
 			this.multiDocumentMode = modesList.contains(JsonParserMode.MULTI_DOCUMENT_MODE);
@@ -128,6 +194,59 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		}
 	}
 
+	/**
+	 * Resets this {@link DefaultJsonPushParser} to read from the given
+	 * {@link JsonSource}, as if it was newly created with the same
+	 * {@link JsonParserMode JsonParserModes} and {@link JsonStringCache}. The
+	 * previously used {@link JsonSource} is not closed.
+	 * 
+	 * <p>
+	 * Internal buffers that have grown beyond a few kilobytes while reading a
+	 * large value are discarded, so that a reused
+	 * {@link DefaultJsonPushParser} doesn't retain them.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 * 
+	 * @since 3.1.0
+	 */
+	public void reset(JsonSource source) throws IllegalArgumentException {
+		if (null == source) {
+			throw new IllegalArgumentException("The given source is null");
+		}
+		recycle();
+		this.source = source;
+	}
+
+	synchronized void lendFrom(Object lender) {
+		this.lender = lender;
+	}
+
+	synchronized boolean returnTo(Object lender) {
+		if (this.lender != lender) {
+			return false;
+		}
+		this.lender = null;
+		return true;
+	}
+
+	void recycle() {
+		if (builder.capacity() > MAXIMUM_BUILDER_CAPACITY) {
+			builder.setLength(0);
+			builder.trimToSize();
+		}
+		source = RELEASED_SOURCE;
+		sourceCharacters = null;
+		handler = null;
+		batchingHandler = null;
+		charSequenceHandler = null;
+		batchState = null;
+		batchSize = 0;
+	}
+
 	@Override
 	public <Result> Result handle(JsonHandler<Result> handler) throws IllegalArgumentException,
 			JsonException, JsonSyntaxException, IOException {
@@ -136,6 +255,17 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		}
 		try {
 			this.handler = handler;
+			if (handler instanceof BatchingJsonHandler) {
+				batchingHandler = (BatchingJsonHandler<?>) handler;
+				if (null == longValues) {
+					longValues = new long[BATCH_SIZE];
+					doubleValues = new double[BATCH_SIZE];
+				}
+			}
+			if (handler instanceof CharSequenceJsonHandler) {
+				charSequenceHandler = (CharSequenceJsonHandler<?>) handler;
+				sourceCharacters = new JsonSourceCharSequence(source);
+			}
 			handleDocument();
 			return handler.getResult();
 		} finally {
@@ -155,7 +285,7 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 				if (strictStructMode) {
 					throw syntaxError(JsonSyntaxError.INVALID_DOCUMENT_START);
 				} else if ('"' == firstCharacter) {
-					handler.onString(readNextString());
+					handleNextString();
 				} else {
 					handleLiteral(firstCharacter);
 				}
@@ -176,6 +306,9 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		char nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_ARRAY_FIRST);
 		if (']' == nextCharacter) {
 			handler.onArrayEnd();
+		} else if (null != batchingHandler) {
+			handleBatchedValue(nextCharacter, JsonSyntaxError.INVALID_ARRAY_FIRST, false);
+			handleBatchedArrayFollowing();
 		} else {
 			handleValue(nextCharacter, JsonSyntaxError.INVALID_ARRAY_FIRST);
 			handleArrayFollowing();
@@ -197,6 +330,90 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		}
 	}
 
+	private void handleBatchedArrayFollowing() throws JsonSyntaxException, JsonException, IOException {
+		while (true) {
+			char nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_ARRAY_FOLLOW);
+			if (']' == nextCharacter) {
+				endBatch();
+				handler.onArrayEnd();
+				break;
+			} else if (',' == nextCharacter) {
+				nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_ARRAY_VALUE);
+				handleBatchedValue(nextCharacter, JsonSyntaxError.INVALID_ARRAY_VALUE, true);
+			} else {
+				throw syntaxError(JsonSyntaxError.INVALID_ARRAY_FOLLOW);
+			}
+		}
+	}
+
+	private void handleBatchedValue(char firstCharacter, JsonSyntaxError error, boolean following)
+			throws JsonSyntaxException, JsonException, IOException {
+		if ('-' == firstCharacter || ('0' <= firstCharacter && '9' >= firstCharacter)) {
+			JsonState state = decodeNumber(firstCharacter);
+			if (state != batchState) {
+				endBatch();
+				if (following) {
+					handler.onNext();
+				}
+				batchState = state;
+			} else if (BATCH_SIZE == batchSize) {
+				flushBatch();
+			}
+			if (JsonState.LONG == state) {
+				longValues[batchSize++] = longValue;
+			} else {
+				doubleValues[batchSize++] = doubleValue;
+			}
+		} else {
+			endBatch();
+			if (following) {
+				handler.onNext();
+			}
+			handleValue(firstCharacter, error);
+		}
+	}
+
+	private void endBatch() throws JsonException {
+		flushBatch();
+		batchState = null;
+	}
+
+	private void flushBatch() throws JsonException {
+		if (0 != batchSize) {
+			if (JsonState.LONG == batchState) {
+				batchingHandler.onLongs(longValues, batchSize);
+			} else {
+				batchingHandler.onDoubles(doubleValues, batchSize);
+			}
+			batchSize = 0;
+		}
+	}
+
+	private JsonState decodeNumber(char firstCharacter) throws JsonSyntaxException, IOException {
+		builder.setLength(0);
+		builder.append(firstCharacter);
+		while (0 != source.makeAvailable()) {
+			char nextCharacter = source.peekCharacter(0);
+			if (isLiteralEnd(nextCharacter)) {
+				break;
+			}
+			builder.append(source.nextCharacter());
+		}
+		try {
+			if (!NumberDecoder.isReal(builder)) {
+				try {
+					longValue = NumberDecoder.parseLong(builder);
+					return JsonState.LONG;
+				} catch (NumberFormatException ignored) {
+				}
+			}
+			doubleValue = NumberDecoder.parseDouble(builder);
+			return JsonState.DOUBLE;
+		} catch (NumberFormatException e) {
+			throw syntaxError(JsonSyntaxError.INVALID_LITERAL);
+		}
+	}
+
 	private void handleObjectFirst() throws JsonSyntaxException, JsonException, IOException {
 		handler.onObjectBegin();
 		char nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_OBJECT_FIRST);
@@ -231,7 +448,7 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 	}
 
 	private void handleObjectValue() throws JsonSyntaxException, JsonException, IOException {
-		handler.onName(readNextString());
+		handleNextName();
 		char nextCharacter = nextNonWhitespace(JsonSyntaxError.INVALID_OBJECT_SEPARATION);
 		if (':' == nextCharacter) {
 			handleValue(JsonSyntaxError.INVALID_OBJECT_VALUE);
@@ -252,7 +469,7 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		} else if ('[' == firstCharacter) {
 			handleArrayFirst();
 		} else if ('"' == firstCharacter) {
-			handler.onString(readNextString());
+			handleNextString();
 		} else if (']' == firstCharacter) {
 			throw syntaxError(error);
 		} else if ('}' == firstCharacter) {
@@ -288,7 +505,44 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		return false;
 	}
 
+	private void handleNextName() throws JsonSyntaxException, JsonException, IOException {
+		if (null == charSequenceHandler) {
+			handler.onName(readNextString());
+		} else {
+			CharSequence name = readNextCharacters();
+			charSequenceHandler.onName(name);
+			if (sourceCharacters == name) {
+				sourceCharacters.consumeNextString();
+			}
+		}
+	}
+
+	private void handleNextString() throws JsonSyntaxException, JsonException, IOException {
+		if (null == charSequenceHandler) {
+			handler.onString(readNextString(true, stringCache));
+		} else {
+			CharSequence value = readNextCharacters();
+			charSequenceHandler.onString(value);
+			if (sourceCharacters == value) {
+				sourceCharacters.consumeNextString();
+			}
+		}
+	}
+
+	private CharSequence readNextCharacters() throws JsonSyntaxException, IOException {
+		if (sourceCharacters.prepareNextString()) {
+			return sourceCharacters;
+		}
+		readNextString(false, null);
+		return builder;
+	}
+
 	private String readNextString() throws JsonSyntaxException, IOException {
+		return readNextString(true, null);
+	}
+
+	private String readNextString(boolean createString, JsonStringCache cache) throws JsonSyntaxException,
+			IOException {
 		builder.setLength(0);
 		boolean buffered = false;
 		while (source.makeAvailable(1)) {
@@ -297,12 +551,16 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 			while (offset < available) {
 				char nextCharacter = source.peekCharacter(offset);
 				if ('"' == nextCharacter) {
-					String stringValue;
-					if (buffered) {
+					String stringValue = null;
+					if (buffered || !createString) {
 						source.appendNextString(builder, offset);
-						stringValue = builder.toString();
-					} else {
+						if (createString) {
+							stringValue = builder.toString();
+						}
+					} else if (null == cache) {
 						stringValue = source.nextString(offset);
+					} else {
+						stringValue = cache.nextString(source, offset);
 					}
 					source.nextCharacter();
 					return stringValue;
@@ -357,65 +615,93 @@ public final class DefaultJsonPushParser implements JsonPushParser {
 		if (!source.makeAvailable(4)) {
 			throw syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
 		} else {
-			String hex = source.nextString(4);
-			try {
-				return (char) Integer.parseInt(hex, 16);
-			} catch (NumberFormatException e) {
-				if (hex.contains("\"")) {
-					throw syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
-				} else {
-					throw syntaxError(JsonSyntaxError.INVALID_UNICODE_ESCAPE_SEQUENCE);
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = toHexValue(source.peekCharacter(i));
+				if (-1 == digit) {
+					throw unicodeEscapedError();
 				}
+				value = (value << 4) | digit;
 			}
+			for (int i = 0; i < 4; i++) {
+				source.nextCharacter();
+			}
+			return (char) value;
 		}
 	}
 
-	private void handleLiteral(char firstCharacter) throws JsonSyntaxException, JsonException,
-			IOException {
-		builder.setLength(0);
-		builder.append(firstCharacter);
-		while (0 != source.makeAvailable()) {
-			switch (source.peekCharacter(0)) {
-			case ']':
-			case '}':
-			case ',':
-			case ' ':
-			case '\b':
-			case '\f':
-			case '\n':
-			case '\r':
-			case '\t':
-				handleLiteral(builder.toString());
-				return;
-			default:
-				builder.append(source.nextCharacter());
-			}
+	private static int toHexValue(char character) {
+		if ('0' <= character && '9' >= character) {
+			return character - '0';
+		} else if ('a' <= character && 'f' >= character) {
+			return character - 'a' + 10;
+		} else if ('A' <= character && 'F' >= character) {
+			return character - 'A' + 10;
+		} else {
+			return -1;
+		}
+	}
+
+	private JsonSyntaxException unicodeEscapedError() {
+		boolean unfinished = false;
+		for (int i = 0; i < 4; i++) {
+			unfinished |= '"' == source.nextCharacter();
+		}
+		if (unfinished) {
+			return syntaxError(JsonSyntaxError.UNFINISHED_UNICODE_ESCAPE_SEQUENCE);
+		} else {
+			return syntaxError(JsonSyntaxError.INVALID_UNICODE_ESCAPE_SEQUENCE);
 		}
-		handleLiteral(builder.toString());
 	}
 
-	private void handleLiteral(String literal) throws JsonSyntaxException, JsonException {
-		if ("null".equals(literal)) {
+	private void handleLiteral(char firstCharacter) throws JsonSyntaxException, JsonException, IOException {
+		if ('n' == firstCharacter && nextKeyword("null")) {
 			handler.onNull();
-		} else if ("false".equals(literal)) {
+		} else if ('f' == firstCharacter && nextKeyword("false")) {
 			handler.onBoolean(false);
-		} else if ("true".equals(literal)) {
+		} else if ('t' == firstCharacter && nextKeyword("true")) {
 			handler.onBoolean(true);
+		} else if (JsonState.LONG == decodeNumber(firstCharacter)) {
+			handler.onLong(longValue);
 		} else {
-			handleNumber(literal);
+			handler.onDouble(doubleValue);
 		}
 	}
 
-	private void handleNumber(String literal) throws JsonSyntaxException, JsonException {
-		try {
-			handler.onLong(Long.parseLong(literal));
-		} catch (NumberFormatException ignored) {
-			try {
-				handler.onDouble(Double.parseDouble(literal));
-			} catch (NumberFormatException e) {
-				throw syntaxError(JsonSyntaxError.INVALID_LITERAL);
+	private boolean nextKeyword(String keyword) throws IOException {
+		int length = keyword.length() - 1;
+		if (!source.makeAvailable(length)) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (keyword.charAt(i + 1) != source.peekCharacter(i)) {
+				return false;
 			}
 		}
+		if (source.makeAvailable(length + 1) && !isLiteralEnd(source.peekCharacter(length))) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			source.nextCharacter();
+		}
+		return true;
+	}
+
+	private static boolean isLiteralEnd(char character) {
+		switch (character) {
+		case ']':
+		case '}':
+		case ',':
+		case ' ':
+		case '\b':
+		case '\f':
+		case '\n':
+		case '\r':
+		case '\t':
+			return true;
+		default:
+			return false;
+		}
 	}
 
 	private JsonSyntaxException syntaxError(JsonSyntaxError error) {
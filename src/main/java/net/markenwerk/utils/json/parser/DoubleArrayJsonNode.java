@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class DoubleArrayJsonNode extends JsonNode {
+
+	private final double[] values;
+
+	DoubleArrayJsonNode(double[] values) {
+		this.values = values;
+	}
+
+	@Override
+	public JsonState getState() {
+		return JsonState.ARRAY_BEGIN;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public JsonNode get(int index) {
+		return index < 0 || index >= values.length ? null : new DoubleJsonNode(values[index]);
+	}
+
+	@Override
+	public long[] toLongArray() {
+		throw new IllegalStateException("Values are " + JsonState.DOUBLE + " (expected " + JsonState.LONG + ")");
+	}
+
+	@Override
+	public double[] toDoubleArray() {
+		return values.clone();
+	}
+
+	@Override
+	void appendTo(StringBuilder builder) {
+		builder.append('[');
+		for (int i = 0; i < values.length; i++) {
+			if (0 != i) {
+				builder.append(',');
+			}
+			builder.append(values[i]);
+		}
+		builder.append(']');
+	}
+
+}
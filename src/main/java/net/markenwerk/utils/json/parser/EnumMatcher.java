@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import net.markenwerk.utils.json.common.JsonValueException;
+
+final class EnumMatcher<E extends Enum<E>> {
+
+	private final Class<E> type;
+
+	private final int[] hashes;
+
+	private final String[] names;
+
+	private final Object[] constants;
+
+	private final int mask;
+
+	EnumMatcher(Class<E> type) {
+		E[] values = type.getEnumConstants();
+		if (null == values) {
+			throw new IllegalArgumentException("The given type is not an enum type");
+		}
+		int size = 2;
+		while (size < values.length * 2) {
+			size <<= 1;
+		}
+		this.type = type;
+		this.hashes = new int[size];
+		this.names = new String[size];
+		this.constants = new Object[size];
+		this.mask = size - 1;
+		for (E value : values) {
+			String name = value.name();
+			int hash = name.hashCode();
+			int index = hash & mask;
+			while (null != names[index]) {
+				index = (index + 1) & mask;
+			}
+			hashes[index] = hash;
+			names[index] = name;
+			constants[index] = value;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	E match(CharSequence value) throws JsonValueException {
+		int length = value.length();
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + value.charAt(i);
+		}
+		int index = hash & mask;
+		String name;
+		while (null != (name = names[index])) {
+			if (hash == hashes[index] && matches(name, value, length)) {
+				return (E) constants[index];
+			}
+			index = (index + 1) & mask;
+		}
+		throw new JsonValueException("Value is not a constant of " + type.getName() + ": " + value);
+	}
+
+	private static boolean matches(String name, CharSequence value, int length) {
+		if (name.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (name.charAt(i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,657 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.UUID;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.common.JsonValueException;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+abstract class EventJsonPullParser implements JsonPullParser {
+
+	private boolean closed;
+
+	private JsonState state;
+
+	private JsonStringSink sink;
+
+	private Base64Decoder decoder;
+
+	private EnumMatcherCache enumMatchers;
+
+	boolean booleanValue;
+
+	long longValue;
+
+	double doubleValue;
+
+	String stringValue;
+
+	EventJsonPullParser() {
+	}
+
+	/**
+	 * Reads the next event and sets the corresponding value field, if
+	 * necessary.
+	 * 
+	 * @return The {@link JsonState} that corresponds to the next event, or
+	 *         {@link JsonState#SOURCE_END}, if no more events are available.
+	 * @throws IOException
+	 *             If reading the next event failed.
+	 */
+	abstract JsonState readEvent() throws IOException;
+
+	/**
+	 * Skips all events up to and including the end event of the structure,
+	 * whose begin event has just been read.
+	 * 
+	 * @return Whether the events have been skipped.
+	 * @throws IOException
+	 *             If skipping the events failed.
+	 */
+	boolean skipStructure() throws IOException {
+		return false;
+	}
+
+	final <Result> Result replay(JsonHandler<Result> handler) throws IOException, JsonException {
+		boolean[] objects = new boolean[16];
+		boolean[] firsts = new boolean[16];
+		int depth = 0;
+		while (true) {
+			JsonState event = readEvent();
+			if (0 != depth && JsonState.ARRAY_END != event && JsonState.OBJECT_END != event) {
+				if (JsonState.NAME == event || !objects[depth - 1]) {
+					if (firsts[depth - 1]) {
+						firsts[depth - 1] = false;
+					} else {
+						handler.onNext();
+					}
+				}
+			}
+			switch (event) {
+			case DOCUMENT_BEGIN:
+				depth = 0;
+				handler.onDocumentBegin();
+				break;
+			case DOCUMENT_END:
+				handler.onDocumentEnd();
+				break;
+			case ARRAY_BEGIN:
+			case OBJECT_BEGIN:
+				if (depth == objects.length) {
+					objects = Arrays.copyOf(objects, depth * 2);
+					firsts = Arrays.copyOf(firsts, depth * 2);
+				}
+				objects[depth] = JsonState.OBJECT_BEGIN == event;
+				firsts[depth++] = true;
+				if (JsonState.OBJECT_BEGIN == event) {
+					handler.onObjectBegin();
+				} else {
+					handler.onArrayBegin();
+				}
+				break;
+			case ARRAY_END:
+				depth--;
+				handler.onArrayEnd();
+				break;
+			case OBJECT_END:
+				depth--;
+				handler.onObjectEnd();
+				break;
+			case NAME:
+				handler.onName(stringValue);
+				break;
+			case NULL:
+				handler.onNull();
+				break;
+			case BOOLEAN:
+				handler.onBoolean(booleanValue);
+				break;
+			case LONG:
+				handler.onLong(longValue);
+				break;
+			case DOUBLE:
+				handler.onDouble(doubleValue);
+				break;
+			case STRING:
+				handler.onString(stringValue);
+				break;
+			case SOURCE_END:
+				return handler.getResult();
+			default:
+				throw new AssertionError();
+			}
+		}
+	}
+
+	private void consume(JsonState expected) throws IllegalStateException, IOException {
+		currentState();
+		if (state != expected) {
+			throw new IllegalStateException("Current state is " + state + " (expected " + expected + ")");
+		}
+		state = null;
+	}
+
+	@Override
+	public final boolean hasNextElement() throws IOException {
+		currentState();
+		return JsonState.OBJECT_END != state && JsonState.ARRAY_END != state;
+	}
+
+	@Override
+	public final JsonState currentState() throws IOException {
+		if (closed) {
+			throw new IllegalStateException("JsonReader is closed");
+		}
+		if (null == state) {
+			state = readEvent();
+		}
+		return state;
+	}
+
+	@Override
+	public final void beginDocument() throws IllegalStateException, IOException {
+		consume(JsonState.DOCUMENT_BEGIN);
+	}
+
+	@Override
+	public final void endDocument() throws IllegalStateException, IOException {
+		consume(JsonState.DOCUMENT_END);
+	}
+
+	@Override
+	public final void beginArray() throws IllegalStateException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+	}
+
+	@Override
+	public final void endArray() throws IllegalStateException, IOException {
+		consume(JsonState.ARRAY_END);
+	}
+
+	@Override
+	public final void beginObject() throws IllegalStateException, IOException {
+		consume(JsonState.OBJECT_BEGIN);
+	}
+
+	@Override
+	public final void endObject() throws IllegalStateException, IOException {
+		consume(JsonState.OBJECT_END);
+	}
+
+	@Override
+	public final void nextNull() throws IllegalStateException, IOException {
+		consume(JsonState.NULL);
+	}
+
+	@Override
+	public final boolean nextBoolean() throws IllegalStateException, IOException {
+		consume(JsonState.BOOLEAN);
+		return booleanValue;
+	}
+
+	@Override
+	public final byte nextByte() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.LONG);
+		if (longValue < Byte.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be a byte: " + longValue);
+		} else if (longValue > Byte.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be a byte: " + longValue);
+		} else {
+			return (byte) longValue;
+		}
+	}
+
+	@Override
+	public final char nextCharacter() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.LONG);
+		if (longValue < Character.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be a character: " + longValue);
+		} else if (longValue > Character.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be a character: " + longValue);
+		} else {
+			return (char) longValue;
+		}
+	}
+
+	@Override
+	public final short nextShort() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.LONG);
+		if (longValue < Short.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be a short: " + longValue);
+		} else if (longValue > Short.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be a short: " + longValue);
+		} else {
+			return (short) longValue;
+		}
+	}
+
+	@Override
+	public final int nextInteger() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.LONG);
+		if (longValue < Integer.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be an integer: " + longValue);
+		} else if (longValue > Integer.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be an integer: " + longValue);
+		} else {
+			return (int) longValue;
+		}
+	}
+
+	@Override
+	public final long nextLong() throws IllegalStateException, IOException {
+		consume(JsonState.LONG);
+		return longValue;
+	}
+
+	@Override
+	public final float nextFloat() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.DOUBLE);
+		if (doubleValue < -Float.MAX_VALUE) {
+			throw new JsonValueException("Value is too small to be a float: " + doubleValue);
+		} else if (doubleValue > Float.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be a float: " + doubleValue);
+		} else {
+			return (float) doubleValue;
+		}
+	}
+
+	@Override
+	public final double nextDouble() throws IllegalStateException, IOException {
+		consume(JsonState.DOUBLE);
+		return doubleValue;
+	}
+
+	@Override
+	public final long[] nextLongArray() throws IllegalStateException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		long[] values = new long[16];
+		int size = 0;
+		while (nextArrayNumber(JsonState.LONG)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = longValue;
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public final int nextLongArray(LongBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (nextArrayNumber(JsonState.LONG)) {
+			buffer.put(longValue);
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public final int[] nextIntArray() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		int[] values = new int[16];
+		int size = 0;
+		while (nextArrayNumber(JsonState.LONG)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = toInteger(longValue);
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public final int nextIntArray(IntBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			JsonValueException, IllegalStateException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (nextArrayNumber(JsonState.LONG)) {
+			buffer.put(toInteger(longValue));
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public final double[] nextDoubleArray() throws IllegalStateException, IOException {
+		consume(JsonState.ARRAY_BEGIN);
+		double[] values = new double[16];
+		int size = 0;
+		while (nextArrayNumber(JsonState.DOUBLE)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = doubleValue;
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public final int nextDoubleArray(DoubleBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.ARRAY_BEGIN);
+		int size = 0;
+		while (nextArrayNumber(JsonState.DOUBLE)) {
+			buffer.put(doubleValue);
+			size++;
+		}
+		return size;
+	}
+
+	private boolean nextArrayNumber(JsonState expected) throws IllegalStateException, IOException {
+		switch (currentState()) {
+		case ARRAY_END:
+			state = null;
+			return false;
+		case LONG:
+			if (JsonState.DOUBLE == expected) {
+				doubleValue = longValue;
+			}
+			state = null;
+			return true;
+		case DOUBLE:
+			if (JsonState.DOUBLE == expected) {
+				state = null;
+				return true;
+			}
+			break;
+		default:
+		}
+		throw new IllegalStateException("Current state is " + state + " (expected " + expected + ")");
+	}
+
+	private static int toInteger(long value) throws JsonValueException {
+		if (value < Integer.MIN_VALUE) {
+			throw new JsonValueException("Value is too small to be an integer: " + value);
+		} else if (value > Integer.MAX_VALUE) {
+			throw new JsonValueException("Value is too large to be an integer: " + value);
+		} else {
+			return (int) value;
+		}
+	}
+
+	@Override
+	public final String nextString() throws IllegalStateException, IOException {
+		consume(JsonState.STRING);
+		return stringValue;
+	}
+
+	@Override
+	public final Reader readString() throws IllegalStateException, IOException {
+		consume(JsonState.STRING);
+		return new StringReader(stringValue);
+	}
+
+	@Override
+	public final int nextString(char[] buffer, int offset) throws IllegalArgumentException, BufferOverflowException,
+			IndexOutOfBoundsException, IllegalStateException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		return nextString(CharBuffer.wrap(buffer, offset, buffer.length - offset));
+	}
+
+	@Override
+	public final int nextString(CharBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, IOException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		consume(JsonState.STRING);
+		if (buffer.remaining() < stringValue.length()) {
+			throw new BufferOverflowException();
+		}
+		buffer.put(stringValue);
+		return stringValue.length();
+	}
+
+	@Override
+	public final int nextString(Appendable appendable) throws IllegalArgumentException, IllegalStateException,
+			IOException {
+		if (null == appendable) {
+			throw new IllegalArgumentException("The given appendable is null");
+		}
+		consume(JsonState.STRING);
+		appendable.append(stringValue);
+		return stringValue.length();
+	}
+
+	@Override
+	public final int nextString(OutputStream stream) throws IllegalArgumentException, IllegalStateException,
+			IOException {
+		if (null == stream) {
+			throw new IllegalArgumentException("The given stream is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(stream);
+		sink.write(stringValue);
+		return sink.end();
+	}
+
+	@Override
+	public final int nextString(WritableByteChannel channel) throws IllegalArgumentException, IllegalStateException,
+			IOException {
+		if (null == channel) {
+			throw new IllegalArgumentException("The given channel is null");
+		}
+		consume(JsonState.STRING);
+		JsonStringSink sink = getSink();
+		sink.begin(channel);
+		sink.write(stringValue);
+		return sink.end();
+	}
+
+	@Override
+	public final int nextBase64(OutputStream stream) throws IllegalArgumentException, JsonValueException,
+			IllegalStateException, IOException {
+		if (null == stream) {
+			throw new IllegalArgumentException("The given stream is null");
+		}
+		consume(JsonState.STRING);
+		Base64Decoder decoder = getDecoder();
+		int count = 0;
+		int offset = 0;
+		while (!decoder.isFinished()) {
+			int length = decodeBase64(decoder, offset);
+			offset += decoder.getCharacters().length;
+			stream.write(decoder.getBytes(), 0, length);
+			count += length;
+		}
+		return count;
+	}
+
+	@Override
+	public final byte[] nextBase64Bytes() throws JsonValueException, IllegalStateException, IOException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		nextBase64(stream);
+		return stream.toByteArray();
+	}
+
+	@Override
+	public final InputStream readBase64() throws IllegalStateException, IOException {
+		try {
+			return new ByteArrayInputStream(nextBase64Bytes());
+		} catch (JsonValueException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	private <E extends Enum<E>> EnumMatcher<E> getEnumMatcher(Class<E> type) {
+		if (null == enumMatchers) {
+			enumMatchers = new EnumMatcherCache();
+		}
+		return enumMatchers.get(type);
+	}
+
+	private Base64Decoder getDecoder() {
+		if (null == decoder) {
+			decoder = new Base64Decoder();
+		}
+		decoder.begin();
+		return decoder;
+	}
+
+	private int decodeBase64(Base64Decoder decoder, int offset) throws JsonValueException {
+		if (offset >= stringValue.length()) {
+			return decoder.end();
+		}
+		int length = Math.min(decoder.getCharacters().length, stringValue.length() - offset);
+		stringValue.getChars(offset, offset + length, decoder.getCharacters(), 0);
+		return decoder.decode(length);
+	}
+
+	@Override
+	public final long nextEpochMillis() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.STRING);
+		return JsonStrings.toEpochMillis(stringValue);
+	}
+
+	@Override
+	public final long nextEpochNanos() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.STRING);
+		return JsonStrings.toEpochNanos(stringValue);
+	}
+
+	@Override
+	public final UUID nextUuid() throws JsonValueException, IllegalStateException, IOException {
+		consume(JsonState.STRING);
+		return JsonStrings.toUuid(stringValue);
+	}
+
+	@Override
+	public final <E extends Enum<E>> E nextEnum(Class<E> type) throws IllegalArgumentException,
+			JsonValueException, IllegalStateException, IOException {
+		if (null == type) {
+			throw new IllegalArgumentException("The given type is null");
+		}
+		EnumMatcher<E> matcher = getEnumMatcher(type);
+		consume(JsonState.STRING);
+		return matcher.match(stringValue);
+	}
+
+	@Override
+	public final long nextLongFromString() throws JsonValueException, IllegalStateException, IOException {
+		if (JsonState.LONG == currentState()) {
+			return nextLong();
+		}
+		consume(JsonState.STRING);
+		return JsonStrings.toLong(stringValue);
+	}
+
+	@Override
+	public final double nextDoubleFromString() throws JsonValueException, IllegalStateException, IOException {
+		switch (currentState()) {
+		case LONG:
+			return nextLong();
+		case DOUBLE:
+			return nextDouble();
+		default:
+			consume(JsonState.STRING);
+			return JsonStrings.toDouble(stringValue);
+		}
+	}
+
+	private JsonStringSink getSink() {
+		if (null == sink) {
+			sink = new JsonStringSink();
+		}
+		return sink;
+	}
+
+	@Override
+	public final String nextName() throws IllegalStateException, IOException {
+		consume(JsonState.NAME);
+		return stringValue;
+	}
+
+	@Override
+	public final void skipValue() throws IOException {
+		switch (currentState()) {
+		case ARRAY_END:
+		case OBJECT_END:
+		case DOCUMENT_END:
+			return;
+		case NAME:
+			nextName();
+		default:
+		}
+		switch (currentState()) {
+		case ARRAY_BEGIN:
+		case OBJECT_BEGIN:
+			if (!skipStructure()) {
+				int depth = 0;
+				do {
+					switch (currentState()) {
+					case ARRAY_BEGIN:
+					case OBJECT_BEGIN:
+						depth++;
+						break;
+					case ARRAY_END:
+					case OBJECT_END:
+						depth--;
+						break;
+					default:
+					}
+					state = null;
+				} while (0 != depth);
+			}
+			break;
+		default:
+		}
+		state = null;
+		currentState();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		enumMatchers = null;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link FileJsonInput} is a {@link JsonInput} for a UTF-8 encoded file.
+ * Malformed byte sequences are replaced with {@code U+FFFD}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class FileJsonInput implements JsonInput {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	private final File file;
+
+	/**
+	 * Creates a new {@link FileJsonInput}.
+	 * 
+	 * @param file
+	 *            The {@link File} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link File} is {@literal null}.
+	 */
+	public FileJsonInput(File file) throws IllegalArgumentException {
+		if (null == file) {
+			throw new IllegalArgumentException("The given file is null");
+		}
+		this.file = file;
+	}
+
+	@Override
+	public String getName() {
+		return file.getPath();
+	}
+
+	@Override
+	public JsonSource open() throws IOException {
+		return new ReaderJsonSource(new InputStreamReader(new FileInputStream(file), UTF_8), BUFFER_SIZE);
+	}
+
+	@Override
+	public String toString() {
+		return "FileJsonInput [file=" + file + "]";
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+final class FileRangeInputStream extends InputStream {
+
+	private final RandomAccessFile file;
+
+	private long remaining;
+
+	FileRangeInputStream(File file, long start, long end) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		this.remaining = end - start;
+		try {
+			this.file.seek(start);
+		} catch (IOException e) {
+			this.file.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (remaining <= 0) {
+			return -1;
+		}
+		int value = file.read();
+		if (-1 != value) {
+			remaining--;
+		}
+		return value;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if (0 == length) {
+			return 0;
+		} else if (remaining <= 0) {
+			return -1;
+		}
+		int count = file.read(buffer, offset, (int) Math.min(length, remaining));
+		if (count > 0) {
+			remaining -= count;
+		}
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+
+}
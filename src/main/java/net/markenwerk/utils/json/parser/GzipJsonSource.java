@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A {@link GzipJsonSource} is a {@link ReadAheadJsonSource} that is backed by
+ * a given {@link InputStream} that yields a GZIP compressed, UTF-8 encoded
+ * JSON text.
+ * 
+ * <p>
+ * Decompression and decoding happen in a background thread, while the
+ * characters of previously decompressed blocks are consumed.
+ * 
+ * <p>
+ * If an {@link ExecutorService} is given, members of a multi-member GZIP file
+ * that declare their compressed size in a {@code BC} extra subfield (as
+ * created by {@code bgzip} or other BGZF writers) are decompressed in parallel
+ * with the given {@link ExecutorService} and yielded in order. As soon as a
+ * member doesn't declare its compressed size, the remaining members are
+ * decompressed sequentially.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class GzipJsonSource extends ReadAheadJsonSource {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int BLOCK_SIZE = 16 * 1024;
+
+	private static final int BLOCK_COUNT = 4;
+
+	/**
+	 * Creates a new {@link GzipJsonSource} that decompresses sequentially.
+	 * 
+	 * @param input
+	 *            The {@link InputStream} to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link InputStream} is {@literal null}.
+	 */
+	public GzipJsonSource(InputStream input) throws IllegalArgumentException {
+		this(input, null, 0);
+	}
+
+	/**
+	 * Creates a new {@link GzipJsonSource} that decompresses members of a
+	 * multi-member GZIP file in parallel.
+	 * 
+	 * @param input
+	 *            The {@link InputStream} to be used.
+	 * @param executor
+	 *            The {@link ExecutorService} to be used to decompress members
+	 *            or {@literal null}, if members should be decompressed
+	 *            sequentially.
+	 * @param parallelism
+	 *            The maximum amount of members that are decompressed
+	 *            concurrently.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link InputStream} is {@literal null} or if an
+	 *             {@link ExecutorService} is given and the given parallelism
+	 *             is not positive.
+	 */
+	public GzipJsonSource(InputStream input, ExecutorService executor, int parallelism)
+			throws IllegalArgumentException {
+		super(openReader(input, executor, parallelism), BLOCK_SIZE);
+	}
+
+	private static ReadAheadReader openReader(InputStream input, ExecutorService executor, int parallelism)
+			throws IllegalArgumentException {
+		if (null == input) {
+			throw new IllegalArgumentException("The given input is null");
+		}
+		if (null != executor && parallelism < 1) {
+			throw new IllegalArgumentException("The given parallelism is not positive: " + parallelism);
+		}
+		InputStreamReader reader = new InputStreamReader(new ParallelGzipInputStream(input, executor, parallelism),
+				UTF_8);
+		return new ReadAheadReader(reader, BLOCK_SIZE, BLOCK_COUNT, null);
+	}
+
+}
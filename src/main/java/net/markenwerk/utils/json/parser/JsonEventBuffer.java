@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link JsonEventBuffer} is a reusable in-memory buffer of JSON events.
+ * 
+ * <p>
+ * Events can be captured by using a {@link JsonEventBuffer} as the
+ * {@link JsonHandler} of a {@link JsonPushParser} or by
+ * {@link JsonEventBuffer#record(JsonPullParser) recording} the current value
+ * of a {@link JsonPullParser}. Captured events can be read again with a
+ * {@link JsonEventBuffer#pullParser() JsonPullParser} or be
+ * {@link JsonEventBuffer#replay(JsonHandler) replayed} into a
+ * {@link JsonHandler} as often as necessary.
+ * 
+ * <p>
+ * Events are stored in primitive arrays and the characters of all names and
+ * strings are stored in a single character array. A {@link JsonEventBuffer}
+ * can be {@link JsonEventBuffer#reset() reset}, which retains these arrays.
+ * 
+ * <p>
+ * A {@link JsonEventBuffer} must not be modified while events are being read
+ * from it.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonEventBuffer implements JsonHandler<JsonEventBuffer> {
+
+	private static final JsonState[] STATES = JsonState.values();
+
+	private byte[] types = new byte[64];
+
+	private long[] values = new long[64];
+
+	private char[] characters = new char[256];
+
+	private int size;
+
+	private int characterCount;
+
+	/**
+	 * Creates a new {@link JsonEventBuffer}.
+	 */
+	public JsonEventBuffer() {
+	}
+
+	/**
+	 * Records the current value of the given {@link JsonPullParser} as a JSON
+	 * document. If the current value is a JSON array or a JSON object, all
+	 * contained values are recorded. Afterwards, the value has been consumed
+	 * from the given {@link JsonPullParser}.
+	 * 
+	 * @param parser
+	 *            The {@link JsonPullParser} to record from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonPullParser} is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If the {@link JsonPullParser#currentState() current}
+	 *             {@link JsonState} of the given {@link JsonPullParser} doesn't
+	 *             describe a value.
+	 * @throws JsonSyntaxException
+	 *             If the read JSON document contains a syntax error.
+	 * @throws IOException
+	 *             If reading from the given {@link JsonPullParser} failed.
+	 */
+	public void record(JsonPullParser parser) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException {
+		if (null == parser) {
+			throw new IllegalArgumentException("The given parser is null");
+		}
+		switch (parser.currentState()) {
+		case ARRAY_BEGIN:
+		case OBJECT_BEGIN:
+		case NULL:
+		case BOOLEAN:
+		case LONG:
+		case DOUBLE:
+		case STRING:
+			break;
+		default:
+			throw new IllegalStateException("Current state is " + parser.currentState() + " (expected a value)");
+		}
+		onDocumentBegin();
+		int depth = 0;
+		do {
+			switch (parser.currentState()) {
+			case ARRAY_BEGIN:
+				parser.beginArray();
+				onArrayBegin();
+				depth++;
+				break;
+			case ARRAY_END:
+				parser.endArray();
+				onArrayEnd();
+				depth--;
+				break;
+			case OBJECT_BEGIN:
+				parser.beginObject();
+				onObjectBegin();
+				depth++;
+				break;
+			case OBJECT_END:
+				parser.endObject();
+				onObjectEnd();
+				depth--;
+				break;
+			case NAME:
+				onName(parser.nextName());
+				break;
+			case NULL:
+				parser.nextNull();
+				onNull();
+				break;
+			case BOOLEAN:
+				onBoolean(parser.nextBoolean());
+				break;
+			case LONG:
+				onLong(parser.nextLong());
+				break;
+			case DOUBLE:
+				onDouble(parser.nextDouble());
+				break;
+			case STRING:
+				onString(parser.nextString());
+				break;
+			default:
+				throw new AssertionError();
+			}
+		} while (0 != depth);
+		onDocumentEnd();
+	}
+
+	/**
+	 * Creates a new {@link JsonPullParser} that reads the events in this
+	 * {@link JsonEventBuffer}.
+	 * 
+	 * @return The {@link JsonPullParser}.
+	 */
+	public JsonPullParser pullParser() {
+		return new BufferedJsonPullParser();
+	}
+
+	/**
+	 * Reports the events in this {@link JsonEventBuffer} to the given
+	 * {@link JsonHandler}.
+	 * 
+	 * @param <Result>
+	 *            The result type of the {@link JsonHandler}.
+	 * 
+	 * @param handler
+	 *            The {@link JsonHandler} to report to.
+	 * 
+	 * @return The result that has been calculated by the given
+	 *         {@link JsonHandler}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonHandler} is {@literal null}.
+	 * @throws JsonException
+	 *             If the given {@link JsonHandler} failed while handling an
+	 *             event.
+	 */
+	public <Result> Result replay(JsonHandler<Result> handler) throws IllegalArgumentException, JsonException {
+		if (null == handler) {
+			throw new IllegalArgumentException("The given handler is null");
+		}
+		try {
+			return new BufferedJsonPullParser().replay(handler);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Removes all events from this {@link JsonEventBuffer}.
+	 */
+	public void reset() {
+		size = 0;
+		characterCount = 0;
+	}
+
+	/**
+	 * Returns the amount of events in this {@link JsonEventBuffer}.
+	 * 
+	 * @return The amount of events.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void onDocumentBegin() {
+		append(JsonState.DOCUMENT_BEGIN, 0);
+	}
+
+	@Override
+	public void onDocumentEnd() {
+		append(JsonState.DOCUMENT_END, 0);
+	}
+
+	@Override
+	public void onArrayBegin() {
+		append(JsonState.ARRAY_BEGIN, 0);
+	}
+
+	@Override
+	public void onArrayEnd() {
+		append(JsonState.ARRAY_END, 0);
+	}
+
+	@Override
+	public void onObjectBegin() {
+		append(JsonState.OBJECT_BEGIN, 0);
+	}
+
+	@Override
+	public void onName(String name) {
+		append(JsonState.NAME, name);
+	}
+
+	@Override
+	public void onObjectEnd() {
+		append(JsonState.OBJECT_END, 0);
+	}
+
+	@Override
+	public void onNext() {
+	}
+
+	@Override
+	public void onNull() {
+		append(JsonState.NULL, 0);
+	}
+
+	@Override
+	public void onBoolean(boolean value) {
+		append(JsonState.BOOLEAN, value ? 1 : 0);
+	}
+
+	@Override
+	public void onLong(long value) {
+		append(JsonState.LONG, value);
+	}
+
+	@Override
+	public void onDouble(double value) {
+		append(JsonState.DOUBLE, Double.doubleToRawLongBits(value));
+	}
+
+	@Override
+	public void onString(String value) {
+		append(JsonState.STRING, value);
+	}
+
+	@Override
+	public JsonEventBuffer getResult() {
+		return this;
+	}
+
+	private void append(JsonState state, String string) {
+		int length = string.length();
+		if (characterCount + length > characters.length) {
+			characters = Arrays.copyOf(characters, Math.max(characters.length * 2, characterCount + length));
+		}
+		string.getChars(0, length, characters, characterCount);
+		append(state, ((long) characterCount << 32) | length);
+		characterCount += length;
+	}
+
+	private void append(JsonState state, long value) {
+		if (size == types.length) {
+			types = Arrays.copyOf(types, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		types[size] = (byte) state.ordinal();
+		values[size++] = value;
+	}
+
+	@Override
+	public String toString() {
+		return "JsonEventBuffer [size=" + size + ", characters=" + characterCount + "]";
+	}
+
+	private final class BufferedJsonPullParser extends EventJsonPullParser {
+
+		private int position;
+
+		@Override
+		JsonState readEvent() {
+			if (position == size) {
+				return JsonState.SOURCE_END;
+			}
+			JsonState state = STATES[types[position]];
+			long value = values[position++];
+			switch (state) {
+			case BOOLEAN:
+				booleanValue = 0 != value;
+				break;
+			case LONG:
+				longValue = value;
+				break;
+			case DOUBLE:
+				doubleValue = Double.longBitsToDouble(value);
+				break;
+			case NAME:
+			case STRING:
+				stringValue = new String(characters, (int) (value >>> 32), (int) value);
+				break;
+			default:
+			}
+			return state;
+		}
+
+		@Override
+		boolean skipStructure() {
+			int depth = 1;
+			while (0 != depth) {
+				JsonState state = STATES[types[position++]];
+				if (JsonState.ARRAY_BEGIN == state || JsonState.OBJECT_BEGIN == state) {
+					depth++;
+				} else if (JsonState.ARRAY_END == state || JsonState.OBJECT_END == state) {
+					depth--;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int getLine() {
+			return 1;
+		}
+
+		@Override
+		public int getColumn() {
+			return position;
+		}
+
+		@Override
+		public String toString() {
+			return "BufferedJsonPullParser [position=" + position + "]";
+		}
+
+	}
+
+}
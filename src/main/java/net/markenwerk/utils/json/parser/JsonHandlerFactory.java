@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link JsonHandlerFactory} creates the {@link JsonHandler JsonHandlers}
+ * that are used by a {@link ParallelJsonIngester}. A new {@link JsonHandler}
+ * is created for every chunk of a {@link File} that is processed, possibly
+ * from multiple threads at the same time.
+ * 
+ * @param <Result>
+ *            The result type of the created {@link JsonHandler
+ *            JsonHandlers}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface JsonHandlerFactory<Result> {
+
+	/**
+	 * Creates a new {@link JsonHandler} for a chunk of the given {@link File}.
+	 * 
+	 * @param file
+	 *            The {@link File} to be processed.
+	 * @param offset
+	 *            The offset of the first byte of the chunk to be processed.
+	 * 
+	 * @return The new {@link JsonHandler}.
+	 */
+	public JsonHandler<Result> createHandler(File file, long offset);
+
+}
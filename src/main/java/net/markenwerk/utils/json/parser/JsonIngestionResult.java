@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link JsonIngestionResult} holds the outcome of processing a single
+ * {@link File} with a {@link ParallelJsonIngester}.
+ * 
+ * <p>
+ * A {@link File} is processed in one or more chunks. For every chunk, a
+ * {@link JsonIngestionResult} holds either the result of the
+ * {@link net.markenwerk.utils.json.handler.JsonHandler} that processed the
+ * chunk or the {@link Exception} that prevented the chunk from being
+ * processed. Line and column numbers reported by a {@link JsonSyntaxException}
+ * are relative to the {@link JsonIngestionResult#getOffset(int) offset} of the
+ * chunk.
+ * 
+ * @param <Result>
+ *            The result type of the used
+ *            {@link net.markenwerk.utils.json.handler.JsonHandler
+ *            JsonHandlers}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonIngestionResult<Result> {
+
+	private final File file;
+
+	private final long[] offsets;
+
+	private final Object[] results;
+
+	private final Exception[] exceptions;
+
+	JsonIngestionResult(File file, long[] offsets) {
+		this.file = file;
+		this.offsets = offsets;
+		this.results = new Object[offsets.length];
+		this.exceptions = new Exception[offsets.length];
+	}
+
+	void setResult(int chunk, Result result) {
+		results[chunk] = result;
+	}
+
+	void setException(int chunk, Exception exception) {
+		exceptions[chunk] = exception;
+	}
+
+	/**
+	 * Returns the processed {@link File}.
+	 * 
+	 * @return The processed {@link File}.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the amount of chunks the {@link File} has been processed in.
+	 * 
+	 * @return The amount of chunks.
+	 */
+	public int getChunkCount() {
+		return offsets.length;
+	}
+
+	/**
+	 * Returns the offset of the first byte of the given chunk.
+	 * 
+	 * @param chunk
+	 *            The index of the chunk.
+	 * 
+	 * @return The offset of the given chunk.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given index is out of bounds.
+	 */
+	public long getOffset(int chunk) throws IndexOutOfBoundsException {
+		return offsets[chunk];
+	}
+
+	/**
+	 * Returns the result of the given chunk.
+	 * 
+	 * @param chunk
+	 *            The index of the chunk.
+	 * 
+	 * @return The result of the given chunk, or {@literal null}, if the chunk
+	 *         couldn't be processed.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given index is out of bounds.
+	 */
+	@SuppressWarnings("unchecked")
+	public Result getResult(int chunk) throws IndexOutOfBoundsException {
+		return (Result) results[chunk];
+	}
+
+	/**
+	 * Returns the {@link Exception} that prevented the given chunk from being
+	 * processed.
+	 * 
+	 * @param chunk
+	 *            The index of the chunk.
+	 * 
+	 * @return The {@link Exception} of the given chunk, or {@literal null}, if
+	 *         the chunk has been processed successfully.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given index is out of bounds.
+	 */
+	public Exception getException(int chunk) throws IndexOutOfBoundsException {
+		return exceptions[chunk];
+	}
+
+	/**
+	 * Returns the results of all chunks that have been processed successfully,
+	 * in the order of the chunks.
+	 * 
+	 * @return The results.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Result> getResults() {
+		List<Result> results = new ArrayList<Result>(offsets.length);
+		for (int i = 0; i < offsets.length; i++) {
+			if (null == exceptions[i]) {
+				results.add((Result) this.results[i]);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the {@link Exception Exceptions} of all chunks that couldn't be
+	 * processed, in the order of the chunks.
+	 * 
+	 * @return The {@link Exception Exceptions}.
+	 */
+	public List<Exception> getExceptions() {
+		List<Exception> exceptions = new ArrayList<Exception>();
+		for (Exception exception : this.exceptions) {
+			if (null != exception) {
+				exceptions.add(exception);
+			}
+		}
+		return exceptions;
+	}
+
+	/**
+	 * Returns whether all chunks have been processed successfully.
+	 * 
+	 * @return Whether all chunks have been processed successfully.
+	 */
+	public boolean isSuccessful() {
+		for (Exception exception : exceptions) {
+			if (null != exception) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "JsonIngestionResult [file=" + file + ", chunkCount=" + offsets.length + ", successful="
+				+ isSuccessful() + "]";
+	}
+
+}
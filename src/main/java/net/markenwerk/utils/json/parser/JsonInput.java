@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonInput} describes an input that yields a JSON text and that can
+ * be opened lazily, e.g. by a {@link SequenceJsonSource}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface JsonInput {
+
+	/**
+	 * Returns the name of this {@link JsonInput}, e.g. a file name.
+	 * 
+	 * @return The name of this {@link JsonInput}.
+	 */
+	public String getName();
+
+	/**
+	 * Opens this {@link JsonInput}.
+	 * 
+	 * @return A new {@link JsonSource} that yields the JSON text of this
+	 *         {@link JsonInput}.
+	 * 
+	 * @throws IOException
+	 *             If this {@link JsonInput} couldn't be opened.
+	 */
+	public JsonSource open() throws IOException;
+
+}
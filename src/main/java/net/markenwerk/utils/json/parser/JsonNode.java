@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link JsonNode} is an immutable node of a compact document model that can
+ * be created by a {@link JsonNodeHandler}.
+ * 
+ * <p>
+ * The document model is optimized for a small memory footprint: JSON null and
+ * JSON booleans are represented by shared instances, names of JSON objects are
+ * shared through a {@link JsonStringPool}, JSON objects are stored as parallel
+ * arrays of names and values and JSON arrays that only contain JSON integers
+ * or only contain JSON reals are stored as a {@code long[]} or a
+ * {@code double[]} respectively.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public abstract class JsonNode {
+
+	JsonNode() {
+	}
+
+	/**
+	 * Returns the {@link JsonState} that describes the type of this
+	 * {@link JsonNode}. This is one of {@link JsonState#ARRAY_BEGIN},
+	 * {@link JsonState#OBJECT_BEGIN}, {@link JsonState#NULL},
+	 * {@link JsonState#BOOLEAN}, {@link JsonState#LONG},
+	 * {@link JsonState#DOUBLE} or {@link JsonState#STRING}.
+	 * 
+	 * @return The {@link JsonState}.
+	 */
+	public abstract JsonState getState();
+
+	/**
+	 * Returns whether this {@link JsonNode} is a JSON null.
+	 * 
+	 * @return Whether this {@link JsonNode} is a JSON null.
+	 */
+	public boolean isNull() {
+		return false;
+	}
+
+	/**
+	 * Returns the value of this {@link JsonNode} as a {@code boolean}.
+	 * 
+	 * @return The {@code boolean} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON boolean.
+	 */
+	public boolean getBoolean() throws IllegalStateException {
+		throw unexpectedState(JsonState.BOOLEAN);
+	}
+
+	/**
+	 * Returns the value of this {@link JsonNode} as a {@code long}.
+	 * 
+	 * @return The {@code long} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON integer.
+	 */
+	public long getLong() throws IllegalStateException {
+		throw unexpectedState(JsonState.LONG);
+	}
+
+	/**
+	 * Returns the value of this {@link JsonNode} as a {@code double}. JSON
+	 * integers are converted.
+	 * 
+	 * @return The {@code double} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is neither a JSON real nor a JSON
+	 *             integer.
+	 */
+	public double getDouble() throws IllegalStateException {
+		throw unexpectedState(JsonState.DOUBLE);
+	}
+
+	/**
+	 * Returns the value of this {@link JsonNode} as a {@link String}.
+	 * 
+	 * @return The string value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON string.
+	 */
+	public String getString() throws IllegalStateException {
+		throw unexpectedState(JsonState.STRING);
+	}
+
+	/**
+	 * Returns the amount of values in this {@link JsonNode}, which must be a
+	 * JSON array or a JSON object.
+	 * 
+	 * @return The amount of values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is neither a JSON array nor a JSON
+	 *             object.
+	 */
+	public int size() throws IllegalStateException {
+		throw unexpectedState(JsonState.ARRAY_BEGIN, JsonState.OBJECT_BEGIN);
+	}
+
+	/**
+	 * Returns the value with the given index from this {@link JsonNode}, which
+	 * must be a JSON array or a JSON object.
+	 * 
+	 * @param index
+	 *            The index to look for.
+	 * 
+	 * @return The {@link JsonNode} for the given index, or {@literal null}, if
+	 *         this {@link JsonNode} has no value with the given index.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is neither a JSON array nor a JSON
+	 *             object.
+	 */
+	public JsonNode get(int index) throws IllegalStateException {
+		throw unexpectedState(JsonState.ARRAY_BEGIN, JsonState.OBJECT_BEGIN);
+	}
+
+	/**
+	 * Returns the name with the given index from this {@link JsonNode}, which
+	 * must be a JSON object.
+	 * 
+	 * @param index
+	 *            The index to look for.
+	 * 
+	 * @return The name for the given index, or {@literal null}, if this
+	 *         {@link JsonNode} has no value with the given index.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON object.
+	 */
+	public String getName(int index) throws IllegalStateException {
+		throw unexpectedState(JsonState.OBJECT_BEGIN);
+	}
+
+	/**
+	 * Returns the value with the given name from this {@link JsonNode}, which
+	 * must be a JSON object.
+	 * 
+	 * @param name
+	 *            The name to look for.
+	 * 
+	 * @return The {@link JsonNode} for the given name, or {@literal null}, if
+	 *         this {@link JsonNode} has no value with the given name.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given name is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON object.
+	 */
+	public JsonNode get(String name) throws IllegalArgumentException, IllegalStateException {
+		throw unexpectedState(JsonState.OBJECT_BEGIN);
+	}
+
+	/**
+	 * Returns the values of this {@link JsonNode}, which must be a JSON array
+	 * of JSON integers, as a new {@code long[]}.
+	 * 
+	 * @return The values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON array or if one of
+	 *             its values is not a JSON integer.
+	 */
+	public long[] toLongArray() throws IllegalStateException {
+		throw unexpectedState(JsonState.ARRAY_BEGIN);
+	}
+
+	/**
+	 * Returns the values of this {@link JsonNode}, which must be a JSON array
+	 * of JSON reals or JSON integers, as a new {@code double[]}.
+	 * 
+	 * @return The values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link JsonNode} is not a JSON array or if one of
+	 *             its values is neither a JSON real nor a JSON integer.
+	 */
+	public double[] toDoubleArray() throws IllegalStateException {
+		throw unexpectedState(JsonState.ARRAY_BEGIN);
+	}
+
+	final IllegalStateException unexpectedState(JsonState expected) {
+		return new IllegalStateException("Value is " + getState() + " (expected " + expected + ")");
+	}
+
+	final IllegalStateException unexpectedState(JsonState expected, JsonState alternative) {
+		return new IllegalStateException("Value is " + getState() + " (expected " + expected + " or "
+				+ alternative + ")");
+	}
+
+	abstract void appendTo(StringBuilder builder);
+
+	static void appendString(StringBuilder builder, String string) {
+		builder.append('"');
+		for (int i = 0, n = string.length(); i < n; i++) {
+			char character = string.charAt(i);
+			switch (character) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\b':
+				builder.append("\\b");
+				break;
+			case '\f':
+				builder.append("\\f");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (character < 0x20) {
+					builder.append(String.format("\\u%04x", (int) character));
+				} else {
+					builder.append(character);
+				}
+			}
+		}
+		builder.append('"');
+	}
+
+	/**
+	 * Returns the JSON text for this {@link JsonNode}.
+	 * 
+	 * @return The JSON text.
+	 */
+	@Override
+	public final String toString() {
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link JsonNodeHandler} is a {@link JsonHandler} that creates a compact
+ * and immutable {@link JsonNode} for a JSON document.
+ * 
+ * <p>
+ * Names of JSON objects are stored through a {@link JsonStringPool}, which
+ * should be shared between multiple {@link JsonNodeHandler JsonNodeHandlers},
+ * if many JSON documents with recurring names are kept in memory.
+ * 
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * <code>
+ * JsonNode node = new DefaultJsonPushParser(json).handle(new JsonNodeHandler(pool));
+ * </code>
+ * </pre>
+ * 
+ * <p>
+ * A {@link JsonNodeHandler} reuses its internal buffers and can therefore
+ * handle multiple JSON documents sequentially. The result is the root value of
+ * the last JSON document.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonNodeHandler implements JsonHandler<JsonNode> {
+
+	private final List<Frame> frames = new ArrayList<Frame>();
+
+	private final JsonStringPool pool;
+
+	private int depth;
+
+	private JsonNode root;
+
+	/**
+	 * Creates a new {@link JsonNodeHandler} with a new {@link JsonStringPool}.
+	 */
+	public JsonNodeHandler() {
+		this(new JsonStringPool());
+	}
+
+	/**
+	 * Creates a new {@link JsonNodeHandler}.
+	 * 
+	 * @param pool
+	 *            The {@link JsonStringPool} to be used for names of JSON
+	 *            objects.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonStringPool} is {@literal null}.
+	 */
+	public JsonNodeHandler(JsonStringPool pool) throws IllegalArgumentException {
+		if (null == pool) {
+			throw new IllegalArgumentException("The given pool is null");
+		}
+		this.pool = pool;
+	}
+
+	@Override
+	public void onDocumentBegin() {
+		depth = 0;
+		root = null;
+	}
+
+	@Override
+	public void onDocumentEnd() {
+	}
+
+	@Override
+	public void onArrayBegin() {
+		beginFrame(false);
+	}
+
+	@Override
+	public void onArrayEnd() {
+		onValue(frames.get(--depth).createArray());
+	}
+
+	@Override
+	public void onObjectBegin() {
+		beginFrame(true);
+	}
+
+	@Override
+	public void onName(String name) {
+		frames.get(depth - 1).addName(pool.pool(name));
+	}
+
+	@Override
+	public void onObjectEnd() {
+		onValue(frames.get(--depth).createObject());
+	}
+
+	@Override
+	public void onNext() {
+	}
+
+	@Override
+	public void onNull() {
+		onValue(LiteralJsonNode.NULL);
+	}
+
+	@Override
+	public void onBoolean(boolean value) {
+		onValue(LiteralJsonNode.valueOf(value));
+	}
+
+	@Override
+	public void onLong(long value) {
+		if (0 == depth) {
+			root = LongJsonNode.valueOf(value);
+		} else {
+			frames.get(depth - 1).addLong(value);
+		}
+	}
+
+	@Override
+	public void onDouble(double value) {
+		if (0 == depth) {
+			root = new DoubleJsonNode(value);
+		} else {
+			frames.get(depth - 1).addDouble(value);
+		}
+	}
+
+	@Override
+	public void onString(String value) {
+		onValue(new StringJsonNode(value));
+	}
+
+	@Override
+	public JsonNode getResult() {
+		return root;
+	}
+
+	private void beginFrame(boolean object) {
+		if (depth == frames.size()) {
+			frames.add(new Frame());
+		}
+		frames.get(depth++).begin(object);
+	}
+
+	private void onValue(JsonNode value) {
+		if (0 == depth) {
+			root = value;
+		} else {
+			frames.get(depth - 1).addNode(value);
+		}
+	}
+
+	private static final class Frame {
+
+		private static final int INITIAL_CAPACITY = 8;
+
+		private static final int EMPTY = 0;
+
+		private static final int LONGS = 1;
+
+		private static final int DOUBLES = 2;
+
+		private static final int NODES = 3;
+
+		private String[] names = new String[INITIAL_CAPACITY];
+
+		private JsonNode[] nodes = new JsonNode[INITIAL_CAPACITY];
+
+		private long[] longs = new long[INITIAL_CAPACITY];
+
+		private double[] doubles = new double[INITIAL_CAPACITY];
+
+		private boolean object;
+
+		private int kind;
+
+		private int size;
+
+		private int nameCount;
+
+		private void begin(boolean object) {
+			this.object = object;
+			this.kind = object ? NODES : EMPTY;
+			this.size = 0;
+			this.nameCount = 0;
+		}
+
+		private void addName(String name) {
+			if (nameCount == names.length) {
+				names = Arrays.copyOf(names, nameCount * 2);
+			}
+			names[nameCount++] = name;
+		}
+
+		private void addLong(long value) {
+			if (EMPTY == kind) {
+				kind = LONGS;
+			}
+			if (LONGS == kind) {
+				if (size == longs.length) {
+					longs = Arrays.copyOf(longs, size * 2);
+				}
+				longs[size++] = value;
+			} else {
+				addNode(LongJsonNode.valueOf(value));
+			}
+		}
+
+		private void addDouble(double value) {
+			if (EMPTY == kind) {
+				kind = DOUBLES;
+			}
+			if (DOUBLES == kind) {
+				if (size == doubles.length) {
+					doubles = Arrays.copyOf(doubles, size * 2);
+				}
+				doubles[size++] = value;
+			} else {
+				addNode(new DoubleJsonNode(value));
+			}
+		}
+
+		private void addNode(JsonNode value) {
+			if (NODES != kind) {
+				switchToNodes();
+			}
+			if (size == nodes.length) {
+				nodes = Arrays.copyOf(nodes, size * 2);
+			}
+			nodes[size++] = value;
+		}
+
+		private void switchToNodes() {
+			if (size > nodes.length) {
+				nodes = new JsonNode[Math.max(size * 2, nodes.length)];
+			}
+			if (LONGS == kind) {
+				for (int i = 0; i < size; i++) {
+					nodes[i] = LongJsonNode.valueOf(longs[i]);
+				}
+			} else if (DOUBLES == kind) {
+				for (int i = 0; i < size; i++) {
+					nodes[i] = new DoubleJsonNode(doubles[i]);
+				}
+			}
+			kind = NODES;
+		}
+
+		private JsonNode createArray() {
+			JsonNode array;
+			switch (kind) {
+			case LONGS:
+				array = new LongArrayJsonNode(Arrays.copyOf(longs, size));
+				break;
+			case DOUBLES:
+				array = new DoubleArrayJsonNode(Arrays.copyOf(doubles, size));
+				break;
+			case NODES:
+				array = new ArrayJsonNode(Arrays.copyOf(nodes, size));
+				break;
+			default:
+				array = ArrayJsonNode.EMPTY;
+			}
+			clearNodes();
+			return array;
+		}
+
+		private JsonNode createObject() {
+			JsonNode result;
+			if (0 == size) {
+				result = ObjectJsonNode.EMPTY;
+			} else {
+				result = new ObjectJsonNode(Arrays.copyOf(names, nameCount), Arrays.copyOf(nodes, size));
+			}
+			Arrays.fill(names, 0, nameCount, null);
+			clearNodes();
+			return result;
+		}
+
+		private void clearNodes() {
+			if (NODES == kind) {
+				Arrays.fill(nodes, 0, size, null);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Frame [object=" + object + ", size=" + size + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link JsonParserCache} is a thread-safe cache of parse results that is
+ * keyed by the content of the JSON text.
+ * 
+ * <p>
+ * If a JSON text is handled for the first time, it is parsed and the events
+ * are recorded with a {@link BinaryJsonHandler}. If the same JSON text is
+ * handled again, the recorded events are replayed with a
+ * {@link BinaryJsonPullParser} or a {@link BinaryJsonPushParser} and the JSON
+ * text isn't parsed again. JSON texts that contain syntax errors are not
+ * cached.
+ * 
+ * <p>
+ * The cache is bounded by the sum of the sizes of all cached entries, which is
+ * estimated as the size of the recorded events plus the size of the JSON text.
+ * If the maximum size is exceeded, the least recently used entries are
+ * evicted.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonParserCache {
+
+	private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<Key, byte[]>(16, 0.75f, true);
+
+	private final long maximumSize;
+
+	private final JsonParserMode[] modes;
+
+	private long size;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	/**
+	 * Creates a new {@link JsonParserCache}.
+	 * 
+	 * @param maximumSize
+	 *            The maximum size of all cached entries, in bytes.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be used
+	 *            during parsing.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given maximum size is negative.
+	 */
+	public JsonParserCache(long maximumSize, JsonParserMode... modes) throws IllegalArgumentException {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The given maximum size is negative");
+		}
+		this.maximumSize = maximumSize;
+		this.modes = null == modes ? null : modes.clone();
+	}
+
+	/**
+	 * Creates a {@link JsonPullParser} for the given {@link String}.
+	 * 
+	 * @param string
+	 *            The {@link String} to read from.
+	 * 
+	 * @return The {@link JsonPullParser}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link String} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 */
+	public JsonPullParser pullParser(String string) throws IllegalArgumentException, JsonSyntaxException {
+		if (null == string) {
+			throw new IllegalArgumentException("The given string is null");
+		}
+		return new BinaryJsonPullParser(getEvents(createKey(string)));
+	}
+
+	/**
+	 * Creates a {@link JsonPullParser} for the given {@code char[]}.
+	 * 
+	 * @param characters
+	 *            The {@code char[]} to read from.
+	 * 
+	 * @return The {@link JsonPullParser}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 */
+	public JsonPullParser pullParser(char[] characters) throws IllegalArgumentException, JsonSyntaxException {
+		if (null == characters) {
+			throw new IllegalArgumentException("The given character array is null");
+		}
+		return new BinaryJsonPullParser(getEvents(createKey(new String(characters))));
+	}
+
+	/**
+	 * Creates a {@link JsonPullParser} for the content of the given
+	 * {@link Reader}. The given {@link Reader} is read completely and closed.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to read from.
+	 * 
+	 * @return The {@link JsonPullParser}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 * @throws IOException
+	 *             If reading from the given {@link Reader} failed.
+	 */
+	public JsonPullParser pullParser(Reader reader) throws IllegalArgumentException, JsonSyntaxException,
+			IOException {
+		if (null == reader) {
+			throw new IllegalArgumentException("The given reader is null");
+		}
+		return new BinaryJsonPullParser(getEvents(readKey(reader)));
+	}
+
+	/**
+	 * Reports the events of the given {@link String} to the given
+	 * {@link JsonHandler}.
+	 * 
+	 * @param <Result>
+	 *            The result type of the {@link JsonHandler}.
+	 * @param string
+	 *            The {@link String} to read from.
+	 * @param handler
+	 *            The {@link JsonHandler} to report to.
+	 * 
+	 * @return The result that has been calculated by the given
+	 *         {@link JsonHandler}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link String} or the given {@link JsonHandler}
+	 *             is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 * @throws JsonException
+	 *             If the given {@link JsonHandler} failed while handling an
+	 *             event.
+	 */
+	public <Result> Result handle(String string, JsonHandler<Result> handler) throws IllegalArgumentException,
+			JsonSyntaxException, JsonException {
+		if (null == string) {
+			throw new IllegalArgumentException("The given string is null");
+		}
+		return replay(createKey(string), handler);
+	}
+
+	/**
+	 * Reports the events of the given {@code char[]} to the given
+	 * {@link JsonHandler}.
+	 * 
+	 * @param <Result>
+	 *            The result type of the {@link JsonHandler}.
+	 * @param characters
+	 *            The {@code char[]} to read from.
+	 * @param handler
+	 *            The {@link JsonHandler} to report to.
+	 * 
+	 * @return The result that has been calculated by the given
+	 *         {@link JsonHandler}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} or the given {@link JsonHandler}
+	 *             is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 * @throws JsonException
+	 *             If the given {@link JsonHandler} failed while handling an
+	 *             event.
+	 */
+	public <Result> Result handle(char[] characters, JsonHandler<Result> handler) throws IllegalArgumentException,
+			JsonSyntaxException, JsonException {
+		if (null == characters) {
+			throw new IllegalArgumentException("The given character array is null");
+		}
+		return replay(createKey(new String(characters)), handler);
+	}
+
+	/**
+	 * Reports the events of the content of the given {@link Reader} to the
+	 * given {@link JsonHandler}. The given {@link Reader} is read completely
+	 * and closed.
+	 * 
+	 * @param <Result>
+	 *            The result type of the {@link JsonHandler}.
+	 * @param reader
+	 *            The {@link Reader} to read from.
+	 * @param handler
+	 *            The {@link JsonHandler} to report to.
+	 * 
+	 * @return The result that has been calculated by the given
+	 *         {@link JsonHandler}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} or the given {@link JsonHandler}
+	 *             is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the JSON text contains a syntax error.
+	 * @throws JsonException
+	 *             If the given {@link JsonHandler} failed while handling an
+	 *             event.
+	 * @throws IOException
+	 *             If reading from the given {@link Reader} failed.
+	 */
+	public <Result> Result handle(Reader reader, JsonHandler<Result> handler) throws IllegalArgumentException,
+			JsonSyntaxException, JsonException, IOException {
+		if (null == reader) {
+			throw new IllegalArgumentException("The given reader is null");
+		}
+		return replay(readKey(reader), handler);
+	}
+
+	private <Result> Result replay(Key key, JsonHandler<Result> handler) throws IllegalArgumentException {
+		if (null == handler) {
+			throw new IllegalArgumentException("The given handler is null");
+		}
+		try {
+			return new BinaryJsonPushParser(getEvents(key)).handle(handler);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private byte[] getEvents(Key key) throws JsonSyntaxException {
+		byte[] events;
+		synchronized (entries) {
+			events = entries.get(key);
+			if (null != events) {
+				hitCount++;
+				return events;
+			}
+			missCount++;
+		}
+		try {
+			events = new DefaultJsonPushParser(key.createSource(), modes).handle(new BinaryJsonHandler());
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		long weight = events.length + 2L * key.content.length();
+		if (weight <= maximumSize) {
+			synchronized (entries) {
+				byte[] previous = entries.put(key, events);
+				if (null != previous) {
+					size -= previous.length + 2L * key.content.length();
+				}
+				size += weight;
+				Iterator<Map.Entry<Key, byte[]>> iterator = entries.entrySet().iterator();
+				while (size > maximumSize) {
+					Map.Entry<Key, byte[]> eldest = iterator.next();
+					size -= eldest.getValue().length + 2L * eldest.getKey().content.length();
+					iterator.remove();
+					evictionCount++;
+				}
+			}
+		}
+		return events;
+	}
+
+	private static Key createKey(String string) {
+		return new Key(string, string.hashCode());
+	}
+
+	private static Key readKey(Reader reader) throws IOException {
+		try {
+			char[] characters = new char[1024];
+			int length = 0;
+			int hash = 0;
+			while (true) {
+				if (length == characters.length) {
+					characters = Arrays.copyOf(characters, length * 2);
+				}
+				int read = reader.read(characters, length, characters.length - length);
+				if (-1 == read) {
+					break;
+				}
+				for (int i = length, n = length + read; i < n; i++) {
+					hash = 31 * hash + characters[i];
+				}
+				length += read;
+			}
+			return new Key(new String(characters, 0, length), hash);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Returns the amount of cached entries.
+	 * 
+	 * @return The amount of cached entries.
+	 */
+	public int getEntryCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the sum of the sizes of all cached entries, in bytes.
+	 * 
+	 * @return The size.
+	 */
+	public long getSize() {
+		synchronized (entries) {
+			return size;
+		}
+	}
+
+	/**
+	 * Returns how often a JSON text has been found in this
+	 * {@link JsonParserCache}.
+	 * 
+	 * @return The hit count.
+	 */
+	public long getHitCount() {
+		synchronized (entries) {
+			return hitCount;
+		}
+	}
+
+	/**
+	 * Returns how often a JSON text has not been found in this
+	 * {@link JsonParserCache}.
+	 * 
+	 * @return The miss count.
+	 */
+	public long getMissCount() {
+		synchronized (entries) {
+			return missCount;
+		}
+	}
+
+	/**
+	 * Returns how often an entry has been evicted from this
+	 * {@link JsonParserCache}.
+	 * 
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount() {
+		synchronized (entries) {
+			return evictionCount;
+		}
+	}
+
+	/**
+	 * Removes all entries from this {@link JsonParserCache}.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			size = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (entries) {
+			return "JsonParserCache [entries=" + entries.size() + ", size=" + size + ", maximumSize=" + maximumSize
+					+ ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+		}
+	}
+
+	private static final class Key {
+
+		private final String content;
+
+		private final int hash;
+
+		private Key(String content, int hash) {
+			this.content = content;
+			this.hash = hash;
+		}
+
+		private JsonSource createSource() {
+			return new StringJsonSource(content);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return hash == other.hash && content.equals(other.content);
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link JsonParserPool} is a thread-safe pool of
+ * {@link DefaultJsonPullParser DefaultJsonPullParsers} and
+ * {@link DefaultJsonPushParser DefaultJsonPushParsers} that allows to reuse
+ * parsers and their internal buffers for multiple JSON texts.
+ * 
+ * <p>
+ * A parser that has been obtained from a {@link JsonParserPool} should be
+ * {@link JsonParserPool#release(DefaultJsonPullParser) released} to the same
+ * {@link JsonParserPool} after it has been used and must not be used after it
+ * has been released. Releasing a parser doesn't close its {@link JsonSource}.
+ * 
+ * <p>
+ * A {@link JsonParserPool} only takes back parsers that it has handed out and
+ * that haven't been released since. Releasing any other parser, including a
+ * parser that has been created with different {@link JsonParserMode
+ * JsonParserModes} or a different {@link JsonStringCache}, has no effect.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public interface JsonParserPool {
+
+	/**
+	 * Returns a {@link DefaultJsonPullParser} that reads from the given
+	 * {@link JsonSource}.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * 
+	 * @return A pooled or newly created {@link DefaultJsonPullParser}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 */
+	public DefaultJsonPullParser getPullParser(JsonSource source) throws IllegalArgumentException;
+
+	/**
+	 * Returns a {@link DefaultJsonPushParser} that reads from the given
+	 * {@link JsonSource}.
+	 * 
+	 * @param source
+	 *            The {@link JsonSource} to read from.
+	 * 
+	 * @return A pooled or newly created {@link DefaultJsonPushParser}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonSource} is {@literal null}.
+	 */
+	public DefaultJsonPushParser getPushParser(JsonSource source) throws IllegalArgumentException;
+
+	/**
+	 * Releases the given {@link DefaultJsonPullParser} to this
+	 * {@link JsonParserPool}.
+	 * 
+	 * @param parser
+	 *            The {@link DefaultJsonPullParser} to be released.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link DefaultJsonPullParser} is {@literal null}.
+	 */
+	public void release(DefaultJsonPullParser parser) throws IllegalArgumentException;
+
+	/**
+	 * Releases the given {@link DefaultJsonPushParser} to this
+	 * {@link JsonParserPool}.
+	 * 
+	 * @param parser
+	 *            The {@link DefaultJsonPushParser} to be released.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link DefaultJsonPushParser} is {@literal null}.
+	 */
+	public void release(DefaultJsonPushParser parser) throws IllegalArgumentException;
+
+}
@@ -23,7 +23,16 @@ package net.markenwerk.utils.json.parser;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.UUID;
 
 import net.markenwerk.utils.json.common.JsonValueException;
 
@@ -363,6 +372,193 @@ public interface JsonPullParser extends Closeable {
 	 */
 	public double nextDouble() throws IllegalStateException, JsonSyntaxException, IOException;
 
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON integers, and returns the
+	 * corresponding values. The next {@link JsonState} describes either the
+	 * next sibling value of this JSON array or the end of surrounding JSON
+	 * array or JSON object.
+	 * 
+	 * @return The {@code long} values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is not a JSON integer. In the later case, the
+	 *             current {@link JsonState} describes that value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public long[] nextLongArray() throws IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON integers, and puts the corresponding
+	 * values into the given {@link LongBuffer}. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON array or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * @param buffer
+	 *            The {@link LongBuffer} to put the values into.
+	 * 
+	 * @return The amount of values.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link LongBuffer} is {@literal null}.
+	 * @throws BufferOverflowException
+	 *             If the JSON array contains more values than the given
+	 *             {@link LongBuffer} has remaining space. In this case, the
+	 *             JSON array has only been partially consumed.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is not a JSON integer. In the later case, the
+	 *             current {@link JsonState} describes that value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextLongArray(LongBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON integers, and returns the
+	 * corresponding values. The next {@link JsonState} describes either the
+	 * next sibling value of this JSON array or the end of surrounding JSON
+	 * array or JSON object.
+	 * 
+	 * @return The {@code int} values.
+	 * 
+	 * @throws JsonValueException
+	 *             If one of the values is out of range.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is not a JSON integer. In the later case, the
+	 *             current {@link JsonState} describes that value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int[] nextIntArray() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON integers, and puts the corresponding
+	 * values into the given {@link IntBuffer}. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON array or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * @param buffer
+	 *            The {@link IntBuffer} to put the values into.
+	 * 
+	 * @return The amount of values.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link IntBuffer} is {@literal null}.
+	 * @throws BufferOverflowException
+	 *             If the JSON array contains more values than the given
+	 *             {@link IntBuffer} has remaining space. In this case, the JSON
+	 *             array has only been partially consumed.
+	 * @throws JsonValueException
+	 *             If one of the values is out of range.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is not a JSON integer. In the later case, the
+	 *             current {@link JsonState} describes that value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextIntArray(IntBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			JsonValueException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON reals or JSON integers, and returns
+	 * the corresponding values. JSON integers are converted. The next
+	 * {@link JsonState} describes either the next sibling value of this JSON
+	 * array or the end of surrounding JSON array or JSON object.
+	 * 
+	 * @return The {@code double} values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is neither a JSON real nor a JSON integer. In the
+	 *             later case, the current {@link JsonState} describes that
+	 *             value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public double[] nextDoubleArray() throws IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#ARRAY_BEGIN} and consumes the JSON
+	 * array, which must only contain JSON reals or JSON integers, and puts the
+	 * corresponding values into the given {@link DoubleBuffer}. JSON integers
+	 * are converted. The next {@link JsonState} describes either the next
+	 * sibling value of this JSON array or the end of surrounding JSON array or
+	 * JSON object.
+	 * 
+	 * @param buffer
+	 *            The {@link DoubleBuffer} to put the values into.
+	 * 
+	 * @return The amount of values.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link DoubleBuffer} is {@literal null}.
+	 * @throws BufferOverflowException
+	 *             If the JSON array contains more values than the given
+	 *             {@link DoubleBuffer} has remaining space. In this case, the
+	 *             JSON array has only been partially consumed.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#ARRAY_BEGIN} or if the JSON array contains a
+	 *             value that is neither a JSON real nor a JSON integer. In the
+	 *             later case, the current {@link JsonState} describes that
+	 *             value.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextDoubleArray(DoubleBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException;
+
 	/**
 	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
 	 * {@link JsonState} is {@link JsonState#STRING} and consumes and returns
@@ -383,6 +579,62 @@ public interface JsonPullParser extends Closeable {
 	 */
 	public String nextString() throws IllegalStateException, JsonSyntaxException, IOException;
 
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} or {@link JsonState#LONG}
+	 * and consumes and returns the corresponding value. A string value must
+	 * contain a JSON integer, which is decoded directly from the underlying
+	 * {@link JsonSource}. The next {@link JsonState} describes either the next
+	 * sibling value of this JSON value or the end of surrounding JSON array or
+	 * JSON object.
+	 * 
+	 * @return The {@code long} value.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not a JSON integer or if the integer
+	 *             can't be represented as a {@code long}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is neither
+	 *             {@link JsonState#STRING} nor {@link JsonState#LONG}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public long nextLongFromString() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING}, {@link JsonState#DOUBLE}
+	 * or {@link JsonState#LONG} and consumes and returns the corresponding
+	 * value. A string value must contain a JSON real or a JSON integer, which
+	 * is decoded directly from the underlying {@link JsonSource}. The next
+	 * {@link JsonState} describes either the next sibling value of this JSON
+	 * value or the end of surrounding JSON array or JSON object.
+	 * 
+	 * @return The {@code double} value.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not a JSON real or a JSON integer.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is neither
+	 *             {@link JsonState#STRING}, {@link JsonState#DOUBLE} nor
+	 *             {@link JsonState#LONG}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public double nextDoubleFromString() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException;
+
 	/**
 	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
 	 * {@link JsonState} is {@link JsonState#STRING} and return a {@link Reader}
@@ -408,6 +660,406 @@ public interface JsonPullParser extends Closeable {
 	 */
 	public Reader readString() throws IllegalStateException, JsonSyntaxException, IOException;
 
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value by copying it into the given {@code char[]}, starting
+	 * at the given offset. The next {@link JsonState} describes either the next
+	 * sibling value of this JSON value or the end of surrounding JSON array or
+	 * JSON object.
+	 * 
+	 * @param buffer
+	 *            The {@code char[]} to copy the string value into.
+	 * @param offset
+	 *            The index of the first character to be written.
+	 * 
+	 * @return The length of the string value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} is {@literal null}.
+	 * @throws BufferOverflowException
+	 *             If the string value is longer than the remaining space of the
+	 *             given {@code char[]}. In this case, the given {@code char[]}
+	 *             may contain a prefix of the string value and the rest of the
+	 *             string value is skipped.
+	 * @throws IndexOutOfBoundsException
+	 *             If the given offset is negative or larger than the length of
+	 *             the given {@code char[]}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextString(char[] buffer, int offset) throws IllegalArgumentException, BufferOverflowException,
+			IndexOutOfBoundsException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value by putting it into the given {@link CharBuffer}. The
+	 * next {@link JsonState} describes either the next sibling value of this
+	 * JSON value or the end of surrounding JSON array or JSON object.
+	 * 
+	 * @param buffer
+	 *            The {@link CharBuffer} to put the string value into.
+	 * 
+	 * @return The length of the string value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link CharBuffer} is {@literal null}.
+	 * @throws BufferOverflowException
+	 *             If the string value is longer than the remaining space of the
+	 *             given {@link CharBuffer}. In this case, the given
+	 *             {@link CharBuffer} may contain a prefix of the string value
+	 *             and the rest of the string value is skipped.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextString(CharBuffer buffer) throws IllegalArgumentException, BufferOverflowException,
+			IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value by appending it to the given {@link Appendable}.
+	 * Unescaped parts of the string value are appended in chunks, without
+	 * creating a {@link String}. The next {@link JsonState} describes either
+	 * the next sibling value of this JSON value or the end of surrounding JSON
+	 * array or JSON object.
+	 * 
+	 * @param appendable
+	 *            The {@link Appendable} to append the string value to.
+	 * 
+	 * @return The length of the string value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Appendable} is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed or if
+	 *             appending to the given {@link Appendable} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextString(Appendable appendable) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value by writing it, UTF-8 encoded, to the given
+	 * {@link OutputStream}. The given {@link OutputStream} is neither flushed
+	 * nor closed. The next {@link JsonState} describes either the next sibling
+	 * value of this JSON value or the end of surrounding JSON array or JSON
+	 * object.
+	 * 
+	 * @param stream
+	 *            The {@link OutputStream} to write the string value to.
+	 * 
+	 * @return The amount of bytes written.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link OutputStream} is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed or if
+	 *             writing to the given {@link OutputStream} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextString(OutputStream stream) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value by writing it, UTF-8 encoded, to the given
+	 * {@link WritableByteChannel}. The given {@link WritableByteChannel} is not
+	 * closed. The next {@link JsonState} describes either the next sibling
+	 * value of this JSON value or the end of surrounding JSON array or JSON
+	 * object.
+	 * 
+	 * @param channel
+	 *            The {@link WritableByteChannel} to write the string value to.
+	 * 
+	 * @return The amount of bytes written.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link WritableByteChannel} is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed or if
+	 *             writing to the given {@link WritableByteChannel} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextString(WritableByteChannel channel) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be Base64 encoded, by writing the decoded
+	 * bytes to the given {@link OutputStream}. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON value or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * Both, the standard and the URL-safe Base64 alphabet are supported.
+	 * Padding is optional and line breaks are ignored. The given
+	 * {@link OutputStream} is neither flushed nor closed.
+	 * 
+	 * @param stream
+	 *            The {@link OutputStream} to write the decoded bytes to.
+	 * 
+	 * @return The amount of bytes written.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link OutputStream} is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the string value is not Base64 encoded. In this case,
+	 *             the rest of the string value is skipped.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed or if
+	 *             writing to the given {@link OutputStream} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int nextBase64(OutputStream stream) throws IllegalArgumentException, JsonValueException,
+			IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be Base64 encoded, and returns the
+	 * decoded bytes. The next {@link JsonState} describes either the next
+	 * sibling value of this JSON value or the end of surrounding JSON array or
+	 * JSON object.
+	 * 
+	 * <p>
+	 * Both, the standard and the URL-safe Base64 alphabet are supported.
+	 * Padding is optional and line breaks are ignored.
+	 * 
+	 * @return The decoded bytes.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not Base64 encoded. In this case,
+	 *             the rest of the string value is skipped.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public byte[] nextBase64Bytes() throws JsonValueException, IllegalStateException, JsonSyntaxException,
+			IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and return an
+	 * {@link InputStream} that consumes the corresponding value, which must be
+	 * Base64 encoded, and yields the decoded bytes. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON value or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * Both, the standard and the URL-safe Base64 alphabet are supported.
+	 * Padding is optional and line breaks are ignored. If the string value is
+	 * not Base64 encoded, the returned {@link InputStream} throws an
+	 * {@link IOException} that is caused by a {@link JsonValueException} and
+	 * the rest of the string value is skipped.
+	 * 
+	 * <p>
+	 * <b>Important:</b> the returned {@link InputStream} must be
+	 * {@link InputStream#read() read} completely or
+	 * {@link InputStream#close() closed}, before the next call to any other
+	 * method of this {@link JsonPullParser}.
+	 * 
+	 * @return An {@link InputStream} for the decoded bytes.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public InputStream readBase64() throws IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be an RFC 3339 timestamp, and returns
+	 * the amount of milliseconds since the epoch. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON value or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * The timestamp is decoded directly from the underlying {@link JsonSource}
+	 * and the same forms as for
+	 * {@link JsonStrings#toEpochMillis(CharSequence)} are accepted.
+	 * 
+	 * @return The amount of milliseconds since the epoch.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not a timestamp or if the timestamp
+	 *             can't be represented as a {@code long}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public long nextEpochMillis() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be an RFC 3339 timestamp, and returns
+	 * the amount of nanoseconds since the epoch. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON value or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * The timestamp is decoded directly from the underlying {@link JsonSource}
+	 * and the same forms as for
+	 * {@link JsonStrings#toEpochNanos(CharSequence)} are accepted.
+	 * 
+	 * @return The amount of nanoseconds since the epoch.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not a timestamp or if the timestamp
+	 *             can't be represented as a {@code long}.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public long nextEpochNanos() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be a UUID in its canonical form, and
+	 * returns the corresponding {@link UUID}. The next {@link JsonState}
+	 * describes either the next sibling value of this JSON value or the end of
+	 * surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * The UUID is decoded directly from the underlying {@link JsonSource} and
+	 * the same forms as for {@link JsonStrings#toUuid(CharSequence)} are
+	 * accepted.
+	 * 
+	 * @return The {@link UUID}.
+	 * 
+	 * @throws JsonValueException
+	 *             If the string value is not a UUID in its canonical form.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public UUID nextUuid() throws JsonValueException, IllegalStateException, JsonSyntaxException, IOException;
+
+	/**
+	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
+	 * {@link JsonState} is {@link JsonState#STRING} and consumes the
+	 * corresponding value, which must be the name of an enum constant of the
+	 * given enum type, and returns that enum constant. The next
+	 * {@link JsonState} describes either the next sibling value of this JSON
+	 * value or the end of surrounding JSON array or JSON object.
+	 * 
+	 * <p>
+	 * The name is matched directly against the underlying {@link JsonSource}
+	 * as described in {@link JsonStrings#toEnum(CharSequence, Class)}.
+	 * 
+	 * @param type
+	 *            The enum type.
+	 * @param <E>
+	 *            The enum type.
+	 * 
+	 * @return The enum constant.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given type is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the string value is not the name of an enum constant of
+	 *             the given enum type.
+	 * @throws IllegalStateException
+	 *             If the current {@link JsonState} is not
+	 *             {@link JsonState#STRING}.
+	 * @throws JsonSyntaxException
+	 *             If the read {@link JsonSyntaxException} document contains a
+	 *             syntax error.
+	 * @throws IOException
+	 *             If reading from the underlying {@link Reader} failed.
+	 * 
+	 * @since 3.1.0
+	 */
+	public <E extends Enum<E>> E nextEnum(Class<E> type) throws IllegalArgumentException, JsonValueException,
+			IllegalStateException, JsonSyntaxException, IOException;
+
 	/**
 	 * Ensures that the {@link DefaultJsonPullParser#currentState() current}
 	 * {@link JsonState} is {@link JsonState#NAME} and consumes and returns the
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+final class JsonSourceCharSequence implements CharSequence {
+
+	private final JsonSource source;
+
+	private int length;
+
+	JsonSourceCharSequence(JsonSource source) {
+		this.source = source;
+	}
+
+	boolean prepareNextString() throws IOException {
+		if (source.makeAvailable(1)) {
+			for (int offset = 0, available = source.getAvailable(); offset < available; offset++) {
+				char nextCharacter = source.peekCharacter(offset);
+				if ('"' == nextCharacter) {
+					length = offset;
+					return true;
+				} else if ('\\' == nextCharacter) {
+					break;
+				}
+			}
+		}
+		return false;
+	}
+
+	void consumeNextString() {
+		if (0 != length) {
+			JsonSources.skipNextString(source, length);
+			length = 0;
+		}
+		source.nextCharacter();
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("The given index is out of bounds: " + index);
+		}
+		return source.peekCharacter(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("The given start and end are out of bounds: " + start + ", " + end);
+		}
+		StringBuilder builder = new StringBuilder(end - start);
+		for (int i = start; i < end; i++) {
+			builder.append(source.peekCharacter(i));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String toString() {
+		return subSequence(0, length).toString();
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class JsonSources {
+
+	private JsonSources() {
+	}
+
+	static void copyNextString(JsonSource source, char[] buffer, int offset, int length) {
+		if (source instanceof BulkJsonSource) {
+			((BulkJsonSource) source).copyNextString(buffer, offset, length);
+		} else {
+			source.nextString(length).getChars(0, length, buffer, offset);
+		}
+	}
+
+	static void skipNextString(JsonSource source, int length) {
+		if (source instanceof BulkJsonSource) {
+			((BulkJsonSource) source).skipNextString(length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				source.nextCharacter();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link JsonStringCache} is a bounded cache for short string values that
+ * can be used by a {@link DefaultJsonPullParser} or a
+ * {@link DefaultJsonPushParser} to return the same {@link String} instance for
+ * repeated string values (e.g. country codes or status values).
+ * 
+ * <p>
+ * The cache is a fixed-size table that is indexed by the hash code of a
+ * string value, which is calculated directly from the characters of the
+ * underlying {@link JsonSource}. On a hit, the cached {@link String} is
+ * returned without creating a new {@link String}. On a miss, a new
+ * {@link String} is created and replaces the previous entry in that slot of
+ * the table. Only string values that are not longer than a configurable
+ * maximum length and that don't contain escape sequences are cached.
+ * 
+ * <p>
+ * A {@link JsonStringCache} may be used by multiple parsers, but it is not
+ * thread safe.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonStringCache {
+
+	private final int[] hashes;
+
+	private final String[] strings;
+
+	private final int mask;
+
+	private final int maximumLength;
+
+	private long hitCount;
+
+	private long missCount;
+
+	/**
+	 * Creates a new {@link JsonStringCache}.
+	 * 
+	 * @param capacity
+	 *            The amount of entries of the table. This is rounded up to the
+	 *            next power of two.
+	 * @param maximumLength
+	 *            The maximum length of string values to be cached.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given capacity is not positive or larger than
+	 *             {@code 2^30} or if the given maximum length is negative.
+	 */
+	public JsonStringCache(int capacity, int maximumLength) throws IllegalArgumentException {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("The given capacity is out of range: " + capacity);
+		}
+		if (maximumLength < 0) {
+			throw new IllegalArgumentException("The given maximum length is negative");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.hashes = new int[size];
+		this.strings = new String[size];
+		this.mask = size - 1;
+		this.maximumLength = maximumLength;
+	}
+
+	/**
+	 * Returns the cached {@link String} for the given value or caches and
+	 * returns a new {@link String}, if no such {@link String} is cached. Values
+	 * that are longer than the maximum length are not cached.
+	 * 
+	 * @param value
+	 *            The value to be looked up.
+	 * 
+	 * @return The {@link String} for the given value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 */
+	public String get(CharSequence value) throws IllegalArgumentException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		int length = value.length();
+		if (length > maximumLength) {
+			return value.toString();
+		}
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + value.charAt(i);
+		}
+		int index = (hash ^ (hash >>> 16)) & mask;
+		String string = strings[index];
+		if (null != string && hash == hashes[index] && matches(string, value, length)) {
+			hitCount++;
+			return string;
+		}
+		missCount++;
+		string = value.toString();
+		hashes[index] = hash;
+		strings[index] = string;
+		return string;
+	}
+
+	private static boolean matches(String string, CharSequence value, int length) {
+		if (string.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (string.charAt(i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	String nextString(JsonSource source, int length) {
+		if (length > maximumLength) {
+			return source.nextString(length);
+		}
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + source.peekCharacter(i);
+		}
+		int index = (hash ^ (hash >>> 16)) & mask;
+		String string = strings[index];
+		if (null != string && hash == hashes[index] && matches(string, source, length)) {
+			hitCount++;
+			for (int i = 0; i < length; i++) {
+				source.nextCharacter();
+			}
+			return string;
+		}
+		missCount++;
+		string = source.nextString(length);
+		hashes[index] = hash;
+		strings[index] = string;
+		return string;
+	}
+
+	private static boolean matches(String string, JsonSource source, int length) {
+		if (string.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (string.charAt(i) != source.peekCharacter(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the amount of entries of the table.
+	 * 
+	 * @return The amount of entries.
+	 */
+	public int getCapacity() {
+		return strings.length;
+	}
+
+	/**
+	 * Returns the maximum length of string values to be cached.
+	 * 
+	 * @return The maximum length.
+	 */
+	public int getMaximumLength() {
+		return maximumLength;
+	}
+
+	/**
+	 * Returns the amount of lookups that returned a cached {@link String}.
+	 * 
+	 * @return The amount of hits.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the amount of lookups that created a new {@link String}. Lookups
+	 * for values that are longer than the maximum length are not counted.
+	 * 
+	 * @return The amount of misses.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the ratio of hits to all counted lookups.
+	 * 
+	 * @return The hit rate, or {@code 0}, if no lookup has been counted yet.
+	 */
+	public double getHitRate() {
+		long lookupCount = hitCount + missCount;
+		return 0 == lookupCount ? 0 : (double) hitCount / lookupCount;
+	}
+
+	/**
+	 * Removes all cached {@link String Strings} and resets the statistics.
+	 */
+	public void clear() {
+		for (int i = 0; i < strings.length; i++) {
+			hashes[i] = 0;
+			strings[i] = null;
+		}
+		hitCount = 0;
+		missCount = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "JsonStringCache [capacity=" + strings.length + ", maximumLength=" + maximumLength + ", hitCount="
+				+ hitCount + ", missCount=" + missCount + "]";
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link JsonStringPool} is a thread-safe pool of strings that can be shared
+ * between multiple {@link JsonNodeHandler JsonNodeHandlers} in order to store
+ * recurring names of JSON objects only once.
+ * 
+ * <p>
+ * A {@link JsonStringPool} is bounded. Once the maximum size has been reached,
+ * strings that are not already pooled are no longer added to the pool, but
+ * returned as given.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonStringPool {
+
+	/**
+	 * The default maximum size.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 16 * 1024;
+
+	private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<String, String>();
+
+	private final int maximumSize;
+
+	/**
+	 * Creates a new {@link JsonStringPool} with the
+	 * {@link JsonStringPool#DEFAULT_MAXIMUM_SIZE default maximum size}.
+	 */
+	public JsonStringPool() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Creates a new {@link JsonStringPool}.
+	 * 
+	 * @param maximumSize
+	 *            The maximum amount of strings to be pooled.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given maximum size is negative.
+	 */
+	public JsonStringPool(int maximumSize) throws IllegalArgumentException {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The given maximum size is negative");
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns a pooled {@link String} that is equal to the given
+	 * {@link String}.
+	 * 
+	 * @param string
+	 *            The {@link String} to look up.
+	 * 
+	 * @return The pooled {@link String}, or the given {@link String}, if no
+	 *         equal {@link String} has been pooled yet and the maximum size of
+	 *         this {@link JsonStringPool} has been reached.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link String} is {@literal null}.
+	 */
+	public String pool(String string) throws IllegalArgumentException {
+		if (null == string) {
+			throw new IllegalArgumentException("The given string is null");
+		}
+		String pooled = strings.get(string);
+		if (null == pooled) {
+			if (strings.size() >= maximumSize) {
+				return string;
+			}
+			pooled = strings.putIfAbsent(string, string);
+			if (null == pooled) {
+				pooled = string;
+			}
+		}
+		return pooled;
+	}
+
+	/**
+	 * Returns the amount of pooled strings.
+	 * 
+	 * @return The amount of pooled strings.
+	 */
+	public int size() {
+		return strings.size();
+	}
+
+	@Override
+	public String toString() {
+		return "JsonStringPool [size=" + strings.size() + ", maximumSize=" + maximumSize + "]";
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+
+final class JsonStringSink {
+
+	private static final int SIZE = 1024;
+
+	private static final int CHARACTERS = 0;
+
+	private static final int BUILDER = 1;
+
+	private static final int WRITER = 2;
+
+	private static final int APPENDABLE = 3;
+
+	private static final int STREAM = 4;
+
+	private static final int CHANNEL = 5;
+
+	private final char[] characters = new char[SIZE];
+
+	private final CharBuffer characterSequence = CharBuffer.wrap(characters);
+
+	private byte[] bytes;
+
+	private ByteBuffer byteBuffer;
+
+	private int mode;
+
+	private CharBuffer charBuffer;
+
+	private StringBuilder builder;
+
+	private Writer writer;
+
+	private Appendable appendable;
+
+	private OutputStream stream;
+
+	private WritableByteChannel channel;
+
+	private int byteCount;
+
+	private int bytePosition;
+
+	private char highSurrogate;
+
+	void begin(CharBuffer buffer) {
+		this.mode = CHARACTERS;
+		this.charBuffer = buffer;
+	}
+
+	void begin(Appendable appendable) {
+		if (appendable instanceof StringBuilder) {
+			this.mode = BUILDER;
+			this.builder = (StringBuilder) appendable;
+		} else if (appendable instanceof Writer) {
+			this.mode = WRITER;
+			this.writer = (Writer) appendable;
+		} else {
+			this.mode = APPENDABLE;
+			this.appendable = appendable;
+		}
+	}
+
+	void begin(OutputStream stream) {
+		beginBytes(STREAM);
+		this.stream = stream;
+	}
+
+	void begin(WritableByteChannel channel) {
+		beginBytes(CHANNEL);
+		this.channel = channel;
+	}
+
+	private void beginBytes(int mode) {
+		if (null == bytes) {
+			bytes = new byte[3 * SIZE + 4];
+			byteBuffer = ByteBuffer.wrap(bytes);
+		}
+		this.mode = mode;
+		this.byteCount = 0;
+		this.bytePosition = 0;
+		this.highSurrogate = 0;
+	}
+
+	void write(JsonSource source, int length) throws IOException {
+		switch (mode) {
+		case CHARACTERS:
+			writeCharacters(source, length);
+			break;
+		case BUILDER:
+			source.appendNextString(builder, length);
+			break;
+		default:
+			while (0 != length) {
+				int chunk = Math.min(SIZE, length);
+				JsonSources.copyNextString(source, characters, 0, chunk);
+				writeChunk(chunk);
+				length -= chunk;
+			}
+		}
+	}
+
+	private void writeCharacters(JsonSource source, int length) {
+		if (charBuffer.remaining() < length) {
+			throw new BufferOverflowException();
+		} else if (charBuffer.hasArray()) {
+			int position = charBuffer.position();
+			JsonSources.copyNextString(source, charBuffer.array(), charBuffer.arrayOffset() + position, length);
+			charBuffer.position(position + length);
+		} else {
+			while (0 != length) {
+				int chunk = Math.min(SIZE, length);
+				JsonSources.copyNextString(source, characters, 0, chunk);
+				charBuffer.put(characters, 0, chunk);
+				length -= chunk;
+			}
+		}
+	}
+
+	void write(String string) throws IOException {
+		int length = string.length();
+		if (CHARACTERS == mode) {
+			if (charBuffer.remaining() < length) {
+				throw new BufferOverflowException();
+			}
+			charBuffer.put(string);
+		} else if (BUILDER == mode) {
+			builder.append(string);
+		} else {
+			for (int offset = 0; offset < length; offset += SIZE) {
+				int chunk = Math.min(SIZE, length - offset);
+				string.getChars(offset, offset + chunk, characters, 0);
+				writeChunk(chunk);
+			}
+		}
+	}
+
+	void write(char character) throws IOException {
+		switch (mode) {
+		case CHARACTERS:
+			charBuffer.put(character);
+			break;
+		case BUILDER:
+			builder.append(character);
+			break;
+		case WRITER:
+			writer.write(character);
+			break;
+		case APPENDABLE:
+			appendable.append(character);
+			break;
+		default:
+			characters[0] = character;
+			writeChunk(1);
+		}
+	}
+
+	private void writeChunk(int length) throws IOException {
+		switch (mode) {
+		case WRITER:
+			writer.write(characters, 0, length);
+			break;
+		case APPENDABLE:
+			appendable.append(characterSequence, 0, length);
+			break;
+		default:
+			encode(length);
+		}
+	}
+
+	private void encode(int length) throws IOException {
+		if (bytePosition + 3 * length + 4 > bytes.length) {
+			flush();
+		}
+		for (int i = 0; i < length; i++) {
+			char character = characters[i];
+			if (0 != highSurrogate) {
+				if (Character.isLowSurrogate(character)) {
+					int codePoint = Character.toCodePoint(highSurrogate, character);
+					bytes[bytePosition++] = (byte) (0xF0 | (codePoint >> 18));
+					bytes[bytePosition++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					bytes[bytePosition++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					bytes[bytePosition++] = (byte) (0x80 | (codePoint & 0x3F));
+					highSurrogate = 0;
+					continue;
+				}
+				bytes[bytePosition++] = '?';
+				highSurrogate = 0;
+			}
+			if (character < 0x80) {
+				bytes[bytePosition++] = (byte) character;
+			} else if (character < 0x800) {
+				bytes[bytePosition++] = (byte) (0xC0 | (character >> 6));
+				bytes[bytePosition++] = (byte) (0x80 | (character & 0x3F));
+			} else if (Character.isHighSurrogate(character)) {
+				highSurrogate = character;
+			} else if (Character.isLowSurrogate(character)) {
+				bytes[bytePosition++] = '?';
+			} else {
+				bytes[bytePosition++] = (byte) (0xE0 | (character >> 12));
+				bytes[bytePosition++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+				bytes[bytePosition++] = (byte) (0x80 | (character & 0x3F));
+			}
+		}
+	}
+
+	private void flush() throws IOException {
+		if (STREAM == mode) {
+			stream.write(bytes, 0, bytePosition);
+		} else {
+			byteBuffer.clear();
+			byteBuffer.limit(bytePosition);
+			while (byteBuffer.hasRemaining()) {
+				channel.write(byteBuffer);
+			}
+		}
+		byteCount += bytePosition;
+		bytePosition = 0;
+	}
+
+	int end() throws IOException {
+		try {
+			if (STREAM == mode || CHANNEL == mode) {
+				if (0 != highSurrogate) {
+					bytes[bytePosition++] = '?';
+					highSurrogate = 0;
+				}
+				flush();
+				return byteCount;
+			}
+			return 0;
+		} finally {
+			charBuffer = null;
+			builder = null;
+			writer = null;
+			appendable = null;
+			stream = null;
+			channel = null;
+		}
+	}
+
+}
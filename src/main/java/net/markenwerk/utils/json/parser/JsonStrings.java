@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.UUID;
+
+import net.markenwerk.utils.json.common.JsonValueException;
+
+/**
+ * {@link JsonStrings} provides methods to convert string values into other
+ * types without creating intermediate objects. All methods take a
+ * {@link CharSequence} and can therefore also be used with the transient
+ * values that are reported to a {@link CharSequenceJsonHandler}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class JsonStrings {
+
+	private static final long MILLIS_PER_SECOND = 1000L;
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private static final int SECONDS_PER_DAY = 86400;
+
+	private JsonStrings() {
+	}
+
+	/**
+	 * Converts the given number into a {@code long} value. The same forms as
+	 * for JSON integers are accepted.
+	 * 
+	 * @param value
+	 *            The number to be converted.
+	 * 
+	 * @return The {@code long} value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the given value is not an integer or if the integer can't
+	 *             be represented as a {@code long}.
+	 */
+	public static long toLong(CharSequence value) throws IllegalArgumentException, JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		try {
+			return NumberDecoder.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new JsonValueException("Value is not an integer: " + value);
+		}
+	}
+
+	/**
+	 * Converts the given number into a {@code double} value. The same forms as
+	 * for JSON reals and JSON integers are accepted.
+	 * 
+	 * @param value
+	 *            The number to be converted.
+	 * 
+	 * @return The {@code double} value.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the given value is not a number.
+	 */
+	public static double toDouble(CharSequence value) throws IllegalArgumentException, JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		try {
+			return NumberDecoder.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new JsonValueException("Value is not a number: " + value);
+		}
+	}
+
+	/**
+	 * Converts the given RFC 3339 timestamp (e.g.
+	 * {@code 2016-05-23T12:34:56.789Z}) into the amount of milliseconds since
+	 * the epoch.
+	 * 
+	 * <p>
+	 * Besides the forms allowed by RFC 3339, the separators {@code 't'} and
+	 * {@code ' '}, a missing amount of seconds, a {@code ','} as the decimal
+	 * separator, offsets without a colon or without minutes, dates without a
+	 * time (which denote midnight in UTC) and years with more than four digits
+	 * and an optional sign are accepted. Digits of the fraction of a second
+	 * beyond the supported precision are ignored.
+	 * 
+	 * @param value
+	 *            The timestamp to be converted.
+	 * 
+	 * @return The amount of milliseconds since the epoch.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the given value is not a timestamp or if the timestamp
+	 *             can't be represented as a {@code long}.
+	 */
+	public static long toEpochMillis(CharSequence value) throws IllegalArgumentException, JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		return toEpochValue(value, MILLIS_PER_SECOND);
+	}
+
+	/**
+	 * Converts the given RFC 3339 timestamp (e.g.
+	 * {@code 2016-05-23T12:34:56.789012345Z}) into the amount of nanoseconds
+	 * since the epoch. This is only possible for timestamps between the years
+	 * 1677 and 2262.
+	 * 
+	 * <p>
+	 * The same forms as for {@link JsonStrings#toEpochMillis(CharSequence)}
+	 * are accepted.
+	 * 
+	 * @param value
+	 *            The timestamp to be converted.
+	 * 
+	 * @return The amount of nanoseconds since the epoch.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the given value is not a timestamp or if the timestamp
+	 *             can't be represented as a {@code long}.
+	 */
+	public static long toEpochNanos(CharSequence value) throws IllegalArgumentException, JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		return toEpochValue(value, NANOS_PER_SECOND);
+	}
+
+	/**
+	 * Converts the given UUID in its canonical form (e.g.
+	 * {@code 123e4567-e89b-12d3-a456-426655440000}) into a {@link UUID}. Upper
+	 * and lower case hexadecimal digits are accepted.
+	 * 
+	 * @param value
+	 *            The UUID to be converted.
+	 * 
+	 * @return The {@link UUID}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 * @throws JsonValueException
+	 *             If the given value is not a UUID in its canonical form.
+	 */
+	public static UUID toUuid(CharSequence value) throws IllegalArgumentException, JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		if (36 != value.length() || '-' != value.charAt(8) || '-' != value.charAt(13) || '-' != value.charAt(18)
+				|| '-' != value.charAt(23)) {
+			throw invalidUuid(value);
+		}
+		long mostSignificantBits = readHex(value, 0, 8);
+		mostSignificantBits = (mostSignificantBits << 16) | readHex(value, 9, 13);
+		mostSignificantBits = (mostSignificantBits << 16) | readHex(value, 14, 18);
+		long leastSignificantBits = readHex(value, 19, 23);
+		leastSignificantBits = (leastSignificantBits << 48) | readHex(value, 24, 36);
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	private static long readHex(CharSequence value, int start, int end) throws JsonValueException {
+		long result = 0;
+		for (int i = start; i < end; i++) {
+			char character = value.charAt(i);
+			int digit;
+			if (character >= '0' && character <= '9') {
+				digit = character - '0';
+			} else if (character >= 'a' && character <= 'f') {
+				digit = character - 'a' + 10;
+			} else if (character >= 'A' && character <= 'F') {
+				digit = character - 'A' + 10;
+			} else {
+				throw invalidUuid(value);
+			}
+			result = (result << 4) | digit;
+		}
+		return result;
+	}
+
+	/**
+	 * Converts the given name of an enum constant into the corresponding enum
+	 * constant of the given enum type. The name is matched against the names
+	 * of all enum constants without creating a {@link String}.
+	 * 
+	 * @param value
+	 *            The name to be converted.
+	 * @param type
+	 *            The enum type.
+	 * @param <E>
+	 *            The enum type.
+	 * 
+	 * @return The enum constant.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value or the given type is {@literal null} or
+	 *             if the given type is not an enum type.
+	 * @throws JsonValueException
+	 *             If the given value is not the name of an enum constant of
+	 *             the given enum type.
+	 */
+	public static <E extends Enum<E>> E toEnum(CharSequence value, Class<E> type) throws IllegalArgumentException,
+			JsonValueException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		if (null == type) {
+			throw new IllegalArgumentException("The given type is null");
+		}
+		return new EnumMatcher<E>(type).match(value);
+	}
+
+	private static long toEpochValue(CharSequence value, long unitsPerSecond) throws JsonValueException {
+		int length = value.length();
+		int position = 0;
+		boolean negative = false;
+		if (0 != length && ('+' == value.charAt(0) || '-' == value.charAt(0))) {
+			negative = '-' == value.charAt(0);
+			position++;
+		}
+		int yearStart = position;
+		long year = 0;
+		while (position < length && isDigit(value.charAt(position)) && position - yearStart < 9) {
+			year = year * 10 + (value.charAt(position++) - '0');
+		}
+		if (position - yearStart < 4) {
+			throw invalidTimestamp(value);
+		}
+		year = negative ? -year : year;
+		position = expect(value, position, '-');
+		int month = readTwoDigits(value, position);
+		position = expect(value, position + 2, '-');
+		int day = readTwoDigits(value, position);
+		position += 2;
+		if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+			throw invalidTimestamp(value);
+		}
+		long seconds = toEpochDay(year, month, day) * SECONDS_PER_DAY;
+		long nanos = 0;
+		if (position != length) {
+			char separator = value.charAt(position++);
+			if ('T' != separator && 't' != separator && ' ' != separator) {
+				throw invalidTimestamp(value);
+			}
+			int hour = readTwoDigits(value, position);
+			position = expect(value, position + 2, ':');
+			int minute = readTwoDigits(value, position);
+			position += 2;
+			int second = 0;
+			if (position < length && ':' == value.charAt(position)) {
+				second = readTwoDigits(value, position + 1);
+				position += 3;
+			}
+			if (hour > 23 || minute > 59 || second > 60) {
+				throw invalidTimestamp(value);
+			}
+			if (position < length && ('.' == value.charAt(position) || ',' == value.charAt(position))) {
+				int fractionStart = ++position;
+				long scale = NANOS_PER_SECOND;
+				while (position < length && isDigit(value.charAt(position))) {
+					if (1 != scale) {
+						scale /= 10;
+						nanos += (value.charAt(position) - '0') * scale;
+					}
+					position++;
+				}
+				if (fractionStart == position) {
+					throw invalidTimestamp(value);
+				}
+			}
+			seconds += hour * 3600 + minute * 60 + second - readOffset(value, position);
+		}
+		if (seconds >= Long.MAX_VALUE / unitsPerSecond || seconds <= Long.MIN_VALUE / unitsPerSecond) {
+			throw new JsonValueException("Value is out of range: " + value);
+		}
+		return seconds * unitsPerSecond + nanos / (NANOS_PER_SECOND / unitsPerSecond);
+	}
+
+	private static int readOffset(CharSequence value, int position) throws JsonValueException {
+		int length = value.length();
+		if (position == length) {
+			throw invalidTimestamp(value);
+		}
+		char sign = value.charAt(position++);
+		if ('Z' == sign || 'z' == sign) {
+			if (position != length) {
+				throw invalidTimestamp(value);
+			}
+			return 0;
+		} else if ('+' != sign && '-' != sign) {
+			throw invalidTimestamp(value);
+		}
+		int hours = readTwoDigits(value, position);
+		int minutes = 0;
+		position += 2;
+		if (position != length) {
+			if (':' == value.charAt(position)) {
+				position++;
+			}
+			minutes = readTwoDigits(value, position);
+			position += 2;
+		}
+		if (position != length || hours > 23 || minutes > 59) {
+			throw invalidTimestamp(value);
+		}
+		int offset = hours * 3600 + minutes * 60;
+		return '-' == sign ? -offset : offset;
+	}
+
+	private static int expect(CharSequence value, int position, char character) throws JsonValueException {
+		if (position >= value.length() || character != value.charAt(position)) {
+			throw invalidTimestamp(value);
+		}
+		return position + 1;
+	}
+
+	private static int readTwoDigits(CharSequence value, int position) throws JsonValueException {
+		if (position + 1 >= value.length()) {
+			throw invalidTimestamp(value);
+		}
+		char first = value.charAt(position);
+		char second = value.charAt(position + 1);
+		if (!isDigit(first) || !isDigit(second)) {
+			throw invalidTimestamp(value);
+		}
+		return (first - '0') * 10 + (second - '0');
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
+	}
+
+	private static boolean isLeapYear(long year) {
+		return 0 == (year & 3) && (0 != year % 100 || 0 == year % 400);
+	}
+
+	private static int lengthOfMonth(long year, int month) {
+		switch (month) {
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	private static long toEpochDay(long year, int month, int day) {
+		if (month <= 2) {
+			year--;
+		}
+		long era = (year >= 0 ? year : year - 399) / 400;
+		long yearOfEra = year - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	private static JsonValueException invalidUuid(CharSequence value) {
+		return new JsonValueException("Value is not a UUID: " + value);
+	}
+
+	private static JsonValueException invalidTimestamp(CharSequence value) {
+		return new JsonValueException("Value is not a timestamp: " + value);
+	}
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link LazyJsonDocument} is an on-demand view of a JSON document that is
+ * held in memory. Unlike a {@link JsonPullParser} or a {@link JsonPushParser},
+ * a {@link LazyJsonDocument} doesn't process the whole JSON document upfront.
+ * Values are only located when they are {@link LazyJsonValue#get(String)
+ * accessed} and only decoded when they are materialized. JSON arrays and JSON
+ * objects that are not accessed are skipped by a raw scan that only keeps track
+ * of brackets and strings.
+ * 
+ * <p>
+ * Because of this, a {@link LazyJsonDocument} only detects syntax errors in
+ * those parts of the JSON document that are accessed.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class LazyJsonDocument {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final char[] characters;
+
+	private final int end;
+
+	private final LazyJsonValue root;
+
+	/**
+	 * Creates a new {@link LazyJsonDocument}.
+	 * 
+	 * @param string
+	 *            The {@link String} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link String} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the given {@link String} doesn't contain exactly one JSON
+	 *             value.
+	 */
+	public LazyJsonDocument(String string) throws IllegalArgumentException, JsonSyntaxException {
+		if (null == string) {
+			throw new IllegalArgumentException("The given string is null");
+		}
+		this.characters = string.toCharArray();
+		this.end = characters.length;
+		this.root = createRoot();
+	}
+
+	/**
+	 * Creates a new {@link LazyJsonDocument}.
+	 * 
+	 * @param characters
+	 *            The {@code char[]} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@code char[]} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the given {@code char[]} doesn't contain exactly one JSON
+	 *             value.
+	 */
+	public LazyJsonDocument(char[] characters) throws IllegalArgumentException, JsonSyntaxException {
+		if (null == characters) {
+			throw new IllegalArgumentException("The given character array is null");
+		}
+		this.characters = characters;
+		this.end = characters.length;
+		this.root = createRoot();
+	}
+
+	/**
+	 * Creates a new {@link LazyJsonDocument} for the remaining content of the
+	 * given {@link ByteBuffer}, which must be UTF-8 encoded. The content is
+	 * decoded at once, the position of the given {@link ByteBuffer} is not
+	 * changed.
+	 * 
+	 * @param buffer
+	 *            The {@link ByteBuffer} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link ByteBuffer} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If the given {@link ByteBuffer} doesn't contain exactly one
+	 *             JSON value.
+	 */
+	public LazyJsonDocument(ByteBuffer buffer) throws IllegalArgumentException, JsonSyntaxException {
+		if (null == buffer) {
+			throw new IllegalArgumentException("The given buffer is null");
+		}
+		CharBuffer decoded = decode(buffer);
+		this.characters = decoded.array();
+		this.end = decoded.arrayOffset() + decoded.limit();
+		this.root = createRoot();
+	}
+
+	private static CharBuffer decode(ByteBuffer buffer) {
+		try {
+			return UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE).decode(buffer.duplicate());
+		} catch (CharacterCodingException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private LazyJsonValue createRoot() throws JsonSyntaxException {
+		int start = 0;
+		if (0 != end && JsonSource.BYTE_ORDER_MARK == characters[0]) {
+			start++;
+		}
+		start = skipWhitespace(start);
+		if (start == end) {
+			throw syntaxError(JsonSyntaxError.INVALID_DOCUMENT_START, start);
+		}
+		int valueEnd = skipValue(start, JsonSyntaxError.INVALID_DOCUMENT_START);
+		if (end != skipWhitespace(valueEnd)) {
+			throw syntaxError(JsonSyntaxError.INVALID_DOCUMENT_END, valueEnd);
+		}
+		return new LazyJsonValue(this, start, valueEnd);
+	}
+
+	/**
+	 * Returns the root value of this {@link LazyJsonDocument}.
+	 * 
+	 * @return The root value.
+	 */
+	public LazyJsonValue getRoot() {
+		return root;
+	}
+
+	char getCharacter(int position) {
+		return characters[position];
+	}
+
+	String getText(int start, int end) {
+		return new String(characters, start, end - start);
+	}
+
+	DefaultJsonPullParser createPullParser(int start, int end) {
+		return new DefaultJsonPullParser(new CharacterArrayJsonSource(characters, start, end - start));
+	}
+
+	DefaultJsonPushParser createPushParser(int start, int end) {
+		return new DefaultJsonPushParser(new CharacterArrayJsonSource(characters, start, end - start));
+	}
+
+	int skipWhitespace(int position) {
+		while (position < end) {
+			char character = characters[position];
+			if (' ' != character && '\t' != character && '\n' != character && '\r' != character) {
+				break;
+			}
+			position++;
+		}
+		return position;
+	}
+
+	int skipValue(int position, JsonSyntaxError error) throws JsonSyntaxException {
+		if (position == end) {
+			throw syntaxError(error, position);
+		}
+		switch (characters[position]) {
+		case '"':
+			return skipString(position + 1);
+		case '[':
+			return skipStructure(position, JsonSyntaxError.INVALID_ARRAY_FOLLOW);
+		case '{':
+			return skipStructure(position, JsonSyntaxError.INVALID_OBJECT_FOLLOW);
+		default:
+			return skipLiteral(position, error);
+		}
+	}
+
+	int skipString(int position) throws JsonSyntaxException {
+		while (position < end) {
+			char character = characters[position++];
+			if ('"' == character) {
+				return position;
+			} else if ('\\' == character) {
+				position++;
+			}
+		}
+		throw syntaxError(JsonSyntaxError.UNTERMINATED_STRING, end);
+	}
+
+	private int skipStructure(int position, JsonSyntaxError error) throws JsonSyntaxException {
+		int depth = 0;
+		while (position < end) {
+			char character = characters[position++];
+			if ('"' == character) {
+				position = skipString(position);
+			} else if ('[' == character || '{' == character) {
+				depth++;
+			} else if (']' == character || '}' == character) {
+				if (0 == --depth) {
+					return position;
+				}
+			}
+		}
+		throw syntaxError(error, end);
+	}
+
+	private int skipLiteral(int position, JsonSyntaxError error) throws JsonSyntaxException {
+		int start = position;
+		loop: while (position < end) {
+			switch (characters[position]) {
+			case ']':
+			case '}':
+			case ',':
+			case ':':
+			case ' ':
+			case '\b':
+			case '\f':
+			case '\n':
+			case '\r':
+			case '\t':
+				break loop;
+			default:
+				position++;
+			}
+		}
+		if (start == position) {
+			throw syntaxError(error, position);
+		}
+		return position;
+	}
+
+	JsonSyntaxException syntaxError(JsonSyntaxError error, int position) {
+		int line = 1;
+		int lastNewLinePosition = 0;
+		for (int i = 0; i < position; i++) {
+			if ('\n' == characters[i]) {
+				line++;
+				lastNewLinePosition = i + 1;
+			}
+		}
+		int pastStart = Math.max(0, position - 15);
+		int futureEnd = Math.min(end, position + 15);
+		return new JsonSyntaxException(error, line, position - lastNewLinePosition + 1, getText(pastStart, position),
+				getText(position, futureEnd));
+	}
+
+	@Override
+	public String toString() {
+		return "LazyJsonDocument [root=" + root + "]";
+	}
+
+}
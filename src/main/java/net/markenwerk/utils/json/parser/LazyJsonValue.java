@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link LazyJsonValue} is a cursor on a single JSON value inside of a
+ * {@link LazyJsonDocument}.
+ * 
+ * <p>
+ * Lookups in a JSON object {@link LazyJsonValue#get(String) by name} or in a
+ * JSON array {@link LazyJsonValue#get(int) by index} continue to scan forward
+ * from the position of the last match, such that accessing entries in document
+ * order only scans the JSON object or JSON array once.
+ * 
+ * <p>
+ * A {@link LazyJsonValue} is not thread safe.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class LazyJsonValue {
+
+	private final LazyJsonDocument document;
+
+	private final int start;
+
+	private final int end;
+
+	private int cursor;
+
+	private int cursorIndex;
+
+	private JsonState state;
+
+	LazyJsonValue(LazyJsonDocument document, int start, int end) {
+		this.document = document;
+		this.start = start;
+		this.end = end;
+		this.cursor = start + 1;
+	}
+
+	/**
+	 * Returns the {@link JsonState} that describes the type of this
+	 * {@link LazyJsonValue}. This is one of {@link JsonState#ARRAY_BEGIN},
+	 * {@link JsonState#OBJECT_BEGIN}, {@link JsonState#NULL},
+	 * {@link JsonState#BOOLEAN}, {@link JsonState#LONG},
+	 * {@link JsonState#DOUBLE} or {@link JsonState#STRING}.
+	 * 
+	 * @return The {@link JsonState}.
+	 * 
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} is an invalid literal.
+	 */
+	public JsonState getState() throws JsonSyntaxException {
+		if (null == state) {
+			switch (document.getCharacter(start)) {
+			case '[':
+				state = JsonState.ARRAY_BEGIN;
+				break;
+			case '{':
+				state = JsonState.OBJECT_BEGIN;
+				break;
+			case '"':
+				state = JsonState.STRING;
+				break;
+			default:
+				try {
+					DefaultJsonPullParser parser = createPullParser();
+					parser.beginDocument();
+					state = parser.currentState();
+				} catch (IOException e) {
+					throw new AssertionError(e);
+				}
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Returns whether this {@link LazyJsonValue} is a JSON null.
+	 * 
+	 * @return Whether this {@link LazyJsonValue} is a JSON null.
+	 * 
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} is an invalid literal.
+	 */
+	public boolean isNull() throws JsonSyntaxException {
+		return JsonState.NULL == getState();
+	}
+
+	/**
+	 * Returns the value of this {@link LazyJsonValue} as a {@code boolean}.
+	 * 
+	 * @return The {@code boolean} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is not a JSON boolean.
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} is an invalid literal.
+	 */
+	public boolean getBoolean() throws IllegalStateException, JsonSyntaxException {
+		try {
+			DefaultJsonPullParser parser = createPullParser();
+			parser.beginDocument();
+			return parser.nextBoolean();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the value of this {@link LazyJsonValue} as a {@code long}.
+	 * 
+	 * @return The {@code long} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is not a JSON integer.
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} is an invalid literal.
+	 */
+	public long getLong() throws IllegalStateException, JsonSyntaxException {
+		try {
+			DefaultJsonPullParser parser = createPullParser();
+			parser.beginDocument();
+			return parser.nextLong();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the value of this {@link LazyJsonValue} as a {@code double}.
+	 * JSON integers are converted.
+	 * 
+	 * @return The {@code double} value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is neither a JSON real nor a
+	 *             JSON integer.
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} is an invalid literal.
+	 */
+	public double getDouble() throws IllegalStateException, JsonSyntaxException {
+		try {
+			DefaultJsonPullParser parser = createPullParser();
+			parser.beginDocument();
+			if (JsonState.LONG == parser.currentState()) {
+				return parser.nextLong();
+			} else {
+				return parser.nextDouble();
+			}
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the value of this {@link LazyJsonValue} as a {@link String}.
+	 * 
+	 * @return The string value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is not a JSON string.
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} contains a syntax error.
+	 */
+	public String getString() throws IllegalStateException, JsonSyntaxException {
+		try {
+			DefaultJsonPullParser parser = createPullParser();
+			parser.beginDocument();
+			return parser.nextString();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the value with the given name from this {@link LazyJsonValue},
+	 * which must be a JSON object. The search begins after the last value that
+	 * has been returned by this method and continues from the beginning of the
+	 * JSON object, if necessary.
+	 * 
+	 * @param name
+	 *            The name to look for.
+	 * 
+	 * @return The {@link LazyJsonValue} for the given name, or {@literal null},
+	 *         if the JSON object has no value with the given name.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given name is {@literal null}.
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is not a JSON object.
+	 * @throws JsonSyntaxException
+	 *             If the scanned part of the JSON object contains a syntax
+	 *             error.
+	 */
+	public LazyJsonValue get(String name) throws IllegalArgumentException, IllegalStateException,
+			JsonSyntaxException {
+		if (null == name) {
+			throw new IllegalArgumentException("The given name is null");
+		}
+		ensureState(JsonState.OBJECT_BEGIN);
+		int previousCursor = cursor;
+		LazyJsonValue value = findMember(name, previousCursor, end);
+		if (null == value && start + 1 != previousCursor) {
+			value = findMember(name, start + 1, previousCursor);
+		}
+		return value;
+	}
+
+	private LazyJsonValue findMember(String name, int position, int limit) throws JsonSyntaxException {
+		while (position < limit) {
+			position = nextName(position);
+			if (-1 == position) {
+				return null;
+			}
+			int nameStart = position + 1;
+			int nameEnd = document.skipString(nameStart) - 1;
+			position = document.skipWhitespace(nameEnd + 1);
+			if (':' != document.getCharacter(position)) {
+				throw document.syntaxError(JsonSyntaxError.INVALID_OBJECT_SEPARATION, position);
+			}
+			int valueStart = document.skipWhitespace(position + 1);
+			position = document.skipValue(valueStart, JsonSyntaxError.INVALID_OBJECT_VALUE);
+			if (nameEquals(name, nameStart, nameEnd)) {
+				cursor = position;
+				return new LazyJsonValue(document, valueStart, position);
+			}
+		}
+		return null;
+	}
+
+	private int nextName(int position) throws JsonSyntaxException {
+		boolean first = start + 1 == position;
+		position = document.skipWhitespace(position);
+		char character = document.getCharacter(position);
+		if ('}' == character) {
+			return -1;
+		} else if (first) {
+			if ('"' != character) {
+				throw document.syntaxError(JsonSyntaxError.INVALID_OBJECT_FIRST, position);
+			}
+		} else if (',' == character) {
+			position = document.skipWhitespace(position + 1);
+			if ('"' != document.getCharacter(position)) {
+				throw document.syntaxError(JsonSyntaxError.INVALID_OBJECT_NAME, position);
+			}
+		} else {
+			throw document.syntaxError(JsonSyntaxError.INVALID_OBJECT_FOLLOW, position);
+		}
+		return position;
+	}
+
+	private int nextElement(int position) throws JsonSyntaxException {
+		boolean first = start + 1 == position;
+		position = document.skipWhitespace(position);
+		char character = document.getCharacter(position);
+		if (']' == character) {
+			return -1;
+		} else if (!first) {
+			if (',' != character) {
+				throw document.syntaxError(JsonSyntaxError.INVALID_ARRAY_FOLLOW, position);
+			}
+			position = document.skipWhitespace(position + 1);
+		}
+		return position;
+	}
+
+	private boolean nameEquals(String name, int nameStart, int nameEnd) throws JsonSyntaxException {
+		for (int i = nameStart; i < nameEnd; i++) {
+			if ('\\' == document.getCharacter(i)) {
+				return name.equals(new LazyJsonValue(document, nameStart - 1, nameEnd + 1).getString());
+			}
+		}
+		if (name.length() != nameEnd - nameStart) {
+			return false;
+		}
+		for (int i = 0, n = name.length(); i < n; i++) {
+			if (name.charAt(i) != document.getCharacter(nameStart + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the value with the given index from this {@link LazyJsonValue},
+	 * which must be a JSON array. The search begins after the last value that
+	 * has been returned by this method, if the given index is not smaller than
+	 * the index of that value, or at the beginning of the JSON array,
+	 * otherwise.
+	 * 
+	 * @param index
+	 *            The index to look for.
+	 * 
+	 * @return The {@link LazyJsonValue} for the given index, or
+	 *         {@literal null}, if the JSON array has no value with the given
+	 *         index.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is not a JSON array.
+	 * @throws JsonSyntaxException
+	 *             If the scanned part of the JSON array contains a syntax
+	 *             error.
+	 */
+	public LazyJsonValue get(int index) throws IllegalStateException, JsonSyntaxException {
+		ensureState(JsonState.ARRAY_BEGIN);
+		if (index < 0) {
+			return null;
+		} else if (index < cursorIndex) {
+			cursor = start + 1;
+			cursorIndex = 0;
+		}
+		while (true) {
+			int valueStart = nextElement(cursor);
+			if (-1 == valueStart) {
+				return null;
+			}
+			cursor = document.skipValue(valueStart, JsonSyntaxError.INVALID_ARRAY_VALUE);
+			if (index == cursorIndex++) {
+				return new LazyJsonValue(document, valueStart, cursor);
+			}
+		}
+	}
+
+	/**
+	 * Returns the amount of values in this {@link LazyJsonValue}, which must be
+	 * a JSON array or a JSON object. This scans the whole JSON array or JSON
+	 * object.
+	 * 
+	 * @return The amount of values.
+	 * 
+	 * @throws IllegalStateException
+	 *             If this {@link LazyJsonValue} is neither a JSON array nor a
+	 *             JSON object.
+	 * @throws JsonSyntaxException
+	 *             If the JSON array or JSON object contains a syntax error.
+	 */
+	public int size() throws IllegalStateException, JsonSyntaxException {
+		JsonState state = getState();
+		int size = 0;
+		int position = start + 1;
+		if (JsonState.OBJECT_BEGIN == state) {
+			while (-1 != (position = nextName(position))) {
+				position = document.skipWhitespace(document.skipString(position + 1));
+				if (':' != document.getCharacter(position)) {
+					throw document.syntaxError(JsonSyntaxError.INVALID_OBJECT_SEPARATION, position);
+				}
+				position = document.skipValue(document.skipWhitespace(position + 1),
+						JsonSyntaxError.INVALID_OBJECT_VALUE);
+				size++;
+			}
+		} else if (JsonState.ARRAY_BEGIN == state) {
+			while (-1 != (position = nextElement(position))) {
+				position = document.skipValue(position, JsonSyntaxError.INVALID_ARRAY_VALUE);
+				size++;
+			}
+		} else {
+			throw new IllegalStateException("Value is " + state + " (expected " + JsonState.ARRAY_BEGIN + " or "
+					+ JsonState.OBJECT_BEGIN + ")");
+		}
+		return size;
+	}
+
+	/**
+	 * Creates a new {@link JsonPullParser} that processes this
+	 * {@link LazyJsonValue} as a JSON document.
+	 * 
+	 * @return The new {@link JsonPullParser}.
+	 */
+	public JsonPullParser pullParser() {
+		return createPullParser();
+	}
+
+	/**
+	 * Processes this {@link LazyJsonValue} as a JSON document and reports the
+	 * appropriate events to the given {@link JsonHandler}.
+	 * 
+	 * @param <Result>
+	 *            The result type of the {@link JsonHandler}.
+	 * 
+	 * @param handler
+	 *            The {@link JsonHandler} to report to.
+	 * 
+	 * @return The result that has been calculated by the given
+	 *         {@link JsonHandler}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonHandler} is {@literal null}.
+	 * @throws JsonSyntaxException
+	 *             If this {@link LazyJsonValue} contains a syntax error.
+	 * @throws JsonException
+	 *             If the given {@link JsonHandler} failed while handling an
+	 *             event.
+	 */
+	public <Result> Result handle(JsonHandler<Result> handler) throws IllegalArgumentException,
+			JsonSyntaxException, JsonException {
+		try {
+			return document.createPushParser(start, end).handle(handler);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the unprocessed JSON text of this {@link LazyJsonValue}.
+	 * 
+	 * @return The JSON text.
+	 */
+	public String getText() {
+		return document.getText(start, end);
+	}
+
+	private DefaultJsonPullParser createPullParser() {
+		return document.createPullParser(start, end);
+	}
+
+	private void ensureState(JsonState expected) throws IllegalStateException, JsonSyntaxException {
+		JsonState state = getState();
+		if (expected != state) {
+			throw new IllegalStateException("Value is " + state + " (expected " + expected + ")");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LazyJsonValue [text='" + document.getText(start, Math.min(end, start + 30)) + "']";
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class LiteralJsonNode extends JsonNode {
+
+	static final LiteralJsonNode NULL = new LiteralJsonNode(JsonState.NULL, false, "null");
+
+	static final LiteralJsonNode FALSE = new LiteralJsonNode(JsonState.BOOLEAN, false, "false");
+
+	static final LiteralJsonNode TRUE = new LiteralJsonNode(JsonState.BOOLEAN, true, "true");
+
+	private final JsonState state;
+
+	private final boolean value;
+
+	private final String text;
+
+	private LiteralJsonNode(JsonState state, boolean value, String text) {
+		this.state = state;
+		this.value = value;
+		this.text = text;
+	}
+
+	static LiteralJsonNode valueOf(boolean value) {
+		return value ? TRUE : FALSE;
+	}
+
+	@Override
+	public JsonState getState() {
+		return state;
+	}
+
+	@Override
+	public boolean isNull() {
+		return JsonState.NULL == state;
+	}
+
+	@Override
+	public boolean getBoolean() {
+		if (JsonState.BOOLEAN != state) {
+			throw unexpectedState(JsonState.BOOLEAN);
+		}
+		return value;
+	}
+
+	@Override
+	void appendTo(StringBuilder builder) {
+		builder.append(text);
+	}
+
+}
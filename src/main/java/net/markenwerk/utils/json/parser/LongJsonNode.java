@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class LongJsonNode extends JsonNode {
+
+	private static final LongJsonNode[] CACHE = new LongJsonNode[256];
+
+	static {
+		for (int i = 0; i < CACHE.length; i++) {
+			CACHE[i] = new LongJsonNode(i - 128);
+		}
+	}
+
+	private final long value;
+
+	private LongJsonNode(long value) {
+		this.value = value;
+	}
+
+	static LongJsonNode valueOf(long value) {
+		if (value >= -128 && value <= 127) {
+			return CACHE[(int) value + 128];
+		} else {
+			return new LongJsonNode(value);
+		}
+	}
+
+	@Override
+	public JsonState getState() {
+		return JsonState.LONG;
+	}
+
+	@Override
+	public long getLong() {
+		return value;
+	}
+
+	@Override
+	public double getDouble() {
+		return value;
+	}
+
+	@Override
+	void appendTo(StringBuilder builder) {
+		builder.append(value);
+	}
+
+}
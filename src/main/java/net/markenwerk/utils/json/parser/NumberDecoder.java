@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class NumberDecoder {
+
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private NumberDecoder() {
+	}
+
+	/**
+	 * Returns whether the given literal is certainly not a {@code long} value,
+	 * because it contains a fraction or an exponent.
+	 */
+	static boolean isReal(CharSequence literal) {
+		for (int i = 0, n = literal.length(); i < n; i++) {
+			char character = literal.charAt(i);
+			if ('.' == character || 'e' == character || 'E' == character) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decodes a {@code long} value with the same semantics as
+	 * {@link Long#parseLong(String)}.
+	 */
+	static long parseLong(CharSequence literal) throws NumberFormatException {
+		int length = literal.length();
+		int index = 0;
+		boolean negative = false;
+		if (0 != length && '-' == literal.charAt(0)) {
+			negative = true;
+			index++;
+		}
+		if (index == length || length - index > 18) {
+			return Long.parseLong(literal.toString());
+		}
+		long value = 0;
+		for (; index < length; index++) {
+			char character = literal.charAt(index);
+			if (character < '0' || character > '9') {
+				return Long.parseLong(literal.toString());
+			}
+			value = value * 10 + (character - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Decodes a {@code double} value with the same semantics as
+	 * {@link Double#parseDouble(String)}. Values with at most 15 significant
+	 * digits and a small decimal exponent are decoded exactly, without
+	 * creating a {@link String}.
+	 */
+	static double parseDouble(CharSequence literal) throws NumberFormatException {
+		int length = literal.length();
+		int index = 0;
+		boolean negative = false;
+		if (0 != length && '-' == literal.charAt(0)) {
+			negative = true;
+			index++;
+		}
+		long mantissa = 0;
+		int significantDigits = 0;
+		int integerDigits = 0;
+		while (index < length && isDigit(literal.charAt(index))) {
+			mantissa = mantissa * 10 + (literal.charAt(index++) - '0');
+			if (0 != mantissa) {
+				significantDigits++;
+			}
+			integerDigits++;
+		}
+		if (0 == integerDigits) {
+			return Double.parseDouble(literal.toString());
+		}
+		int exponent = 0;
+		if (index < length && '.' == literal.charAt(index)) {
+			index++;
+			int fractionDigits = 0;
+			while (index < length && isDigit(literal.charAt(index))) {
+				mantissa = mantissa * 10 + (literal.charAt(index++) - '0');
+				if (0 != mantissa) {
+					significantDigits++;
+				}
+				fractionDigits++;
+			}
+			if (0 == fractionDigits) {
+				return Double.parseDouble(literal.toString());
+			}
+			exponent -= fractionDigits;
+		}
+		if (index < length && ('e' == literal.charAt(index) || 'E' == literal.charAt(index))) {
+			index++;
+			boolean negativeExponent = false;
+			if (index < length && ('-' == literal.charAt(index) || '+' == literal.charAt(index))) {
+				negativeExponent = '-' == literal.charAt(index++);
+			}
+			int exponentDigits = 0;
+			int explicitExponent = 0;
+			while (index < length && isDigit(literal.charAt(index))) {
+				if (explicitExponent < 1000) {
+					explicitExponent = explicitExponent * 10 + (literal.charAt(index) - '0');
+				}
+				index++;
+				exponentDigits++;
+			}
+			if (0 == exponentDigits) {
+				return Double.parseDouble(literal.toString());
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (index != length || significantDigits > 15 || exponent < -22 || exponent > 22) {
+			return Double.parseDouble(literal.toString());
+		}
+		double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		return negative ? -value : value;
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
+	}
+
+}
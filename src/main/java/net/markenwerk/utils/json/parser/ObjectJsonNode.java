@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+final class ObjectJsonNode extends JsonNode {
+
+	private static final int LINEAR_SEARCH_LIMIT = 8;
+
+	static final ObjectJsonNode EMPTY = new ObjectJsonNode(new String[0], new JsonNode[0]);
+
+	private final String[] names;
+
+	private final JsonNode[] values;
+
+	private final int[] index;
+
+	ObjectJsonNode(String[] names, JsonNode[] values) {
+		this.names = names;
+		this.values = values;
+		this.index = names.length > LINEAR_SEARCH_LIMIT ? createIndex(names) : null;
+	}
+
+	private static int[] createIndex(String[] names) {
+		int capacity = Integer.highestOneBit(names.length) << 2;
+		int[] index = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = names.length - 1; i >= 0; i--) {
+			int slot = names[i].hashCode() & mask;
+			while (0 != index[slot] && !names[index[slot] - 1].equals(names[i])) {
+				slot = (slot + 1) & mask;
+			}
+			index[slot] = i + 1;
+		}
+		return index;
+	}
+
+	@Override
+	public JsonState getState() {
+		return JsonState.OBJECT_BEGIN;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public JsonNode get(int index) {
+		return index < 0 || index >= values.length ? null : values[index];
+	}
+
+	@Override
+	public String getName(int index) {
+		return index < 0 || index >= names.length ? null : names[index];
+	}
+
+	@Override
+	public JsonNode get(String name) {
+		if (null == name) {
+			throw new IllegalArgumentException("The given name is null");
+		}
+		if (null == index) {
+			for (int i = 0; i < names.length; i++) {
+				if (name.equals(names[i])) {
+					return values[i];
+				}
+			}
+		} else {
+			int mask = index.length - 1;
+			int slot = name.hashCode() & mask;
+			while (0 != index[slot]) {
+				int i = index[slot] - 1;
+				if (name.equals(names[i])) {
+					return values[i];
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	void appendTo(StringBuilder builder) {
+		builder.append('{');
+		for (int i = 0; i < values.length; i++) {
+			if (0 != i) {
+				builder.append(',');
+			}
+			appendString(builder, names[i]);
+			builder.append(':');
+			values[i].appendTo(builder);
+		}
+		builder.append('}');
+	}
+
+}
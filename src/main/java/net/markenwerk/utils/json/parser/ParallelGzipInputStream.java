@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+final class ParallelGzipInputStream extends InputStream {
+
+	private static final int HEADER_SIZE = 12;
+
+	private static final int TRAILER_SIZE = 8;
+
+	private static final int MAXIMUM_MEMBER_SIZE = 64 * 1024;
+
+	private static final int FHCRC = 2;
+
+	private static final int FEXTRA = 4;
+
+	private static final int FNAME = 8;
+
+	private static final int FCOMMENT = 16;
+
+	private final Queue<Future<byte[]>> members = new ConcurrentLinkedQueue<Future<byte[]>>();
+
+	private final InputStream input;
+
+	private final ExecutorService executor;
+
+	private final int parallelism;
+
+	private InputStream tail;
+
+	private boolean inputEnd;
+
+	private byte[] member;
+
+	private int position;
+
+	ParallelGzipInputStream(InputStream input, ExecutorService executor, int parallelism) {
+		this.input = input;
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] buffer = new byte[1];
+		return -1 == read(buffer, 0, 1) ? -1 : buffer[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if (0 == length) {
+			return 0;
+		}
+		while (true) {
+			if (null != member && position < member.length) {
+				int count = Math.min(length, member.length - position);
+				System.arraycopy(member, position, buffer, offset, count);
+				position += count;
+				return count;
+			}
+			member = null;
+			submitMembers();
+			Future<byte[]> future = members.poll();
+			if (null != future) {
+				member = getMember(future);
+				position = 0;
+			} else if (null != tail) {
+				return tail.read(buffer, offset, length);
+			} else {
+				return -1;
+			}
+		}
+	}
+
+	private void submitMembers() throws IOException {
+		if (null == executor) {
+			if (null == tail) {
+				tail = new GZIPInputStream(input);
+			}
+			return;
+		}
+		while (!inputEnd && null == tail && members.size() < parallelism) {
+			byte[] nextMember = readMember();
+			if (null != nextMember) {
+				members.add(executor.submit(new InflateTask(nextMember)));
+			}
+		}
+	}
+
+	private byte[] readMember() throws IOException {
+		byte[] header = new byte[HEADER_SIZE];
+		int headerLength = readFully(header, 0, HEADER_SIZE);
+		if (0 == headerLength) {
+			inputEnd = true;
+			return null;
+		} else if (HEADER_SIZE != headerLength || !isExtraHeader(header)) {
+			startTail(header, headerLength);
+			return null;
+		}
+		int extraLength = (header[10] & 0xFF) | (header[11] & 0xFF) << 8;
+		byte[] extra = new byte[HEADER_SIZE + extraLength];
+		System.arraycopy(header, 0, extra, 0, HEADER_SIZE);
+		int extraEnd = HEADER_SIZE + readFully(extra, HEADER_SIZE, extraLength);
+		int memberSize = getMemberSize(extra, extraEnd);
+		if (-1 == memberSize) {
+			startTail(extra, extraEnd);
+			return null;
+		}
+		byte[] nextMember = new byte[memberSize];
+		System.arraycopy(extra, 0, nextMember, 0, extraEnd);
+		if (memberSize - extraEnd != readFully(nextMember, extraEnd, memberSize - extraEnd)) {
+			throw new EOFException("Unexpected end of GZIP member");
+		}
+		return nextMember;
+	}
+
+	private static boolean isExtraHeader(byte[] header) {
+		return (byte) 0x1F == header[0] && (byte) 0x8B == header[1] && 8 == header[2] && 0 != (header[3] & FEXTRA);
+	}
+
+	private static int getMemberSize(byte[] extra, int extraEnd) {
+		int offset = HEADER_SIZE;
+		while (offset + 4 <= extraEnd) {
+			int subfieldLength = (extra[offset + 2] & 0xFF) | (extra[offset + 3] & 0xFF) << 8;
+			if ('B' == extra[offset] && 'C' == extra[offset + 1] && 2 == subfieldLength && offset + 6 <= extraEnd) {
+				int memberSize = ((extra[offset + 4] & 0xFF) | (extra[offset + 5] & 0xFF) << 8) + 1;
+				return memberSize >= extraEnd + TRAILER_SIZE ? memberSize : -1;
+			}
+			offset += 4 + subfieldLength;
+		}
+		return -1;
+	}
+
+	private void startTail(byte[] bytes, int length) throws IOException {
+		if (0 != length) {
+			ByteArrayInputStream head = new ByteArrayInputStream(bytes, 0, length);
+			tail = new GZIPInputStream(new SequenceInputStream(head, input));
+		}
+	}
+
+	private int readFully(byte[] buffer, int offset, int length) throws IOException {
+		int total = 0;
+		while (total < length) {
+			int read = input.read(buffer, offset + total, length - total);
+			if (-1 == read) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	private static byte[] getMember(Future<byte[]> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a GZIP member");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else {
+				throw new IOException(cause);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		Future<byte[]> future;
+		while (null != (future = members.poll())) {
+			future.cancel(true);
+		}
+		try {
+			if (null != tail) {
+				tail.close();
+			}
+		} finally {
+			input.close();
+		}
+	}
+
+	private static final class InflateTask implements Callable<byte[]> {
+
+		private final byte[] member;
+
+		private InflateTask(byte[] member) {
+			this.member = member;
+		}
+
+		@Override
+		public byte[] call() throws IOException {
+			int flags = member[3] & 0xFF;
+			int offset = HEADER_SIZE + ((member[10] & 0xFF) | (member[11] & 0xFF) << 8);
+			if (0 != (flags & FNAME)) {
+				offset = skipZeroTerminated(offset);
+			}
+			if (0 != (flags & FCOMMENT)) {
+				offset = skipZeroTerminated(offset);
+			}
+			if (0 != (flags & FHCRC)) {
+				offset += 2;
+			}
+			int trailer = member.length - TRAILER_SIZE;
+			if (offset > trailer) {
+				throw new ZipException("Corrupt GZIP member header");
+			}
+			long expectedCrc = readInt(trailer) & 0xFFFFFFFFL;
+			int size = readInt(trailer + 4);
+			if (size < 0 || size > MAXIMUM_MEMBER_SIZE) {
+				throw new ZipException("Invalid GZIP member size: " + (size & 0xFFFFFFFFL));
+			}
+			byte[] bytes = new byte[size];
+			Inflater inflater = new Inflater(true);
+			try {
+				inflater.setInput(member, offset, trailer - offset);
+				int length = 0;
+				while (length < size && !inflater.finished()) {
+					int inflated = inflater.inflate(bytes, length, size - length);
+					if (0 == inflated && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					length += inflated;
+				}
+				if (length != size) {
+					throw new ZipException("Corrupt GZIP member size");
+				}
+			} catch (DataFormatException e) {
+				throw new ZipException(e.getMessage());
+			} finally {
+				inflater.end();
+			}
+			CRC32 crc = new CRC32();
+			crc.update(bytes, 0, size);
+			if (crc.getValue() != expectedCrc) {
+				throw new ZipException("Corrupt GZIP member checksum");
+			}
+			return bytes;
+		}
+
+		private int skipZeroTerminated(int offset) {
+			while (offset < member.length && 0 != member[offset]) {
+				offset++;
+			}
+			return offset + 1;
+		}
+
+		private int readInt(int offset) {
+			return (member[offset] & 0xFF) | (member[offset + 1] & 0xFF) << 8 | (member[offset + 2] & 0xFF) << 16
+					| (member[offset + 3] & 0xFF) << 24;
+		}
+
+	}
+
+}
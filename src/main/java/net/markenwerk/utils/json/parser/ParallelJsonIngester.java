@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+/**
+ * A {@link ParallelJsonIngester} processes multiple UTF-8 encoded files
+ * concurrently with {@link DefaultJsonPushParser DefaultJsonPushParsers}.
+ * 
+ * <p>
+ * The files are processed in chunks. If a split size is given, every file that
+ * is larger than the split size is split into multiple chunks of roughly that
+ * size. Chunks are always split after a line break, which requires that every
+ * line break in a file separates two JSON documents (as it is the case for
+ * JSON Lines or NDJSON files). Splitting therefore requires the
+ * {@link JsonParserMode#MULTI_DOCUMENT_MODE}. A chunk that would only contain
+ * whitespace is merged into the preceding chunk.
+ * 
+ * <p>
+ * All chunks are put into a shared queue, largest chunks first, from which the
+ * given amount of workers take the next chunk as soon as they have finished
+ * processing the previous one. This keeps all workers busy, even if a single
+ * file is much larger than the other files.
+ * 
+ * <p>
+ * Every chunk is processed with a new
+ * {@link net.markenwerk.utils.json.handler.JsonHandler} that is created by a
+ * given {@link JsonHandlerFactory}. The results of all chunks and all
+ * {@link Exception Exceptions} that occurred while processing a chunk are
+ * reported as a {@link JsonIngestionResult} per file. An {@link Error} that
+ * occurred while processing a chunk is reported wrapped in an
+ * {@link ExecutionException} and then rethrown by the worker. Chunks that
+ * haven't been processed, because all workers have been terminated by such an
+ * {@link Error}, are reported with a {@link CancellationException}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ParallelJsonIngester {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int BUFFER_SIZE = 16 * 1024;
+
+	private static final int SCAN_BUFFER_SIZE = 4 * 1024;
+
+	private final Executor executor;
+
+	private final int parallelism;
+
+	private final long splitSize;
+
+	private final JsonParserPool parserPool;
+
+	private final BufferRecycler bufferRecycler = new ThreadLocalBufferRecycler();
+
+	/**
+	 * Creates a new {@link ParallelJsonIngester} that doesn't split files.
+	 * 
+	 * @param executor
+	 *            The {@link Executor} to run the workers on.
+	 * @param parallelism
+	 *            The amount of workers.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be
+	 *            used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Executor} is {@literal null} or if the
+	 *             given parallelism is not positive.
+	 */
+	public ParallelJsonIngester(Executor executor, int parallelism, JsonParserMode... modes)
+			throws IllegalArgumentException {
+		this(executor, parallelism, 0, modes);
+	}
+
+	/**
+	 * Creates a new {@link ParallelJsonIngester}.
+	 * 
+	 * @param executor
+	 *            The {@link Executor} to run the workers on.
+	 * @param parallelism
+	 *            The amount of workers.
+	 * @param splitSize
+	 *            The size in bytes, above which a file is split into multiple
+	 *            chunks, or {@code 0}, if files shouldn't be split.
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be
+	 *            used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Executor} is {@literal null}, if the
+	 *             given parallelism is not positive, if the given split size is
+	 *             negative or if the given split size is positive and the
+	 *             given {@link JsonParserMode JsonParserModes} don't contain
+	 *             the {@link JsonParserMode#MULTI_DOCUMENT_MODE}.
+	 */
+	public ParallelJsonIngester(Executor executor, int parallelism, long splitSize, JsonParserMode... modes)
+			throws IllegalArgumentException {
+		if (null == executor) {
+			throw new IllegalArgumentException("The given executor is null");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The given parallelism is not positive");
+		}
+		if (splitSize < 0) {
+			throw new IllegalArgumentException("The given split size is negative");
+		}
+		if (0 != splitSize && (null == modes || !Arrays.asList(modes).contains(JsonParserMode.MULTI_DOCUMENT_MODE))) {
+			throw new IllegalArgumentException("Splitting files requires the multi document mode");
+		}
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.splitSize = splitSize;
+		this.parserPool = new ThreadLocalJsonParserPool(modes);
+	}
+
+	/**
+	 * Processes the given {@link File Files} and waits until all files have
+	 * been processed.
+	 * 
+	 * @param files
+	 *            The {@link File Files} to be processed.
+	 * @param factory
+	 *            The {@link JsonHandlerFactory} to be used.
+	 * @param <Result>
+	 *            The result type of the created
+	 *            {@link net.markenwerk.utils.json.handler.JsonHandler
+	 *            JsonHandlers}.
+	 * 
+	 * @return A {@link JsonIngestionResult} for every given {@link File}, in
+	 *         the order of the given {@link File Files}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link List} is {@literal null} or contains
+	 *             {@literal null} or if the given {@link JsonHandlerFactory}
+	 *             is {@literal null}.
+	 * @throws InterruptedException
+	 *             If the current thread has been interrupted while waiting.
+	 *             Workers finish the chunk they are currently processing, but
+	 *             don't take another chunk.
+	 */
+	public <Result> List<JsonIngestionResult<Result>> ingest(List<File> files, JsonHandlerFactory<Result> factory)
+			throws IllegalArgumentException, InterruptedException {
+		if (null == files) {
+			throw new IllegalArgumentException("The given files are null");
+		}
+		if (null == factory) {
+			throw new IllegalArgumentException("The given factory is null");
+		}
+		for (File file : files) {
+			if (null == file) {
+				throw new IllegalArgumentException("The given files contain null");
+			}
+		}
+		List<JsonIngestionResult<Result>> results = new ArrayList<JsonIngestionResult<Result>>(files.size());
+		List<Chunk<Result>> chunks = new ArrayList<Chunk<Result>>();
+		for (File file : files) {
+			results.add(createChunks(file, chunks));
+		}
+		Collections.sort(chunks, new Comparator<Chunk<Result>>() {
+
+			@Override
+			public int compare(Chunk<Result> left, Chunk<Result> right) {
+				long difference = right.length - left.length;
+				return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+			}
+
+		});
+		Queue<Chunk<Result>> queue = new ConcurrentLinkedQueue<Chunk<Result>>(chunks);
+		AtomicBoolean cancelled = new AtomicBoolean();
+		int workerCount = Math.min(parallelism, chunks.size());
+		CountDownLatch latch = new CountDownLatch(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			try {
+				executor.execute(new Worker<Result>(queue, factory, cancelled, latch));
+			} catch (RejectedExecutionException e) {
+				cancelled.set(true);
+				throw e;
+			}
+		}
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			cancelled.set(true);
+			throw e;
+		}
+		Chunk<Result> chunk;
+		while (null != (chunk = queue.poll())) {
+			chunk.result.setException(chunk.index, new CancellationException("The chunk hasn't been processed"));
+		}
+		return results;
+	}
+
+	private <Result> JsonIngestionResult<Result> createChunks(File file, List<Chunk<Result>> chunks) {
+		long length = file.length();
+		if (0 == splitSize || length <= splitSize) {
+			JsonIngestionResult<Result> result = new JsonIngestionResult<Result>(file, new long[] { 0 });
+			chunks.add(new Chunk<Result>(result, 0, 0, -1, length));
+			return result;
+		}
+		List<Long> offsets = new ArrayList<Long>();
+		try {
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			try {
+				long offset = 0;
+				while (offset < length) {
+					long end = length - offset > splitSize ? nextLineStart(randomAccessFile, offset + splitSize, length)
+							: length;
+					if (offsets.isEmpty() || !isBlank(randomAccessFile, offset, end)) {
+						offsets.add(offset);
+					}
+					offset = end;
+				}
+			} finally {
+				randomAccessFile.close();
+			}
+		} catch (IOException e) {
+			JsonIngestionResult<Result> result = new JsonIngestionResult<Result>(file, new long[] { 0 });
+			result.setException(0, e);
+			return result;
+		}
+		long[] offsetArray = new long[offsets.size()];
+		for (int i = 0; i < offsetArray.length; i++) {
+			offsetArray[i] = offsets.get(i);
+		}
+		JsonIngestionResult<Result> result = new JsonIngestionResult<Result>(file, offsetArray);
+		for (int i = 0; i < offsetArray.length; i++) {
+			long end = i + 1 < offsetArray.length ? offsetArray[i + 1] : length;
+			chunks.add(new Chunk<Result>(result, i, offsetArray[i], end, end - offsetArray[i]));
+		}
+		return result;
+	}
+
+	private static long nextLineStart(RandomAccessFile file, long position, long length) throws IOException {
+		byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+		file.seek(position - 1);
+		long offset = position - 1;
+		int count;
+		while (-1 != (count = file.read(buffer))) {
+			for (int i = 0; i < count; i++) {
+				if ('\n' == buffer[i]) {
+					return offset + i + 1;
+				}
+			}
+			offset += count;
+		}
+		return length;
+	}
+
+	private static boolean isBlank(RandomAccessFile file, long start, long end) throws IOException {
+		byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+		file.seek(start);
+		long offset = start;
+		while (offset < end) {
+			int count = file.read(buffer, 0, (int) Math.min(buffer.length, end - offset));
+			if (-1 == count) {
+				break;
+			}
+			for (int i = 0; i < count; i++) {
+				switch (buffer[i]) {
+				case ' ':
+				case '\t':
+				case '\r':
+				case '\n':
+					break;
+				default:
+					return false;
+				}
+			}
+			offset += count;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the amount of workers.
+	 * 
+	 * @return The amount of workers.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Returns the size in bytes, above which a file is split into multiple
+	 * chunks.
+	 * 
+	 * @return The split size, or {@code 0}, if files aren't split.
+	 */
+	public long getSplitSize() {
+		return splitSize;
+	}
+
+	@Override
+	public String toString() {
+		return "ParallelJsonIngester [parallelism=" + parallelism + ", splitSize=" + splitSize + "]";
+	}
+
+	private static final class Chunk<Result> {
+
+		private final JsonIngestionResult<Result> result;
+
+		private final int index;
+
+		private final long start;
+
+		private final long end;
+
+		private final long length;
+
+		private Chunk(JsonIngestionResult<Result> result, int index, long start, long end, long length) {
+			this.result = result;
+			this.index = index;
+			this.start = start;
+			this.end = end;
+			this.length = length;
+		}
+
+	}
+
+	private final class Worker<Result> implements Runnable {
+
+		private final Queue<Chunk<Result>> queue;
+
+		private final JsonHandlerFactory<Result> factory;
+
+		private final AtomicBoolean cancelled;
+
+		private final CountDownLatch latch;
+
+		private Worker(Queue<Chunk<Result>> queue, JsonHandlerFactory<Result> factory, AtomicBoolean cancelled,
+				CountDownLatch latch) {
+			this.queue = queue;
+			this.factory = factory;
+			this.cancelled = cancelled;
+			this.latch = latch;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Chunk<Result> chunk;
+				while (!cancelled.get() && null != (chunk = queue.poll())) {
+					process(chunk);
+				}
+			} finally {
+				latch.countDown();
+			}
+		}
+
+		private void process(Chunk<Result> chunk) {
+			File file = chunk.result.getFile();
+			try {
+				JsonHandler<Result> handler = factory.createHandler(file, chunk.start);
+				InputStream stream;
+				if (-1 == chunk.end) {
+					stream = new FileInputStream(file);
+				} else {
+					stream = new FileRangeInputStream(file, chunk.start, chunk.end);
+				}
+				JsonSource source = null;
+				try {
+					source = new ReaderJsonSource(new InputStreamReader(stream, UTF_8), BUFFER_SIZE, bufferRecycler);
+				} finally {
+					if (null == source) {
+						stream.close();
+					}
+				}
+				DefaultJsonPushParser parser = parserPool.getPushParser(source);
+				try {
+					chunk.result.setResult(chunk.index, parser.handle(handler));
+				} finally {
+					parserPool.release(parser);
+				}
+			} catch (Exception e) {
+				chunk.result.setException(chunk.index, e);
+			} catch (Error e) {
+				chunk.result.setException(chunk.index, new ExecutionException(e));
+				throw e;
+			}
+		}
+
+	}
+
+}
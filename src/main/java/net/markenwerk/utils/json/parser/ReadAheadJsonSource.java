@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link ReadAheadJsonSource} is a {@link JsonSource} that is backed by a
+ * given {@link Reader} and reads from that {@link Reader} in a background
+ * thread.
+ * 
+ * <p>
+ * The background thread reads a fixed amount of blocks ahead, while the
+ * characters of previously read blocks are consumed. Blocks are handed over
+ * between the background thread and the consuming thread with one
+ * {@link java.util.concurrent.BlockingQueue BlockingQueue} operation per
+ * block. An {@link IOException} that is thrown by the {@link Reader} is
+ * rethrown to the consuming thread, when the characters that precede the
+ * failure have been consumed.
+ * 
+ * <p>
+ * Closing a {@link ReadAheadJsonSource} interrupts the background thread and
+ * closes the {@link Reader}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public class ReadAheadJsonSource implements BulkJsonSource {
+
+	private static final int DEFAULT_BLOCK_SIZE = 8 * 1024;
+
+	private static final int DEFAULT_BLOCK_COUNT = 2;
+
+	private final ReaderJsonSource source;
+
+	/**
+	 * Creates a new {@link ReadAheadJsonSource} with two blocks of the
+	 * {@link ReadAheadJsonSource#DEFAULT_BLOCK_SIZE default} block size that
+	 * uses a new daemon thread.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null}.
+	 */
+	public ReadAheadJsonSource(Reader reader) throws IllegalArgumentException {
+		this(reader, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCK_COUNT, null);
+	}
+
+	/**
+	 * Creates a new {@link ReadAheadJsonSource}.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param blockSize
+	 *            The size of a block.
+	 * @param blockCount
+	 *            The amount of blocks.
+	 * @param executor
+	 *            The {@link Executor} to be used to read in the background
+	 *            or {@literal null}, if a new daemon thread should be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null} or if the
+	 *             given block size or block count is not positive.
+	 */
+	public ReadAheadJsonSource(Reader reader, int blockSize, int blockCount, Executor executor)
+			throws IllegalArgumentException {
+		this(openReader(reader, blockSize, blockCount, executor), blockSize);
+	}
+
+	ReadAheadJsonSource(ReadAheadReader reader, int blockSize) {
+		source = new ReaderJsonSource(reader, Math.max(128, blockSize));
+	}
+
+	private static ReadAheadReader openReader(Reader reader, int blockSize, int blockCount, Executor executor)
+			throws IllegalArgumentException {
+		if (null == reader) {
+			throw new IllegalArgumentException("The given reader is null");
+		}
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("The given block size is not positive: " + blockSize);
+		}
+		if (blockCount < 1) {
+			throw new IllegalArgumentException("The given block count is not positive: " + blockCount);
+		}
+		return new ReadAheadReader(reader, blockSize, blockCount, executor);
+	}
+
+	@Override
+	public final int getAvailable() {
+		return source.getAvailable();
+	}
+
+	@Override
+	public final int makeAvailable() throws IOException {
+		return source.makeAvailable();
+	}
+
+	@Override
+	public final boolean makeAvailable(int minimum) throws IOException {
+		return source.makeAvailable(minimum);
+	}
+
+	@Override
+	public final char nextCharacter() {
+		return source.nextCharacter();
+	}
+
+	@Override
+	public final char peekCharacter(int offset) {
+		return source.peekCharacter(offset);
+	}
+
+	@Override
+	public final String nextString(int length) {
+		return source.nextString(length);
+	}
+
+	@Override
+	public final void appendNextString(StringBuilder builder, int length) {
+		source.appendNextString(builder, length);
+	}
+
+	@Override
+	public final void copyNextString(char[] buffer, int offset, int length) {
+		JsonSources.copyNextString(source, buffer, offset, length);
+	}
+
+	@Override
+	public final void skipNextString(int length) {
+		JsonSources.skipNextString(source, length);
+	}
+
+	@Override
+	public final int getLine() {
+		return source.getLine();
+	}
+
+	@Override
+	public final int getColumn() {
+		return source.getColumn();
+	}
+
+	@Override
+	public final String getPast(int maximum) {
+		return source.getPast(maximum);
+	}
+
+	@Override
+	public final String getFuture(int maximum) {
+		return source.getFuture(maximum);
+	}
+
+	@Override
+	public final void close() throws IOException {
+		source.close();
+	}
+
+}
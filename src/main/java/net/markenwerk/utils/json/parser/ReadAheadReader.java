@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+final class ReadAheadReader extends Reader implements Runnable {
+
+	private final Reader reader;
+
+	private final BlockingQueue<Block> emptyBlocks;
+
+	private final BlockingQueue<Block> filledBlocks;
+
+	private final FutureTask<Void> task;
+
+	private Block block;
+
+	ReadAheadReader(Reader reader, int blockSize, int blockCount, Executor executor) {
+		this.reader = reader;
+		this.emptyBlocks = new ArrayBlockingQueue<Block>(blockCount);
+		this.filledBlocks = new ArrayBlockingQueue<Block>(blockCount);
+		for (int i = 0; i < blockCount; i++) {
+			emptyBlocks.add(new Block(blockSize));
+		}
+		this.task = new FutureTask<Void>(this, null);
+		if (null == executor) {
+			Thread thread = new Thread(task, "json-read-ahead");
+			thread.setDaemon(true);
+			thread.start();
+		} else {
+			executor.execute(task);
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				Block block = emptyBlocks.take();
+				try {
+					block.fill(reader);
+				} catch (IOException e) {
+					block.exception = e;
+				} catch (RuntimeException e) {
+					block.exception = new IOException(e);
+				}
+				filledBlocks.put(block);
+				if (-1 == block.length || null != block.exception) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException {
+		if (0 == length) {
+			return 0;
+		}
+		if (null == block || (block.position == block.length && null == block.exception)) {
+			nextBlock();
+		}
+		if (block.position < block.length) {
+			int count = Math.min(length, block.length - block.position);
+			System.arraycopy(block.characters, block.position, buffer, offset, count);
+			block.position += count;
+			return count;
+		} else if (null != block.exception) {
+			throw block.exception;
+		} else {
+			return -1;
+		}
+	}
+
+	private void nextBlock() throws IOException {
+		if (null != block) {
+			emptyBlocks.offer(block);
+		}
+		try {
+			block = filledBlocks.take();
+		} catch (InterruptedException e) {
+			block = null;
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the next block");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		task.cancel(true);
+		reader.close();
+	}
+
+	private static final class Block {
+
+		private final char[] characters;
+
+		private int length;
+
+		private int position;
+
+		private IOException exception;
+
+		private Block(int size) {
+			characters = new char[size];
+		}
+
+		private void fill(Reader reader) throws IOException {
+			length = 0;
+			position = 0;
+			exception = null;
+			while (length < characters.length) {
+				int read = reader.read(characters, length, characters.length - length);
+				if (-1 == read) {
+					if (0 == length) {
+						length = -1;
+					}
+					return;
+				}
+				length += read;
+			}
+		}
+
+	}
+
+}
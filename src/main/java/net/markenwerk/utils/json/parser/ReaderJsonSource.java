@@ -32,15 +32,25 @@ import java.io.Reader;
  * @author Torsten Krause (tk at markenwerk dot net)
  * @since 1.0.0
  */
-public final class ReaderJsonSource implements JsonSource {
+public final class ReaderJsonSource implements BulkJsonSource {
 
 	private static final int MINIMUM_BUFFER_SIZE = 128;
 
 	private static final int DEFAULT_BUFFER_SIZE = 512;
 
+	private static final int GROWTH_THRESHOLD = 2;
+
+	private static final char[] NO_CHARACTERS = new char[0];
+
 	private final Reader reader;
 
-	private final char[] buffer;
+	private final BufferRecycler recycler;
+
+	private final int maximumSize;
+
+	private char[] buffer;
+
+	private int fullReads;
 
 	private int position;
 
@@ -83,14 +93,116 @@ public final class ReaderJsonSource implements JsonSource {
 	 *             size.
 	 */
 	public ReaderJsonSource(Reader reader, int size) {
+		this(reader, size, null);
+	}
+
+	/**
+	 * Creates a new {@link StringJsonSource} that acquires its buffer from the
+	 * given {@link BufferRecycler} and releases it, when this
+	 * {@link ReaderJsonSource} is closed. The acquired buffer may be larger
+	 * than the given size.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param size
+	 *            The buffer size to be used.
+	 * @param recycler
+	 *            The {@link BufferRecycler} to be used or {@literal null}, if
+	 *            the buffer should be allocated.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null} or if the
+	 *             given size is smaller than the
+	 *             {@link ReaderJsonSource#MINIMUM_BUFFER_SIZE minimum} buffer
+	 *             size.
+	 * 
+	 * @since 3.1.0
+	 */
+	public ReaderJsonSource(Reader reader, int size, BufferRecycler recycler) {
+		this(reader, size, size, -1, recycler);
+	}
+
+	/**
+	 * Creates a new {@link StringJsonSource} with a buffer that grows
+	 * geometrically up to the given maximum size, if reads from the given
+	 * {@link Reader} keep filling the buffer completely.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param size
+	 *            The initial buffer size to be used.
+	 * @param maximumSize
+	 *            The maximum buffer size to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null}, if the
+	 *             given size is smaller than the
+	 *             {@link ReaderJsonSource#MINIMUM_BUFFER_SIZE minimum} buffer
+	 *             size or if the given maximum size is smaller than the given
+	 *             size.
+	 * 
+	 * @since 3.1.0
+	 */
+	public ReaderJsonSource(Reader reader, int size, int maximumSize) {
+		this(reader, size, maximumSize, -1, null);
+	}
+
+	/**
+	 * Creates a new {@link StringJsonSource} with a buffer that grows
+	 * geometrically up to the given maximum size, if reads from the given
+	 * {@link Reader} keep filling the buffer completely.
+	 * 
+	 * <p>
+	 * If the expected length of the JSON text is known (e.g. from a
+	 * {@code Content-Length} header or the size of a file), the initial buffer
+	 * is large enough to hold the whole JSON text, as long as that doesn't
+	 * exceed the given maximum size.
+	 * 
+	 * <p>
+	 * If a {@link BufferRecycler} is given, every buffer is acquired from the
+	 * {@link BufferRecycler} and released, when it is replaced by a larger
+	 * buffer or when this {@link ReaderJsonSource} is closed. The acquired
+	 * buffers may be larger than the requested sizes.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param size
+	 *            The initial buffer size to be used.
+	 * @param maximumSize
+	 *            The maximum buffer size to be used.
+	 * @param expectedLength
+	 *            The expected length of the JSON text in characters or a
+	 *            negative value, if the expected length is unknown.
+	 * @param recycler
+	 *            The {@link BufferRecycler} to be used or {@literal null}, if
+	 *            buffers should be allocated.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null}, if the
+	 *             given size is smaller than the
+	 *             {@link ReaderJsonSource#MINIMUM_BUFFER_SIZE minimum} buffer
+	 *             size or if the given maximum size is smaller than the given
+	 *             size.
+	 * 
+	 * @since 3.1.0
+	 */
+	public ReaderJsonSource(Reader reader, int size, int maximumSize, long expectedLength, BufferRecycler recycler) {
 		if (null == reader) {
 			throw new IllegalArgumentException("The given reader is null");
 		}
 		if (size < MINIMUM_BUFFER_SIZE) {
 			throw new IllegalArgumentException("The given size is too small: " + size);
 		}
+		if (maximumSize < size) {
+			throw new IllegalArgumentException("The given maximum size is too small: " + maximumSize);
+		}
+		if (expectedLength >= size) {
+			size = (int) Math.min(expectedLength + 1, maximumSize);
+		}
 		this.reader = reader;
-		this.buffer = new char[size];
+		this.recycler = recycler;
+		this.maximumSize = maximumSize;
+		this.buffer = acquireBuffer(size);
 	}
 
 	@Override
@@ -115,7 +227,9 @@ public final class ReaderJsonSource implements JsonSource {
 	}
 
 	private boolean fillBuffer(int minimum) throws IOException {
-		if (0 != position && 0 != end) {
+		if (minimum > buffer.length || (fullReads >= GROWTH_THRESHOLD && buffer.length < maximumSize)) {
+			growBuffer(minimum);
+		} else if (0 != position && 0 != end) {
 			System.arraycopy(buffer, position, buffer, 0, getAvailable());
 			column += (position - lastNewLinePosition);
 			lastNewLinePosition = 0;
@@ -123,11 +237,13 @@ public final class ReaderJsonSource implements JsonSource {
 		}
 		position = 0;
 		while (getAvailable() < minimum) {
-			int read = reader.read(buffer, end, buffer.length - end);
+			int capacity = buffer.length - end;
+			int read = reader.read(buffer, end, capacity);
 			if (-1 == read) {
 				return false;
 			} else {
 				end += read;
+				fullReads = read == capacity ? fullReads + 1 : 0;
 			}
 		}
 		if (!firstCharacterRead && end >= 1) {
@@ -139,6 +255,42 @@ public final class ReaderJsonSource implements JsonSource {
 		return true;
 	}
 
+	private void growBuffer(int minimum) {
+		int available = getAvailable();
+		char[] grownBuffer = acquireBuffer(Math.max(Math.min(buffer.length * 2, maximumSize), minimum));
+		System.arraycopy(buffer, position, grownBuffer, 0, available);
+		column += (position - lastNewLinePosition);
+		lastNewLinePosition = 0;
+		releaseBuffer();
+		buffer = grownBuffer;
+		end = available;
+		fullReads = 0;
+	}
+
+	private char[] acquireBuffer(int size) {
+		return null == recycler ? new char[size] : recycler.acquireCharacters(size);
+	}
+
+	private void releaseBuffer() {
+		if (null != recycler && NO_CHARACTERS != buffer) {
+			recycler.releaseCharacters(buffer);
+		}
+		buffer = NO_CHARACTERS;
+	}
+
+	/**
+	 * Returns the current buffer size.
+	 * 
+	 * @return The current buffer size, or {@code 0}, if this
+	 *         {@link ReaderJsonSource} is closed and its buffer has been
+	 *         released.
+	 * 
+	 * @since 3.1.0
+	 */
+	public int getBufferSize() {
+		return buffer.length;
+	}
+
 	@Override
 	public char nextCharacter() {
 		char result = buffer[position++];
@@ -157,17 +309,37 @@ public final class ReaderJsonSource implements JsonSource {
 
 	@Override
 	public String nextString(int length) {
-		for (int i = 0; i < length; i++) {
-			nextCharacter();
-		}
-		return new String(buffer, position - length, length);
+		String string = new String(buffer, position, length);
+		consume(length);
+		return string;
 	}
 
 	@Override
 	public void appendNextString(StringBuilder builder, int length) {
-		for (int i = 0; i < length; i++) {
-			builder.append(nextCharacter());
+		builder.append(buffer, position, length);
+		consume(length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		System.arraycopy(this.buffer, position, buffer, offset, length);
+		consume(length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		consume(length);
+	}
+
+	private void consume(int length) {
+		for (int i = position, n = position + length; i < n; i++) {
+			if ('\n' == buffer[i]) {
+				lastNewLinePosition = i + 1;
+				column = 1;
+				line += 1;
+			}
 		}
+		position += length;
 	}
 
 	@Override
@@ -198,7 +370,17 @@ public final class ReaderJsonSource implements JsonSource {
 
 	@Override
 	public void close() throws IOException {
-		reader.close();
+		try {
+			reader.close();
+		} finally {
+			if (null != recycler && NO_CHARACTERS != buffer) {
+				column += (position - lastNewLinePosition);
+				lastNewLinePosition = 0;
+				position = 0;
+				end = 0;
+				releaseBuffer();
+			}
+		}
 	}
 
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A {@link RingBufferJsonSource} is a {@link JsonSource} that is backed by a
+ * given {@link Reader} and buffers a portion of the read characters in a
+ * circular {@code char[]}.
+ * 
+ * <p>
+ * Unlike a {@link ReaderJsonSource}, a {@link RingBufferJsonSource} never
+ * moves unconsumed characters to the front of its buffer. Newly read
+ * characters are stored behind the unconsumed characters and wrap around at
+ * the end of the buffer. The size of the buffer is always a power of two.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class RingBufferJsonSource implements BulkJsonSource {
+
+	private static final int MINIMUM_BUFFER_SIZE = 128;
+
+	private static final int DEFAULT_BUFFER_SIZE = 512;
+
+	private final Reader reader;
+
+	private final BufferRecycler recycler;
+
+	private char[] buffer;
+
+	private int mask;
+
+	private long position;
+
+	private long end;
+
+	private int line = 1;
+
+	private int column = 1;
+
+	private boolean firstCharacterRead;
+
+	private long lastNewLinePosition;
+
+	/**
+	 * Creates a new {@link RingBufferJsonSource} with the
+	 * {@link RingBufferJsonSource#DEFAULT_BUFFER_SIZE default} buffer size.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null}.
+	 */
+	public RingBufferJsonSource(Reader reader) throws IllegalArgumentException {
+		this(reader, DEFAULT_BUFFER_SIZE, null);
+	}
+
+	/**
+	 * Creates a new {@link RingBufferJsonSource}.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param size
+	 *            The buffer size to be used. This is rounded up to the next
+	 *            power of two.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null} or if the
+	 *             given size is smaller than the
+	 *             {@link RingBufferJsonSource#MINIMUM_BUFFER_SIZE minimum}
+	 *             buffer size or larger than {@code 2^30}.
+	 */
+	public RingBufferJsonSource(Reader reader, int size) throws IllegalArgumentException {
+		this(reader, size, null);
+	}
+
+	/**
+	 * Creates a new {@link RingBufferJsonSource} that acquires its buffer from
+	 * the given {@link BufferRecycler} and releases it, when this
+	 * {@link RingBufferJsonSource} is closed.
+	 * 
+	 * @param reader
+	 *            The {@link Reader} to be used.
+	 * @param size
+	 *            The buffer size to be used. This is rounded up to the next
+	 *            power of two.
+	 * @param recycler
+	 *            The {@link BufferRecycler} to be used or {@literal null}, if
+	 *            the buffer should be allocated.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link Reader} is {@literal null} or if the
+	 *             given size is smaller than the
+	 *             {@link RingBufferJsonSource#MINIMUM_BUFFER_SIZE minimum}
+	 *             buffer size or larger than {@code 2^30}.
+	 */
+	public RingBufferJsonSource(Reader reader, int size, BufferRecycler recycler) throws IllegalArgumentException {
+		if (null == reader) {
+			throw new IllegalArgumentException("The given reader is null");
+		}
+		if (size < MINIMUM_BUFFER_SIZE) {
+			throw new IllegalArgumentException("The given size is too small: " + size);
+		}
+		if (size > 1 << 30) {
+			throw new IllegalArgumentException("The given size is too large: " + size);
+		}
+		this.reader = reader;
+		this.recycler = recycler;
+		this.buffer = acquireBuffer(size);
+		this.mask = buffer.length - 1;
+	}
+
+	private char[] acquireBuffer(int size) {
+		int powerOfTwo = MINIMUM_BUFFER_SIZE;
+		while (powerOfTwo < size) {
+			powerOfTwo <<= 1;
+		}
+		if (null != recycler) {
+			char[] buffer = recycler.acquireCharacters(powerOfTwo);
+			if (buffer.length == powerOfTwo) {
+				return buffer;
+			}
+			recycler.releaseCharacters(buffer);
+		}
+		return new char[powerOfTwo];
+	}
+
+	@Override
+	public int getAvailable() {
+		return (int) (end - position);
+	}
+
+	@Override
+	public int makeAvailable() throws IOException {
+		int available = getAvailable();
+		if (0 != available) {
+			return available;
+		} else {
+			fillBuffer(1);
+			return getAvailable();
+		}
+	}
+
+	@Override
+	public boolean makeAvailable(int minimum) throws IOException {
+		return minimum <= end - position || fillBuffer(minimum);
+	}
+
+	private boolean fillBuffer(int minimum) throws IOException {
+		if (minimum > buffer.length) {
+			growBuffer(minimum);
+		}
+		while (getAvailable() < minimum) {
+			int offset = (int) (end & mask);
+			int length = Math.min(buffer.length - getAvailable(), buffer.length - offset);
+			int read = reader.read(buffer, offset, length);
+			if (-1 == read) {
+				return false;
+			} else {
+				end += read;
+			}
+		}
+		if (!firstCharacterRead && end >= 1) {
+			if (buffer[0] == JsonSource.BYTE_ORDER_MARK) {
+				position++;
+			}
+			firstCharacterRead = true;
+		}
+		return true;
+	}
+
+	private void growBuffer(int minimum) {
+		int available = getAvailable();
+		char[] grownBuffer = acquireBuffer(minimum);
+		copy(position, grownBuffer, 0, available);
+		releaseBuffer();
+		buffer = grownBuffer;
+		mask = buffer.length - 1;
+		column += (int) (position - lastNewLinePosition);
+		lastNewLinePosition = 0;
+		position = 0;
+		end = available;
+	}
+
+	private void releaseBuffer() {
+		if (null != recycler && null != buffer) {
+			recycler.releaseCharacters(buffer);
+		}
+		buffer = null;
+	}
+
+	@Override
+	public char nextCharacter() {
+		char result = buffer[(int) (position++ & mask)];
+		if ('\n' == result) {
+			lastNewLinePosition = position;
+			column = 1;
+			line += 1;
+		}
+		return result;
+	}
+
+	@Override
+	public char peekCharacter(int offset) {
+		return buffer[(int) ((position + offset) & mask)];
+	}
+
+	@Override
+	public String nextString(int length) {
+		String string = getString(position, length);
+		consume(length);
+		return string;
+	}
+
+	@Override
+	public void appendNextString(StringBuilder builder, int length) {
+		int offset = (int) (position & mask);
+		int firstLength = Math.min(length, buffer.length - offset);
+		builder.append(buffer, offset, firstLength);
+		builder.append(buffer, 0, length - firstLength);
+		consume(length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		copy(position, buffer, offset, length);
+		consume(length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		consume(length);
+	}
+
+	private String getString(long from, int length) {
+		int offset = (int) (from & mask);
+		if (offset + length <= buffer.length) {
+			return new String(buffer, offset, length);
+		} else {
+			char[] characters = new char[length];
+			copy(from, characters, 0, length);
+			return new String(characters);
+		}
+	}
+
+	private void copy(long from, char[] target, int targetOffset, int length) {
+		int offset = (int) (from & mask);
+		int firstLength = Math.min(length, buffer.length - offset);
+		System.arraycopy(buffer, offset, target, targetOffset, firstLength);
+		System.arraycopy(buffer, 0, target, targetOffset + firstLength, length - firstLength);
+	}
+
+	private void consume(int length) {
+		int offset = (int) (position & mask);
+		int firstLength = Math.min(length, buffer.length - offset);
+		consume(offset, firstLength, position - offset);
+		consume(0, length - firstLength, position + firstLength);
+		position += length;
+	}
+
+	private void consume(int offset, int length, long base) {
+		for (int i = offset, n = offset + length; i < n; i++) {
+			if ('\n' == buffer[i]) {
+				lastNewLinePosition = base + i + 1;
+				column = 1;
+				line += 1;
+			}
+		}
+	}
+
+	@Override
+	public int getLine() {
+		return line;
+	}
+
+	@Override
+	public int getColumn() {
+		return column + (int) (position - lastNewLinePosition);
+	}
+
+	@Override
+	public String getPast(int maximum) {
+		long oldest = Math.max(0, end - buffer.length);
+		int stillAvailable = (int) Math.min(position - oldest, maximum);
+		return getString(position - stillAvailable, stillAvailable);
+	}
+
+	@Override
+	public String getFuture(int maximum) {
+		int alreadyAvailable = Math.min(getAvailable(), maximum);
+		return getString(position, alreadyAvailable);
+	}
+
+	/**
+	 * Returns the buffer size.
+	 * 
+	 * @return The buffer size, or {@code 0}, if this
+	 *         {@link RingBufferJsonSource} is closed and its buffer has been
+	 *         released.
+	 */
+	public int getBufferSize() {
+		return null == buffer ? 0 : buffer.length;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			reader.close();
+		} finally {
+			if (null != recycler) {
+				releaseBuffer();
+			}
+		}
+	}
+
+}
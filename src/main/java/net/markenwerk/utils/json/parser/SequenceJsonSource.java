@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link SequenceJsonSource} is a {@link JsonSource} that yields the JSON
+ * texts of a sequence of {@link JsonInput JsonInputs}, one after another,
+ * without copying them into a single JSON text.
+ * 
+ * <p>
+ * Each {@link JsonInput} is opened lazily, when the characters of the previous
+ * {@link JsonInput} are exhausted, and the {@link JsonSource} of the previous
+ * {@link JsonInput} is closed at that boundary. A line break is yielded
+ * between two {@link JsonInput JsonInputs}, such that a number or a literal at
+ * the end of one {@link JsonInput} never merges with a value at the start of
+ * the next {@link JsonInput}. This allows to parse a sequence of files that
+ * each contain one or more JSON documents with a {@link JsonPullParser} or a
+ * {@link JsonPushParser} in {@link JsonParserMode#MULTI_DOCUMENT_MODE}.
+ * 
+ * <p>
+ * The end of a {@link JsonInput} is not a document boundary. A JSON array or
+ * JSON object that is not closed at the end of a {@link JsonInput} (e.g.
+ * because a file has been truncated) continues in the next
+ * {@link JsonInput}. Such a document can be detected by comparing the
+ * {@link SequenceJsonSource#getInputIndex() index} of the current
+ * {@link JsonInput} after the beginning and after the end of a document has
+ * been consumed with a {@link JsonPullParser}.
+ * 
+ * <p>
+ * The line and column reported by a {@link SequenceJsonSource} are relative
+ * to the current {@link JsonInput}, which can be queried with
+ * {@link SequenceJsonSource#getInputName()}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class SequenceJsonSource implements BulkJsonSource {
+
+	private static final String SEPARATOR = "\n";
+
+	private final List<JsonInput> inputs;
+
+	private int index = -1;
+
+	private JsonSource source;
+
+	private boolean separator;
+
+	private long offset;
+
+	private long separatorOffset;
+
+	private int separatorLine;
+
+	private int separatorColumn;
+
+	private boolean closed;
+
+	/**
+	 * Creates a new {@link SequenceJsonSource}.
+	 * 
+	 * @param inputs
+	 *            The {@link JsonInput JsonInputs} to read from.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link List} is {@literal null} or contains
+	 *             {@literal null}.
+	 */
+	public SequenceJsonSource(List<? extends JsonInput> inputs) throws IllegalArgumentException {
+		if (null == inputs) {
+			throw new IllegalArgumentException("The given inputs are null");
+		}
+		this.inputs = new ArrayList<JsonInput>(inputs);
+		for (JsonInput input : this.inputs) {
+			if (null == input) {
+				throw new IllegalArgumentException("The given inputs contain null");
+			}
+		}
+	}
+
+	@Override
+	public int getAvailable() {
+		return null == source ? 0 : source.getAvailable();
+	}
+
+	@Override
+	public int makeAvailable() throws IOException {
+		while (true) {
+			if (null != source) {
+				int available = source.makeAvailable();
+				if (0 != available) {
+					return available;
+				}
+			}
+			if (!nextSource()) {
+				return 0;
+			}
+		}
+	}
+
+	@Override
+	public boolean makeAvailable(int minimum) throws IOException {
+		while (true) {
+			if (null != source) {
+				if (source.makeAvailable(minimum)) {
+					return true;
+				} else if (0 != source.getAvailable()) {
+					return false;
+				}
+			}
+			if (!nextSource()) {
+				return false;
+			}
+		}
+	}
+
+	private boolean nextSource() throws IOException {
+		if (closed) {
+			return false;
+		}
+		if (!separator && null != source && index + 1 < inputs.size()) {
+			separatorOffset = offset;
+			separatorLine = source.getLine();
+			separatorColumn = source.getColumn();
+			closeSource();
+			source = new StringJsonSource(SEPARATOR);
+			separator = true;
+			return true;
+		}
+		if (index + 1 < inputs.size()) {
+			closeSource();
+			index++;
+			offset = 0;
+			separator = false;
+			source = inputs.get(index).open();
+			return true;
+		}
+		return false;
+	}
+
+	private void closeSource() throws IOException {
+		if (null != source) {
+			JsonSource source = this.source;
+			this.source = null;
+			source.close();
+		}
+	}
+
+	@Override
+	public char nextCharacter() {
+		offset++;
+		return source.nextCharacter();
+	}
+
+	@Override
+	public char peekCharacter(int offset) {
+		return source.peekCharacter(offset);
+	}
+
+	@Override
+	public String nextString(int length) {
+		offset += length;
+		return source.nextString(length);
+	}
+
+	@Override
+	public void appendNextString(StringBuilder builder, int length) {
+		offset += length;
+		source.appendNextString(builder, length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		this.offset += length;
+		JsonSources.copyNextString(source, buffer, offset, length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		this.offset += length;
+		JsonSources.skipNextString(source, length);
+	}
+
+	/**
+	 * Returns the index of the current {@link JsonInput}.
+	 * 
+	 * @return The index of the current {@link JsonInput}, or {@code -1}, if no
+	 *         {@link JsonInput} has been opened yet.
+	 */
+	public int getInputIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the name of the current {@link JsonInput}.
+	 * 
+	 * @return The name of the current {@link JsonInput}, or {@literal null}, if
+	 *         no {@link JsonInput} has been opened yet.
+	 */
+	public String getInputName() {
+		return -1 == index ? null : inputs.get(index).getName();
+	}
+
+	/**
+	 * Returns the amount of characters that have been consumed from the
+	 * current {@link JsonInput}.
+	 * 
+	 * @return The offset in the current {@link JsonInput}.
+	 */
+	public long getInputOffset() {
+		return separator ? separatorOffset : offset;
+	}
+
+	@Override
+	public int getLine() {
+		if (separator) {
+			return separatorLine;
+		} else {
+			return null == source ? 1 : source.getLine();
+		}
+	}
+
+	@Override
+	public int getColumn() {
+		if (separator) {
+			return separatorColumn;
+		} else {
+			return null == source ? 1 : source.getColumn();
+		}
+	}
+
+	@Override
+	public String getPast(int maximum) {
+		return null == source ? "" : source.getPast(maximum);
+	}
+
+	@Override
+	public String getFuture(int maximum) {
+		return null == source ? "" : source.getFuture(maximum);
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		closeSource();
+	}
+
+	@Override
+	public String toString() {
+		return "SequenceJsonSource [input=" + getInputName() + ", line=" + getLine() + ", column=" + getColumn() + "]";
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link SharedBufferRecycler} is a {@link BufferRecycler} that is shared
+ * between all threads and retains at most a given amount of {@code char[]}
+ * and {@code byte[]} buffers per size class.
+ * 
+ * <p>
+ * Acquiring and releasing a buffer is lock-free. If no pooled buffer is
+ * available, a new buffer is created. If a buffer is released while its size
+ * class is full, the buffer is discarded.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class SharedBufferRecycler extends AbstractBufferRecycler {
+
+	private final AtomicReferenceArray<char[]> characters;
+
+	private final AtomicReferenceArray<byte[]> bytes;
+
+	private final int capacity;
+
+	/**
+	 * Creates a new {@link SharedBufferRecycler}.
+	 * 
+	 * @param capacity
+	 *            The maximum amount of pooled buffers of each kind per size
+	 *            class.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given capacity is negative.
+	 */
+	public SharedBufferRecycler(int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The given capacity is negative");
+		}
+		this.capacity = capacity;
+		this.characters = new AtomicReferenceArray<char[]>(SIZE_CLASSES * capacity);
+		this.bytes = new AtomicReferenceArray<byte[]>(SIZE_CLASSES * capacity);
+	}
+
+	/**
+	 * Returns the maximum amount of pooled buffers of each kind per size
+	 * class.
+	 * 
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	char[] takeCharacters(int sizeClass) {
+		for (int i = sizeClass * capacity, n = i + capacity; i < n; i++) {
+			char[] buffer = characters.get(i);
+			if (null != buffer && characters.compareAndSet(i, buffer, null)) {
+				return buffer;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	void putCharacters(int sizeClass, char[] buffer) {
+		for (int i = sizeClass * capacity, n = i + capacity; i < n; i++) {
+			if (null == characters.get(i) && characters.compareAndSet(i, null, buffer)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	byte[] takeBytes(int sizeClass) {
+		for (int i = sizeClass * capacity, n = i + capacity; i < n; i++) {
+			byte[] buffer = bytes.get(i);
+			if (null != buffer && bytes.compareAndSet(i, buffer, null)) {
+				return buffer;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	void putBytes(int sizeClass, byte[] buffer) {
+		for (int i = sizeClass * capacity, n = i + capacity; i < n; i++) {
+			if (null == bytes.get(i) && bytes.compareAndSet(i, null, buffer)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SharedBufferRecycler [capacity=" + capacity + "]";
+	}
+
+}
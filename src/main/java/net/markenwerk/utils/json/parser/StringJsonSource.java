@@ -30,7 +30,7 @@ import java.io.IOException;
  * @author Torsten Krause (tk at markenwerk dot net)
  * @since 1.0.0
  */
-public final class StringJsonSource implements JsonSource {
+public final class StringJsonSource implements BulkJsonSource {
 
 	private String string;
 
@@ -96,18 +96,36 @@ public final class StringJsonSource implements JsonSource {
 	@Override
 	public String nextString(int length) {
 		String substring = string.substring(position, position + length);
-		for (int i = 0; i < length; i++) {
-			nextCharacter();
-		}
+		consume(length);
 		return substring;
 	}
 
 	@Override
 	public void appendNextString(StringBuilder builder, int length) {
 		builder.append(string, position, position + length);
-		for (int i = 0; i < length; i++) {
-			nextCharacter();
+		consume(length);
+	}
+
+	@Override
+	public void copyNextString(char[] buffer, int offset, int length) {
+		string.getChars(position, position + length, buffer, offset);
+		consume(length);
+	}
+
+	@Override
+	public void skipNextString(int length) {
+		consume(length);
+	}
+
+	private void consume(int length) {
+		for (int i = position, n = position + length; i < n; i++) {
+			if ('\n' == string.charAt(i)) {
+				lastNewLinePosition = i + 1;
+				column = 1;
+				line += 1;
+			}
 		}
+		position += length;
 	}
 
 	@Override
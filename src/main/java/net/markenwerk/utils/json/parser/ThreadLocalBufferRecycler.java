@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link ThreadLocalBufferRecycler} is a {@link BufferRecycler} that retains
+ * at most one {@code char[]} and one {@code byte[]} per size class and thread.
+ * 
+ * <p>
+ * Acquiring and releasing a buffer doesn't require any synchronization. A
+ * buffer should be released by the same thread that acquired it.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ThreadLocalBufferRecycler extends AbstractBufferRecycler {
+
+	private final ThreadLocal<char[][]> characters = new ThreadLocal<char[][]>() {
+
+		@Override
+		protected char[][] initialValue() {
+			return new char[SIZE_CLASSES][];
+		}
+
+	};
+
+	private final ThreadLocal<byte[][]> bytes = new ThreadLocal<byte[][]>() {
+
+		@Override
+		protected byte[][] initialValue() {
+			return new byte[SIZE_CLASSES][];
+		}
+
+	};
+
+	@Override
+	char[] takeCharacters(int sizeClass) {
+		char[][] buffers = characters.get();
+		char[] buffer = buffers[sizeClass];
+		buffers[sizeClass] = null;
+		return buffer;
+	}
+
+	@Override
+	void putCharacters(int sizeClass, char[] buffer) {
+		characters.get()[sizeClass] = buffer;
+	}
+
+	@Override
+	byte[] takeBytes(int sizeClass) {
+		byte[][] buffers = bytes.get();
+		byte[] buffer = buffers[sizeClass];
+		buffers[sizeClass] = null;
+		return buffer;
+	}
+
+	@Override
+	void putBytes(int sizeClass, byte[] buffer) {
+		bytes.get()[sizeClass] = buffer;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+/**
+ * A {@link ThreadLocalJsonParserPool} is a {@link JsonParserPool} that retains
+ * at most one {@link DefaultJsonPullParser} and one
+ * {@link DefaultJsonPushParser} per thread.
+ * 
+ * <p>
+ * Obtaining and releasing a parser doesn't contend with other threads. A
+ * parser should be released by the same thread that obtained it.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 3.1.0
+ */
+public final class ThreadLocalJsonParserPool extends AbstractJsonParserPool {
+
+	private final ThreadLocal<DefaultJsonPullParser> pullParsers = new ThreadLocal<DefaultJsonPullParser>();
+
+	private final ThreadLocal<DefaultJsonPushParser> pushParsers = new ThreadLocal<DefaultJsonPushParser>();
+
+	/**
+	 * Creates a new {@link ThreadLocalJsonParserPool}.
+	 * 
+	 * @param modes
+	 *            Selection of {@link JsonParserMode JsonParserModes} to be used
+	 *            by the created parsers.
+	 */
+	public ThreadLocalJsonParserPool(JsonParserMode... modes) {
+		super(modes);
+	}
+
+	@Override
+	DefaultJsonPullParser takePullParser() {
+		DefaultJsonPullParser parser = pullParsers.get();
+		if (null != parser) {
+			pullParsers.remove();
+		}
+		return parser;
+	}
+
+	@Override
+	void putPullParser(DefaultJsonPullParser parser) {
+		if (null == pullParsers.get()) {
+			pullParsers.set(parser);
+		}
+	}
+
+	@Override
+	DefaultJsonPushParser takePushParser() {
+		DefaultJsonPushParser parser = pushParsers.get();
+		if (null != parser) {
+			pushParsers.remove();
+		}
+		return parser;
+	}
+
+	@Override
+	void putPushParser(DefaultJsonPushParser parser) {
+		if (null == pushParsers.get()) {
+			pushParsers.set(parser);
+		}
+	}
+
+}
@@ -21,8 +21,18 @@
  */
 package net.markenwerk.utils.json.parser;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.util.UUID;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -456,6 +466,38 @@ public abstract class AbstractJsonPullParserTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_singleNegativeFloat() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[-1.5,1e-50]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(-1.5f, jsonParser.nextFloat(), 0e-10f);
+			Assert.assertEquals(0f, jsonParser.nextFloat(), 0e-10f);
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void literal_singleTooSmallFloat() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("-1e39"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextFloat();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("javadoc")
 	public void literal_singleInvalidLiteal() throws IOException {
@@ -463,12 +505,437 @@ public abstract class AbstractJsonPullParserTests {
 		try {
 
 			jsonParser.beginDocument();
-			jsonParser.currentState();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_truncatedKeyword() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("nul"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_extendedKeyword() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("truex"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_empty() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals("", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nonEmpty() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foo\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals("foo", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_veryLarge() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString();
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"" + value + "\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals(value, jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_readEmpty() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals("", readString(jsonParser.readString()));
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_readNonEmpty() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foo\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals("foo", readString(jsonParser.readString()));
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_readVeryLarge() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString();
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"" + value + "\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals(value, readString(jsonParser.readString()));
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_readVeryLargeEscaped() throws IOException, JsonSyntaxException {
+		StringBuilder json = new StringBuilder();
+		StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			char character = (char) ('a' + i % 26);
+			json.append(character);
+			value.append(character);
+			if (0 == i % 97) {
+				json.append("\\n\\u00e4\\\"");
+				value.append("\n\u00e4\"");
+			}
+		}
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"" + json + "\",\n 42]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
+			Assert.assertEquals(value.toString(), readString(jsonParser.readString()));
+			Assert.assertEquals(42, jsonParser.nextLong());
+			Assert.assertEquals(2, jsonParser.getLine());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_readUnterminated() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foo"));
+		try {
+
+			jsonParser.beginDocument();
+			readString(jsonParser.readString());
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertTrue(exception.getCause() instanceof JsonSyntaxException);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoCharArray() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"foo\\nbar\", \"\", \"baz\"]"));
+		try {
+
+			char[] buffer = new char[16];
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(7, jsonParser.nextString(buffer, 1));
+			Assert.assertEquals("foo\nbar", new String(buffer, 1, 7));
+			Assert.assertEquals(0, jsonParser.nextString(buffer, 0));
+			Assert.assertEquals(3, jsonParser.nextString(buffer, 0));
+			Assert.assertEquals("baz", new String(buffer, 0, 3));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoCharBufferOverflow() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foobar\""));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextString(CharBuffer.allocate(5));
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoCharArrayOverflow_skipsRest() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"a, 5, 6\"]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			try {
+				jsonParser.nextString(new char[1], 0);
+				throw new RuntimeException("Expected BufferOverflowException");
+			} catch (BufferOverflowException e) {
+			}
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoCharBufferOverflow_skipsEscapedRest() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"ab\\\"c\\\\\", 7]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			try {
+				jsonParser.nextString(CharBuffer.allocate(3));
+				throw new RuntimeException("Expected BufferOverflowException");
+			} catch (BufferOverflowException e) {
+			}
+			Assert.assertEquals(7L, jsonParser.nextLong());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoAppendable() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString();
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"" + value + "\",\"a\\tb\"]"));
+		try {
+
+			StringWriter writer = new StringWriter();
+			StringBuilder builder = new StringBuilder();
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(value.length(), jsonParser.nextString(writer));
+			Assert.assertEquals(3, jsonParser.nextString(builder));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+			Assert.assertEquals(value, writer.toString());
+			Assert.assertEquals("a\tb", builder.toString());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_nextIntoOutputStream() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString() + "\u00e4\u20ac\ud83d\ude00";
+		String json = "[\"" + value + "\",\"\\u00e4\\u20ac\\ud83d\\ude00\"]";
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(json));
+		try {
+
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			ByteArrayOutputStream channelStream = new ByteArrayOutputStream();
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(value.getBytes("UTF-8").length, jsonParser.nextString(stream));
+			Assert.assertEquals(9, jsonParser.nextString(Channels.newChannel(channelStream)));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+			Assert.assertEquals(value, new String(stream.toByteArray(), "UTF-8"));
+			Assert.assertEquals("\u00e4\u20ac\ud83d\ude00", new String(channelStream.toByteArray(), "UTF-8"));
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void base64_nextBytes() throws IOException, JsonSyntaxException {
+		String json = "[\"Zm9vYmFy\", \"Zm9vYg==\", \"Zm9vYmE\", \"\", \"-_-_\", \"+\\/+\\/\", \"Zm9v\\nYmFy\"]";
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(json));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals("foobar", new String(jsonParser.nextBase64Bytes(), "UTF-8"));
+			Assert.assertEquals("foob", new String(jsonParser.nextBase64Bytes(), "UTF-8"));
+			Assert.assertEquals("fooba", new String(jsonParser.nextBase64Bytes(), "UTF-8"));
+			Assert.assertArrayEquals(new byte[0], jsonParser.nextBase64Bytes());
+			Assert.assertArrayEquals(new byte[] { -5, -1, -65 }, jsonParser.nextBase64Bytes());
+			Assert.assertArrayEquals(new byte[] { -5, -1, -65 }, jsonParser.nextBase64Bytes());
+			Assert.assertEquals("foobar", new String(jsonParser.nextBase64Bytes(), "UTF-8"));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void base64_nextVeryLarge() throws IOException, JsonSyntaxException {
+		byte[] bytes = createVeryLargeBytes();
+		String value = encodeBase64(bytes);
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"" + value + "\",\"" + value
+				+ "\",\"" + value + "\"]"));
+		try {
+
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(bytes.length, jsonParser.nextBase64(stream));
+			Assert.assertArrayEquals(bytes, stream.toByteArray());
+			Assert.assertArrayEquals(bytes, jsonParser.nextBase64Bytes());
+			Assert.assertArrayEquals(bytes, readBytes(jsonParser.readBase64()));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void base64_readClose() throws IOException, JsonSyntaxException {
+		String value = encodeBase64(createVeryLargeBytes());
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"" + value + "\",42]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			InputStream stream = jsonParser.readBase64();
+			Assert.assertTrue(-1 != stream.read());
+			stream.close();
+			Assert.assertEquals(42, jsonParser.nextLong());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void base64_invalidCharacter() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"Zm9v*mFy\""));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextBase64Bytes();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void base64_incomplete() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"Zm9vY\""));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextBase64Bytes();
 
-			throw new RuntimeException("Expected JsonSyntaxException");
-		} catch (JsonSyntaxException exception) {
+		} finally {
+			jsonParser.close();
+		}
+	}
 
-			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void base64_invalidPadding() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"Zm9vYg=\""));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextBase64Bytes();
 
 		} finally {
 			jsonParser.close();
@@ -477,13 +944,50 @@ public abstract class AbstractJsonPullParserTests {
 
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_empty() throws IOException, JsonSyntaxException {
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\""));
+	public void base64_readInvalidCharacter() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"Zm9v*mFy\""));
 		try {
 
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals("", jsonParser.nextString());
+			readBytes(jsonParser.readBase64());
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertTrue(exception.getCause() instanceof JsonValueException);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void base64_invalidCharacter_skipsRest() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"QUFB!QUFB\", \"QUFB\\u0021QU\\\"FB\","
+				+ " \"QUFB!QUFB\", 7]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			try {
+				jsonParser.nextBase64Bytes();
+				throw new RuntimeException("Expected JsonValueException");
+			} catch (JsonValueException e) {
+			}
+			try {
+				jsonParser.nextBase64(new ByteArrayOutputStream());
+				throw new RuntimeException("Expected JsonValueException");
+			} catch (JsonValueException e) {
+			}
+			try {
+				readBytes(jsonParser.readBase64());
+				throw new RuntimeException("Expected IOException");
+			} catch (IOException e) {
+				Assert.assertTrue(e.getCause() instanceof JsonValueException);
+			}
+			Assert.assertEquals(7L, jsonParser.nextLong());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -491,15 +995,54 @@ public abstract class AbstractJsonPullParserTests {
 		}
 	}
 
+	static byte[] createVeryLargeBytes() {
+		byte[] bytes = new byte[10000];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) (i * 31);
+		}
+		return bytes;
+	}
+
+	static String encodeBase64(byte[] bytes) {
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < bytes.length; i += 3) {
+			int bits = (bytes[i] & 0xFF) << 16;
+			bits |= i + 1 < bytes.length ? (bytes[i + 1] & 0xFF) << 8 : 0;
+			bits |= i + 2 < bytes.length ? bytes[i + 2] & 0xFF : 0;
+			builder.append(alphabet.charAt(bits >> 18));
+			builder.append(alphabet.charAt((bits >> 12) & 0x3F));
+			builder.append(i + 1 < bytes.length ? alphabet.charAt((bits >> 6) & 0x3F) : '=');
+			builder.append(i + 2 < bytes.length ? alphabet.charAt(bits & 0x3F) : '=');
+		}
+		return builder.toString();
+	}
+
+	private byte[] readBytes(InputStream stream) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[100];
+		int length;
+		while (-1 != (length = stream.read(buffer))) {
+			bytes.write(buffer, 0, length);
+		}
+		stream.close();
+		return bytes.toByteArray();
+	}
+
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_nonEmpty() throws IOException, JsonSyntaxException {
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foo\""));
+	public void timestamp_next() throws IOException, JsonSyntaxException {
+		String json = "[\"2016-05-23T12:34:56.789Z\", \"2016-05-23T12:34:56.789\\u002b02:00\", "
+				+ "\"2016-05-23T12:34:56.789012345Z\"]";
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(json));
 		try {
 
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals("foo", jsonParser.nextString());
+			jsonParser.beginArray();
+			Assert.assertEquals(1464006896789L, jsonParser.nextEpochMillis());
+			Assert.assertEquals(1463999696789L, jsonParser.nextEpochMillis());
+			Assert.assertEquals(1464006896789012345L, jsonParser.nextEpochNanos());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -509,14 +1052,19 @@ public abstract class AbstractJsonPullParserTests {
 
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_veryLarge() throws IOException, JsonSyntaxException {
-		String value = createVeryLargeString();
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"" + value + "\""));
+	public void timestamp_invalid() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"yesterday\", 42]"));
 		try {
 
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals(value, jsonParser.nextString());
+			jsonParser.beginArray();
+			try {
+				jsonParser.nextEpochMillis();
+				throw new RuntimeException("Expected JsonValueException");
+			} catch (JsonValueException exception) {
+			}
+			Assert.assertEquals(42, jsonParser.nextLong());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -526,13 +1074,17 @@ public abstract class AbstractJsonPullParserTests {
 
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_readEmpty() throws IOException, JsonSyntaxException {
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\""));
+	public void uuid_next() throws IOException, JsonSyntaxException {
+		String json = "[\"123e4567-e89b-12d3-a456-426655440000\", \"123e4567-e89b-12d3-a456-42665544000\\u0030\"]";
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(json));
 		try {
 
+			UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals("", readString(jsonParser.readString()));
+			jsonParser.beginArray();
+			Assert.assertEquals(uuid, jsonParser.nextUuid());
+			Assert.assertEquals(uuid, jsonParser.nextUuid());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -542,13 +1094,21 @@ public abstract class AbstractJsonPullParserTests {
 
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_readNonEmpty() throws IOException, JsonSyntaxException {
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"foo\""));
+	public void enum_next() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"NAME\", \"NUL\\u004C\", \"nope\", 1]"));
 		try {
 
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals("foo", readString(jsonParser.readString()));
+			jsonParser.beginArray();
+			Assert.assertEquals(JsonState.NAME, jsonParser.nextEnum(JsonState.class));
+			Assert.assertEquals(JsonState.NULL, jsonParser.nextEnum(JsonState.class));
+			try {
+				jsonParser.nextEnum(JsonState.class);
+				throw new RuntimeException("Expected JsonValueException");
+			} catch (JsonValueException exception) {
+			}
+			Assert.assertEquals(1, jsonParser.nextLong());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -558,14 +1118,48 @@ public abstract class AbstractJsonPullParserTests {
 
 	@Test
 	@SuppressWarnings("javadoc")
-	public void string_readVeryLarge() throws IOException, JsonSyntaxException {
-		String value = createVeryLargeString();
-		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"" + value + "\""));
+	public void number_nextFromString() throws IOException, JsonSyntaxException {
+		String json = "[\"9007199254740993\", 42, \"-1\\u0032\", \"1234.50\", \"-4.2e1\", 4.5, 7]";
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(json));
 		try {
 
 			jsonParser.beginDocument();
-			Assert.assertEquals(JsonState.STRING, jsonParser.currentState());
-			Assert.assertEquals(value, readString(jsonParser.readString()));
+			jsonParser.beginArray();
+			Assert.assertEquals(9007199254740993L, jsonParser.nextLongFromString());
+			Assert.assertEquals(42L, jsonParser.nextLongFromString());
+			Assert.assertEquals(-12L, jsonParser.nextLongFromString());
+			Assert.assertEquals(1234.5, jsonParser.nextDoubleFromString(), 0);
+			Assert.assertEquals(-42.0, jsonParser.nextDoubleFromString(), 0);
+			Assert.assertEquals(4.5, jsonParser.nextDoubleFromString(), 0);
+			Assert.assertEquals(7.0, jsonParser.nextDoubleFromString(), 0);
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void number_nextFromStringInvalid() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"1234.50\", true]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			try {
+				jsonParser.nextLongFromString();
+				throw new RuntimeException("Expected JsonValueException");
+			} catch (JsonValueException exception) {
+			}
+			try {
+				jsonParser.nextDoubleFromString();
+				throw new RuntimeException("Expected IllegalStateException");
+			} catch (IllegalStateException exception) {
+			}
+			Assert.assertTrue(jsonParser.nextBoolean());
+			jsonParser.endArray();
 			jsonParser.endDocument();
 
 		} finally {
@@ -584,7 +1178,7 @@ public abstract class AbstractJsonPullParserTests {
 		return builder.toString();
 	}
 
-	private String createVeryLargeString() {
+	static String createVeryLargeString() {
 		StringBuilder builder = new StringBuilder();
 		for (int i = 0; i < 10000; i++) {
 			builder.append((char) ('a' + i % 26));
@@ -755,6 +1349,61 @@ public abstract class AbstractJsonPullParserTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_signedUnicodeEscapeSequence() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\\u+0e4\""));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextString();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_UNICODE_ESCAPE_SEQUENCE, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_mixedCaseUnicodeEscapeSequences() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("\"\\u00E4\\u00e4\\uD83D\\ude00\""));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("\u00e4\u00e4\ud83d\ude00", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_keywordsWithoutWhitespace() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[null,true,false,-0,1.5]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			jsonParser.nextNull();
+			Assert.assertTrue(jsonParser.nextBoolean());
+			Assert.assertFalse(jsonParser.nextBoolean());
+			Assert.assertEquals(0L, jsonParser.nextLong());
+			Assert.assertEquals(1.5, jsonParser.nextDouble(), 0);
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("javadoc")
 	public void emptyArray() throws IOException, JsonSyntaxException {
@@ -1730,6 +2379,165 @@ public abstract class AbstractJsonPullParserTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextLongArray() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(
+				"[[], [ 1 , -2,0,007, 123456789012345678, -9223372036854775808, 9223372036854775807], true]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertArrayEquals(new long[0], jsonParser.nextLongArray());
+			Assert.assertArrayEquals(new long[] { 1, -2, 0, 7, 123456789012345678L, Long.MIN_VALUE, Long.MAX_VALUE },
+					jsonParser.nextLongArray());
+			Assert.assertTrue(jsonParser.nextBoolean());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextLongArray_nonInteger() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[1,2.5]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextLongArray();
+
+			throw new RuntimeException("Expected IllegalStateException");
+		} catch (IllegalStateException exception) {
+
+			Assert.assertEquals(JsonState.DOUBLE, jsonParser.currentState());
+			Assert.assertEquals(2.5, jsonParser.nextDouble(), 0);
+			jsonParser.endArray();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextLongArray_buffer() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[1,2,3]"));
+		try {
+
+			LongBuffer buffer = LongBuffer.allocate(4);
+			jsonParser.beginDocument();
+			Assert.assertEquals(3, jsonParser.nextLongArray(buffer));
+			jsonParser.endDocument();
+
+			Assert.assertEquals(3, buffer.position());
+			Assert.assertEquals(3, buffer.get(2));
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	@SuppressWarnings("javadoc")
+	public void nextLongArray_bufferOverflow() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[1,2,3]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextLongArray(LongBuffer.allocate(2));
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextIntArray() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[[1,-2],[2147483648]]"));
+		try {
+
+			IntBuffer buffer = IntBuffer.allocate(2);
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(2, jsonParser.nextIntArray(buffer));
+			Assert.assertEquals(-2, buffer.get(1));
+			jsonParser.nextIntArray();
+
+			throw new RuntimeException("Expected JsonValueException");
+		} catch (JsonValueException exception) {
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextDoubleArray() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(
+				"[[1.5,-2,0.1,-0.0,1e3,1E-3,2.5e+2,123456789012345678901234567890,4.9e-324],[[1.0,2.0],[3,4]]]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertArrayEquals(new double[] { 1.5, -2, 0.1, -0.0, 1e3, 1e-3, 250,
+					123456789012345678901234567890.0, Double.MIN_VALUE }, jsonParser.nextDoubleArray(), 0);
+			jsonParser.beginArray();
+			DoubleBuffer buffer = DoubleBuffer.allocate(4);
+			while (jsonParser.hasNextElement()) {
+				jsonParser.nextDoubleArray(buffer);
+			}
+			Assert.assertArrayEquals(new double[] { 1, 2, 3, 4 }, buffer.array(), 0);
+			jsonParser.endArray();
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextDoubleArray_invalidLiteral() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[1.5,1.2.3]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextDoubleArray();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void nextDoubleArray_dangelingComma() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[1.5,]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.nextDoubleArray();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_ARRAY_VALUE, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
 	@SuppressWarnings("javadoc")
 	protected abstract JsonSource getSource(String string);
 
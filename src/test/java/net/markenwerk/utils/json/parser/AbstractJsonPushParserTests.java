@@ -282,6 +282,42 @@ public abstract class AbstractJsonPushParserTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_truncatedKeyword() throws IOException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource("nul"));
+		try {
+
+			jsonParser.handle(new NullJsonHandler());
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_extendedKeyword() throws IOException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource("truex"));
+		try {
+
+			jsonParser.handle(new NullJsonHandler());
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
 	@Test
 	@SuppressWarnings("javadoc")
 	public void string_singleEmptyString() throws IOException, JsonSyntaxException {
@@ -1187,6 +1223,291 @@ public abstract class AbstractJsonPushParserTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("javadoc")
+	public void batchingHandler_runs() throws IOException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(
+				getSource("[1, 2,3.5,-4.5e1 ,\"x\",5,[6,7.0],{\"a\":8},9]"));
+		try {
+
+			String result = jsonParser.handle(new BatchRecordingHandler());
+
+			Assert.assertEquals("<[L(1,2),D(3.5,-45.0),S(x),L(5),[L(6),D(7.0)],{N(a)l(8)},L(9)]>", result);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void batchingHandler_largeRun() throws IOException {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 3000; i++) {
+			builder.append(0 == i ? "" : ",").append(i);
+		}
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource(builder.append("]").toString()));
+		try {
+
+			BatchRecordingHandler handler = new BatchRecordingHandler();
+			jsonParser.handle(handler);
+
+			Assert.assertEquals(3, handler.batches);
+			Assert.assertEquals(3000, handler.values);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void batchingHandler_invalidNumber() throws IOException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource("[1,2-3]"));
+		try {
+
+			jsonParser.handle(new BatchRecordingHandler());
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_LITERAL, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void charSequenceHandler() throws IOException {
+		StringBuilder longValue = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			longValue.append((char) ('a' + i % 26));
+		}
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource("{\"a\":\"b\\nc\",\"\":[\"\",\""
+				+ longValue + "\"],\"\\u0064\":\"e\"}"));
+		try {
+
+			String result = jsonParser.handle(new CharSequenceRecordingHandler());
+
+			Assert.assertEquals("<{N(a)S(b\nc),N()[S(),S(" + longValue + ")],N(d)S(e)}>", result);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void charSequenceHandler_unterminatedString() throws IOException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(getSource("[\"foo"));
+		try {
+
+			jsonParser.handle(new CharSequenceRecordingHandler());
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.UNTERMINATED_STRING, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	private static final class CharSequenceRecordingHandler implements CharSequenceJsonHandler<String> {
+
+		private final StringBuilder builder = new StringBuilder();
+
+		@Override
+		public void onDocumentBegin() {
+			builder.append('<');
+		}
+
+		@Override
+		public void onDocumentEnd() {
+			builder.append('>');
+		}
+
+		@Override
+		public void onArrayBegin() {
+			builder.append('[');
+		}
+
+		@Override
+		public void onArrayEnd() {
+			builder.append(']');
+		}
+
+		@Override
+		public void onObjectBegin() {
+			builder.append('{');
+		}
+
+		@Override
+		public void onName(String name) {
+			throw new AssertionError();
+		}
+
+		@Override
+		public void onName(CharSequence name) {
+			builder.append("N(").append(name).append(')');
+		}
+
+		@Override
+		public void onObjectEnd() {
+			builder.append('}');
+		}
+
+		@Override
+		public void onNext() {
+			builder.append(',');
+		}
+
+		@Override
+		public void onNull() {
+			builder.append("null");
+		}
+
+		@Override
+		public void onBoolean(boolean value) {
+			builder.append(value);
+		}
+
+		@Override
+		public void onLong(long value) {
+			builder.append(value);
+		}
+
+		@Override
+		public void onDouble(double value) {
+			builder.append(value);
+		}
+
+		@Override
+		public void onString(String value) {
+			throw new AssertionError();
+		}
+
+		@Override
+		public void onString(CharSequence value) {
+			builder.append("S(");
+			for (int i = 0, n = value.length(); i < n; i++) {
+				builder.append(value.charAt(i));
+			}
+			builder.append(')');
+		}
+
+		@Override
+		public String getResult() {
+			return builder.toString();
+		}
+
+	}
+
+	private static final class BatchRecordingHandler implements BatchingJsonHandler<String> {
+
+		private final StringBuilder builder = new StringBuilder();
+
+		private int batches;
+
+		private int values;
+
+		@Override
+		public void onDocumentBegin() {
+			builder.append('<');
+		}
+
+		@Override
+		public void onDocumentEnd() {
+			builder.append('>');
+		}
+
+		@Override
+		public void onArrayBegin() {
+			builder.append('[');
+		}
+
+		@Override
+		public void onArrayEnd() {
+			builder.append(']');
+		}
+
+		@Override
+		public void onObjectBegin() {
+			builder.append('{');
+		}
+
+		@Override
+		public void onName(String name) {
+			builder.append("N(").append(name).append(')');
+		}
+
+		@Override
+		public void onObjectEnd() {
+			builder.append('}');
+		}
+
+		@Override
+		public void onNext() {
+			builder.append(',');
+		}
+
+		@Override
+		public void onNull() {
+			builder.append("null");
+		}
+
+		@Override
+		public void onBoolean(boolean value) {
+			builder.append(value);
+		}
+
+		@Override
+		public void onLong(long value) {
+			builder.append("l(").append(value).append(')');
+		}
+
+		@Override
+		public void onDouble(double value) {
+			builder.append("d(").append(value).append(')');
+		}
+
+		@Override
+		public void onString(String value) {
+			builder.append("S(").append(value).append(')');
+		}
+
+		@Override
+		public void onLongs(long[] values, int count) {
+			batches++;
+			this.values += count;
+			builder.append("L(");
+			for (int i = 0; i < count; i++) {
+				builder.append(0 == i ? "" : ",").append(values[i]);
+			}
+			builder.append(')');
+		}
+
+		@Override
+		public void onDoubles(double[] values, int count) {
+			batches++;
+			this.values += count;
+			builder.append("D(");
+			for (int i = 0; i < count; i++) {
+				builder.append(0 == i ? "" : ",").append(values[i]);
+			}
+			builder.append(')');
+		}
+
+		@Override
+		public String getResult() {
+			return builder.toString();
+		}
+
+	}
+
 	@SuppressWarnings("javadoc")
 	protected abstract JsonSource getSource(String string);
 
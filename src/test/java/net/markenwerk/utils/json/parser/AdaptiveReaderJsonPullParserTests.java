@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link ReaderJsonSource} that grows its buffer.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class AdaptiveReaderJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_maximumSizeTooSmall() {
+		new ReaderJsonSource(new StringReader("null"), 256, 128);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_expectedLength() {
+
+		Assert.assertEquals(1001, new ReaderJsonSource(new StringReader(""), 128, 4096, 1000, null).getBufferSize());
+		Assert.assertEquals(4096, new ReaderJsonSource(new StringReader(""), 128, 4096, 5000, null).getBufferSize());
+		Assert.assertEquals(128, new ReaderJsonSource(new StringReader(""), 128, 4096, -1, null).getBufferSize());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void buffer_grows() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString();
+		ReaderJsonSource source = new ReaderJsonSource(new StringReader("\"" + value + "\""), 128, 4096);
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source);
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(value, jsonParser.nextString());
+			jsonParser.endDocument();
+			Assert.assertEquals(4096, source.getBufferSize());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void buffer_releasesGrownBuffers() throws IOException, JsonSyntaxException {
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+		String value = createVeryLargeString();
+		ReaderJsonSource source = new ReaderJsonSource(new StringReader("\"" + value + "\""), 128, 4096, -1,
+				recycler);
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source);
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(value, jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+
+		Assert.assertEquals(0, source.getBufferSize());
+		Assert.assertTrue(0 != recycler.acquireCharacters(4096)[0]);
+
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new ReaderJsonSource(new StringReader(string), 128, 4096);
+	}
+
+}
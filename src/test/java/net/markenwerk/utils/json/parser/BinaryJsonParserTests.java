@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.handler.replay.JsonReplay;
+import net.markenwerk.utils.json.common.handler.replay.RecordingJsonHandler;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.BooleanJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DoubleJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.LongJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NameJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NextJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NullJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ObjectBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ObjectEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.StringJsonEvent;
+
+/**
+ * JUnit test for {@link BinaryJsonHandler}, {@link BinaryJsonPullParser} and
+ * {@link BinaryJsonPushParser}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class BinaryJsonParserTests {
+
+	private static final String DOCUMENT = "{\"a\":[1,-2,9223372036854775807,-9223372036854775808,[],{}],"
+			+ "\"b\":{\"c\":\"d\",\"e\":null,\"f\":true,\"g\":false},\"h\":-4.2e-1,\"i\":\"\\u00e4\\u20ac\\ud83d\\ude00\","
+			+ "\"a\":\"a\"}";
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullBytes() {
+		new BinaryJsonPullParser((byte[]) null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void push_replay() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("{\"a\":[1,null],\"b\":{\"c\":true},\"d\":\"e\"}")
+				.handle(new BinaryJsonHandler());
+		JsonReplay replay = new BinaryJsonPushParser(bytes).handle(new RecordingJsonHandler());
+
+		// @formatter:off
+		replay.assertEquals(
+			new DocumentBeginJsonEvent(),
+			new ObjectBeginJsonEvent(),
+			new NameJsonEvent("a"),
+			new ArrayBeginJsonEvent(),
+			new LongJsonEvent(1),
+			new NextJsonEvent(),
+			new NullJsonEvent(),
+			new ArrayEndJsonEvent(),
+			new NextJsonEvent(),
+			new NameJsonEvent("b"),
+			new ObjectBeginJsonEvent(),
+			new NameJsonEvent("c"),
+			new BooleanJsonEvent(true),
+			new ObjectEndJsonEvent(),
+			new NextJsonEvent(),
+			new NameJsonEvent("d"),
+			new StringJsonEvent("e"),
+			new ObjectEndJsonEvent(),
+			new DocumentEndJsonEvent());
+		// @formatter:on
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void push_replayMultipleDocuments() throws IOException {
+
+		JsonSource source = new StringJsonSource("[1] 2.5");
+		byte[] bytes = new DefaultJsonPushParser(source, JsonParserMode.MULTI_DOCUMENT_MODE)
+				.handle(new BinaryJsonHandler());
+		JsonReplay replay = new BinaryJsonPushParser(bytes).handle(new RecordingJsonHandler());
+
+		// @formatter:off
+		replay.assertEquals(
+			new DocumentBeginJsonEvent(),
+			new ArrayBeginJsonEvent(),
+			new LongJsonEvent(1),
+			new ArrayEndJsonEvent(),
+			new DocumentEndJsonEvent(),
+			new DocumentBeginJsonEvent(),
+			new DoubleJsonEvent(2.5),
+			new DocumentEndJsonEvent());
+		// @formatter:on
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_values() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser(DOCUMENT).handle(new BinaryJsonHandler());
+		JsonPullParser parser = new BinaryJsonPullParser(ByteBuffer.wrap(bytes));
+		try {
+
+			parser.beginDocument();
+			parser.beginObject();
+			Assert.assertEquals("a", parser.nextName());
+			parser.beginArray();
+			Assert.assertEquals(1, parser.nextLong());
+			Assert.assertEquals(-2, parser.nextInteger());
+			Assert.assertEquals(Long.MAX_VALUE, parser.nextLong());
+			Assert.assertEquals(Long.MIN_VALUE, parser.nextLong());
+			parser.skipValue();
+			parser.skipValue();
+			Assert.assertFalse(parser.hasNextElement());
+			parser.endArray();
+			Assert.assertEquals("b", parser.nextName());
+			parser.skipValue();
+			Assert.assertEquals("h", parser.nextName());
+			Assert.assertEquals(-0.42, parser.nextDouble(), 0);
+			Assert.assertEquals("i", parser.nextName());
+			Assert.assertEquals("\u00e4\u20ac\ud83d\ude00", parser.nextString());
+			Assert.assertEquals("a", parser.nextName());
+			Assert.assertEquals("a", parser.nextString());
+			parser.endObject();
+			parser.endDocument();
+			Assert.assertEquals(JsonState.SOURCE_END, parser.currentState());
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_directBuffer() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("[\"\\u00e4\",{\"x\":[1]},true]").handle(new BinaryJsonHandler());
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+		buffer.put(new byte[2]).put(bytes).position(2);
+
+		JsonPullParser parser = new BinaryJsonPullParser(buffer);
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			Assert.assertEquals("\u00e4", parser.nextString());
+			parser.skipValue();
+			Assert.assertTrue(parser.nextBoolean());
+			parser.endArray();
+			parser.endDocument();
+
+		} finally {
+			parser.close();
+		}
+		Assert.assertEquals(2, buffer.position());
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_numberArrays() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("[[1,2],[3,4.5]]").handle(new BinaryJsonHandler());
+		JsonPullParser parser = new BinaryJsonPullParser(bytes);
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			Assert.assertArrayEquals(new int[] { 1, 2 }, parser.nextIntArray());
+			Assert.assertArrayEquals(new double[] { 3, 4.5 }, parser.nextDoubleArray(), 0);
+			parser.endArray();
+			parser.endDocument();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_stringSinks() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("[\"foo\",\"b\\u00e4r\"]").handle(new BinaryJsonHandler());
+		JsonPullParser parser = new BinaryJsonPullParser(bytes);
+		try {
+
+			char[] buffer = new char[3];
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			parser.beginDocument();
+			parser.beginArray();
+			Assert.assertEquals(3, parser.nextString(buffer, 0));
+			Assert.assertEquals(4, parser.nextString(stream));
+			parser.endArray();
+			parser.endDocument();
+
+			Assert.assertEquals("foo", new String(buffer));
+			Assert.assertEquals("b\u00e4r", new String(stream.toByteArray(), "UTF-8"));
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_base64() throws IOException {
+
+		byte[] value = AbstractJsonPullParserTests.createVeryLargeBytes();
+		String json = "[\"" + AbstractJsonPullParserTests.encodeBase64(value) + "\",\"Zm9vYg\"]";
+		byte[] bytes = new DefaultJsonPushParser(json).handle(new BinaryJsonHandler());
+		JsonPullParser parser = new BinaryJsonPullParser(bytes);
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			Assert.assertArrayEquals(value, parser.nextBase64Bytes());
+			Assert.assertEquals("foob", new String(parser.nextBase64Bytes(), "UTF-8"));
+			parser.endArray();
+			parser.endDocument();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_wrongState() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("[1]").handle(new BinaryJsonHandler());
+		JsonPullParser parser = new BinaryJsonPullParser(bytes);
+		try {
+
+			parser.beginDocument();
+			parser.beginObject();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_invalidHeader() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser("[1]".getBytes("UTF-8"));
+		try {
+
+			parser.currentState();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_truncated() throws IOException {
+
+		byte[] bytes = new DefaultJsonPushParser("[1.5]").handle(new BinaryJsonHandler());
+		byte[] truncated = new byte[bytes.length - 3];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		JsonPullParser parser = new BinaryJsonPullParser(truncated);
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_corruptStringLength() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser(createStringEvents(new byte[] { (byte) 0x80, (byte) 0x80,
+				(byte) 0x80, (byte) 0x80, 0x07 }, new byte[] { 1, 'a' }));
+		try {
+
+			parser.beginDocument();
+			parser.nextString();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("Invalid string encoding", exception.getMessage());
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_truncatedStringEncoding() throws IOException {
+
+		byte[] bytes = createStringEvents(new byte[] { 1 }, new byte[] { 1, (byte) 0xE3 });
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		JsonPullParser parser = new BinaryJsonPullParser(buffer);
+		try {
+
+			parser.beginDocument();
+			parser.nextString();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("Invalid string encoding", exception.getMessage());
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_corruptStringCount() throws IOException {
+
+		byte[] bytes = createStringEvents(new byte[] { 1 }, new byte[] { 1, 'a' });
+		bytes[BinaryJsonHandler.MAGIC.length + 1] = (byte) 0x7F;
+		JsonPullParser parser = new BinaryJsonPullParser(bytes);
+		try {
+
+			parser.beginDocument();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pull_unexpectedStructureEnd() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser(createEvents(BinaryJsonHandler.DOCUMENT_BEGIN,
+				BinaryJsonHandler.ARRAY_END, BinaryJsonHandler.ARRAY_BEGIN, 0, 0, 0, 1, BinaryJsonHandler.ARRAY_END,
+				BinaryJsonHandler.DOCUMENT_END));
+		try {
+
+			parser.beginDocument();
+			parser.currentState();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("Unexpected structure end at position 7", exception.getMessage());
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_mismatchedStructureEnd() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser(createEvents(BinaryJsonHandler.DOCUMENT_BEGIN,
+				BinaryJsonHandler.ARRAY_BEGIN, 0, 0, 0, 1, BinaryJsonHandler.OBJECT_END,
+				BinaryJsonHandler.DOCUMENT_END));
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			parser.endArray();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_misplacedStructureEnd() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser(createEvents(BinaryJsonHandler.DOCUMENT_BEGIN,
+				BinaryJsonHandler.ARRAY_BEGIN, 0, 0, 0, 1, BinaryJsonHandler.NULL, BinaryJsonHandler.ARRAY_END,
+				BinaryJsonHandler.DOCUMENT_END));
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			parser.nextNull();
+			parser.endArray();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	@SuppressWarnings("javadoc")
+	public void pull_skipMisplacedStructureEnd() throws IOException {
+
+		JsonPullParser parser = new BinaryJsonPullParser(createEvents(BinaryJsonHandler.DOCUMENT_BEGIN,
+				BinaryJsonHandler.ARRAY_BEGIN, 0, 0, 0, 1, BinaryJsonHandler.NULL, BinaryJsonHandler.ARRAY_END,
+				BinaryJsonHandler.DOCUMENT_END));
+		try {
+
+			parser.beginDocument();
+			parser.skipValue();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	private static byte[] createEvents(int... events) {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		stream.write(BinaryJsonHandler.MAGIC, 0, BinaryJsonHandler.MAGIC.length);
+		stream.write(BinaryJsonHandler.VERSION);
+		stream.write(0);
+		for (int event : events) {
+			stream.write(event);
+		}
+		return stream.toByteArray();
+	}
+
+	private static byte[] createStringEvents(byte[] length, byte[] encoding) {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		stream.write(BinaryJsonHandler.MAGIC, 0, BinaryJsonHandler.MAGIC.length);
+		stream.write(BinaryJsonHandler.VERSION);
+		stream.write(1);
+		stream.write(length, 0, length.length);
+		stream.write(encoding, 0, encoding.length);
+		stream.write(BinaryJsonHandler.DOCUMENT_BEGIN);
+		stream.write(BinaryJsonHandler.STRING);
+		stream.write(0);
+		stream.write(BinaryJsonHandler.DOCUMENT_END);
+		return stream.toByteArray();
+	}
+
+}
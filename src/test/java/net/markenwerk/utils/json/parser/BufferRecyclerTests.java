@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ThreadLocalBufferRecycler} and
+ * {@link SharedBufferRecycler}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class BufferRecyclerTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_negativeCapacity() {
+		new SharedBufferRecycler(-1);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void acquire_negativeSize() {
+		new ThreadLocalBufferRecycler().acquireCharacters(-1);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void release_null() {
+		new ThreadLocalBufferRecycler().releaseBytes(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void acquire_roundsSize() {
+
+		BufferRecycler recycler = new ThreadLocalBufferRecycler();
+
+		Assert.assertEquals(128, recycler.acquireCharacters(0).length);
+		Assert.assertEquals(128, recycler.acquireCharacters(128).length);
+		Assert.assertEquals(256, recycler.acquireCharacters(129).length);
+		Assert.assertEquals(4096, recycler.acquireBytes(3000).length);
+		Assert.assertEquals(3000000, recycler.acquireBytes(3000000).length);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_reusesBuffer() {
+
+		BufferRecycler recycler = new ThreadLocalBufferRecycler();
+
+		char[] first = recycler.acquireCharacters(1000);
+		recycler.releaseCharacters(first);
+		char[] second = recycler.acquireCharacters(1024);
+		char[] third = recycler.acquireCharacters(1024);
+
+		Assert.assertSame(first, second);
+		Assert.assertNotSame(second, third);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_perThread() throws InterruptedException {
+
+		final BufferRecycler recycler = new ThreadLocalBufferRecycler();
+		recycler.releaseBytes(recycler.acquireBytes(1024));
+
+		final byte[][] buffers = new byte[1][];
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				buffers[0] = recycler.acquireBytes(1024);
+			}
+
+		};
+		thread.start();
+		thread.join();
+
+		Assert.assertNotSame(recycler.acquireBytes(1024), buffers[0]);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void shared_capacity() {
+
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+
+		byte[] first = recycler.acquireBytes(512);
+		byte[] second = recycler.acquireBytes(512);
+		recycler.releaseBytes(first);
+		recycler.releaseBytes(second);
+
+		Assert.assertSame(first, recycler.acquireBytes(512));
+		Assert.assertNotSame(second, recycler.acquireBytes(512));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void shared_sizeClasses() {
+
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+
+		char[] small = recycler.acquireCharacters(128);
+		char[] large = recycler.acquireCharacters(256);
+		recycler.releaseCharacters(small);
+		recycler.releaseCharacters(large);
+
+		Assert.assertSame(large, recycler.acquireCharacters(256));
+		Assert.assertSame(small, recycler.acquireCharacters(128));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void shared_oddSizeNotPooled() {
+
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+
+		char[] buffer = new char[1000];
+		recycler.releaseCharacters(buffer);
+
+		Assert.assertNotSame(buffer, recycler.acquireCharacters(1000));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void readerSource_releasesBufferOnClose() throws IOException, JsonSyntaxException {
+
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+		char[] buffer = recycler.acquireCharacters(4096);
+		recycler.releaseCharacters(buffer);
+
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new ReaderJsonSource(new StringReader(
+				"[\"foo\",\"bar\"]"), 4096, recycler));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals("foo", jsonParser.nextString());
+			Assert.assertEquals("bar", jsonParser.nextString());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+
+		Assert.assertSame(buffer, recycler.acquireCharacters(4096));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void readerSource_usableAfterClose() throws IOException, JsonSyntaxException {
+
+		BufferRecycler recycler = new SharedBufferRecycler(1);
+		ReaderJsonSource source = new ReaderJsonSource(new StringReader("[\"foo\",\n\"bar\"]"), 4096, recycler);
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source);
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals("foo", jsonParser.nextString());
+			Assert.assertEquals("bar", jsonParser.nextString());
+
+		} finally {
+			jsonParser.close();
+		}
+		source.close();
+
+		Assert.assertEquals(0, source.getBufferSize());
+		Assert.assertEquals("", source.getPast(5));
+		Assert.assertEquals("", source.getFuture(5));
+		Assert.assertEquals(2, jsonParser.getLine());
+		Assert.assertEquals(6, jsonParser.getColumn());
+		Assert.assertNotNull(jsonParser.toString());
+		Assert.assertNotSame(recycler.acquireCharacters(4096), recycler.acquireCharacters(4096));
+
+	}
+
+}
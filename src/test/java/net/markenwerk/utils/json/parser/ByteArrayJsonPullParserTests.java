@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015, 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link ByteArrayJsonSource}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class ByteArrayJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullBytes() {
+		new DefaultJsonPullParser((byte[]) null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidSlice() {
+		new ByteArrayJsonSource(new byte[4], 2, 3);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_slice() throws IOException, JsonSyntaxException {
+		byte[] bytes = "[\"foo\", \"bar\"]".getBytes(Charset.forName("UTF-8"));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new ByteArrayJsonSource(bytes, 8, 5));
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("bar", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_mixedNonAscii() throws IOException, JsonSyntaxException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			builder.append(0 == i % 7 ? "\u00e4\u20ac\ud83d\ude00" : "foo");
+		}
+		String value = builder.toString();
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource("[\"" + value + "\",\"bar\"]"));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(value, jsonParser.nextString());
+			Assert.assertEquals("bar", jsonParser.nextString());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_alternatingNonAscii() throws IOException, JsonSyntaxException {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 500; i++) {
+			builder.append(0 == i ? "\"" : ",\"").append(getValue(i)).append("\"");
+		}
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(builder.append("]").toString()));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			for (int i = 0; i < 500; i++) {
+				Assert.assertEquals(getValue(i), jsonParser.nextString());
+			}
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	private static String getValue(int index) {
+		switch (index % 5) {
+		case 0:
+			return "\u00e4" + index;
+		case 3:
+			return index + "\ud83d\ude00" + index;
+		default:
+			return "value" + index;
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_malformed() throws IOException, JsonSyntaxException {
+		byte[] bytes = new byte[] { '"', 'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xC0, (byte) 0x80, '"' };
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(bytes);
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("a\ufffdb\ufffd\ufffd", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void string_byteOrderMark() throws IOException, JsonSyntaxException {
+		byte[] bytes = new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '"', 'f', 'o', 'o', '"' };
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(bytes);
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("foo", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new ByteArrayJsonSource(string.getBytes(Charset.forName("UTF-8")));
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link GzipJsonSource} that decompresses BGZF members in parallel.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class GzipJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, new ThreadFactory() {
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	});
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullInput() {
+		new GzipJsonSource(null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidParallelism() {
+		new GzipJsonSource(new ByteArrayInputStream(new byte[0]), EXECUTOR, 0);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void gzip_sequential() throws IOException, JsonSyntaxException {
+		String value = createVeryLargeString();
+		byte[] bytes = gzip(("[\"" + value + "\"]").getBytes(UTF_8));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new GzipJsonSource(new ByteArrayInputStream(
+				bytes)));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(value, jsonParser.nextString());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void gzip_mixedMembers() throws IOException, JsonSyntaxException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		stream.write(bgzf("[\"foo\",".getBytes(UTF_8), 3));
+		stream.write(gzip("\"bar\",".getBytes(UTF_8)));
+		stream.write(gzip("\"baz\"]".getBytes(UTF_8)));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new GzipJsonSource(new ByteArrayInputStream(
+				stream.toByteArray()), EXECUTOR, 4));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals("foo", jsonParser.nextString());
+			Assert.assertEquals("bar", jsonParser.nextString());
+			Assert.assertEquals("baz", jsonParser.nextString());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void gzip_corruptChecksum() throws JsonSyntaxException {
+		byte[] bytes = bgzf("[1,2,3]".getBytes(UTF_8), 100);
+		bytes[bytes.length - 8] ^= 1;
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new GzipJsonSource(new ByteArrayInputStream(
+				bytes), EXECUTOR, 4));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("Corrupt GZIP member checksum", exception.getMessage());
+
+		} finally {
+			try {
+				jsonParser.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void gzip_notCompressed() throws JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new GzipJsonSource(new ByteArrayInputStream(
+				"[1,2,3]".getBytes(UTF_8)), EXECUTOR, 4));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("Not in GZIP format", exception.getMessage());
+
+		} finally {
+			try {
+				jsonParser.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new GzipJsonSource(new ByteArrayInputStream(bgzf(string.getBytes(UTF_8), 50)), EXECUTOR, 4);
+	}
+
+	static byte[] gzip(byte[] bytes) {
+		try {
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			GZIPOutputStream gzipStream = new GZIPOutputStream(stream);
+			gzipStream.write(bytes);
+			gzipStream.close();
+			return stream.toByteArray();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	static byte[] bgzf(byte[] bytes, int memberSize) {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		byte[] compressed = new byte[2 * memberSize + 64];
+		for (int offset = 0; offset < bytes.length; offset += memberSize) {
+			int length = Math.min(memberSize, bytes.length - offset);
+			Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+			deflater.setInput(bytes, offset, length);
+			deflater.finish();
+			int compressedLength = deflater.deflate(compressed);
+			deflater.end();
+			CRC32 crc = new CRC32();
+			crc.update(bytes, offset, length);
+			int blockSize = 18 + compressedLength + 8 - 1;
+			stream.write(new byte[] { 0x1F, (byte) 0x8B, 8, 4, 0, 0, 0, 0, 0, (byte) 0xFF, 6, 0, 'B', 'C', 2, 0,
+					(byte) blockSize, (byte) (blockSize >> 8) }, 0, 18);
+			stream.write(compressed, 0, compressedLength);
+			writeInt(stream, (int) crc.getValue());
+			writeInt(stream, length);
+		}
+		return stream.toByteArray();
+	}
+
+	private static void writeInt(ByteArrayOutputStream stream, int value) {
+		stream.write(value);
+		stream.write(value >> 8);
+		stream.write(value >> 16);
+		stream.write(value >> 24);
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.handler.replay.JsonReplay;
+import net.markenwerk.utils.json.common.handler.replay.RecordingJsonHandler;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NameJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NextJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ObjectBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ObjectEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.StringJsonEvent;
+
+/**
+ * JUnit test for {@link JsonEventBuffer}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonEventBufferTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void record_nullParser() throws IOException {
+		new JsonEventBuffer().record(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void record_deferredDiscriminator() throws IOException {
+
+		JsonPullParser parser = new DefaultJsonPullParser("{\"payload\":{\"x\":[1,2.5]},\"type\":\"point\"}");
+		JsonEventBuffer buffer = new JsonEventBuffer();
+		try {
+
+			parser.beginDocument();
+			parser.beginObject();
+			Assert.assertEquals("payload", parser.nextName());
+			buffer.record(parser);
+			Assert.assertEquals("type", parser.nextName());
+			Assert.assertEquals("point", parser.nextString());
+			parser.endObject();
+			parser.endDocument();
+
+		} finally {
+			parser.close();
+		}
+
+		JsonPullParser buffered = buffer.pullParser();
+		buffered.beginDocument();
+		buffered.beginObject();
+		Assert.assertEquals("x", buffered.nextName());
+		buffered.beginArray();
+		Assert.assertEquals(1, buffered.nextLong());
+		Assert.assertEquals(2.5, buffered.nextDouble(), 0);
+		buffered.endArray();
+		buffered.endObject();
+		buffered.endDocument();
+		Assert.assertEquals(JsonState.SOURCE_END, buffered.currentState());
+
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void record_notAValue() throws IOException {
+
+		JsonPullParser parser = new DefaultJsonPullParser("{\"a\":1}");
+		try {
+
+			parser.beginDocument();
+			parser.beginObject();
+			new JsonEventBuffer().record(parser);
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void handler_replay() throws IOException {
+
+		JsonEventBuffer buffer = new DefaultJsonPushParser("{\"a\":[\"b\",\"c\"]}").handle(new JsonEventBuffer());
+
+		for (int i = 0; i < 2; i++) {
+
+			JsonReplay replay = buffer.replay(new RecordingJsonHandler());
+
+			// @formatter:off
+			replay.assertEquals(
+				new DocumentBeginJsonEvent(),
+				new ObjectBeginJsonEvent(),
+				new NameJsonEvent("a"),
+				new ArrayBeginJsonEvent(),
+				new StringJsonEvent("b"),
+				new NextJsonEvent(),
+				new StringJsonEvent("c"),
+				new ArrayEndJsonEvent(),
+				new ObjectEndJsonEvent(),
+				new DocumentEndJsonEvent());
+			// @formatter:on
+
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pullParser_skipValue() throws IOException {
+
+		JsonEventBuffer buffer = new DefaultJsonPushParser("[[1,{\"a\":[]}],true]").handle(new JsonEventBuffer());
+
+		JsonPullParser parser = buffer.pullParser();
+		parser.beginDocument();
+		parser.beginArray();
+		parser.skipValue();
+		Assert.assertTrue(parser.nextBoolean());
+		parser.endArray();
+		parser.endDocument();
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reset() throws IOException {
+
+		JsonEventBuffer buffer = new DefaultJsonPushParser("[\"foo\"]").handle(new JsonEventBuffer());
+		buffer.reset();
+
+		Assert.assertEquals(0, buffer.size());
+		Assert.assertEquals(JsonState.SOURCE_END, buffer.pullParser().currentState());
+
+		new DefaultJsonPushParser("\"bar\"").handle(buffer);
+
+		JsonPullParser parser = buffer.pullParser();
+		parser.beginDocument();
+		Assert.assertEquals("bar", parser.nextString());
+		parser.endDocument();
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link JsonNodeHandler}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonNodeHandlerTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullPool() {
+		new JsonNodeHandler(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literals() {
+
+		Assert.assertTrue(handle("null").isNull());
+		Assert.assertSame(handle("true"), handle("[true]").get(0));
+		Assert.assertFalse(handle("false").getBoolean());
+		Assert.assertEquals(42, handle("42").getLong());
+		Assert.assertEquals(-4.2, handle("-4.2").getDouble(), 0);
+		Assert.assertEquals("foo\"bar", handle("\"foo\\\"bar\"").getString());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void longArray() {
+
+		JsonNode array = handle("[1,2,3]");
+
+		Assert.assertEquals(JsonState.ARRAY_BEGIN, array.getState());
+		Assert.assertEquals(3, array.size());
+		Assert.assertEquals(JsonState.LONG, array.get(1).getState());
+		Assert.assertEquals(2, array.get(1).getLong());
+		Assert.assertArrayEquals(new long[] { 1, 2, 3 }, array.toLongArray());
+		Assert.assertNull(array.get(3));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void doubleArray() {
+
+		JsonNode array = handle("[1.5,2.5]");
+
+		Assert.assertEquals(JsonState.DOUBLE, array.get(0).getState());
+		Assert.assertArrayEquals(new double[] { 1.5, 2.5 }, array.toDoubleArray(), 0);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void mixedArray() {
+
+		JsonNode array = handle("[1,2.5,\"x\",null,[]]");
+
+		Assert.assertEquals(5, array.size());
+		Assert.assertEquals(JsonState.LONG, array.get(0).getState());
+		Assert.assertEquals(JsonState.DOUBLE, array.get(1).getState());
+		Assert.assertEquals("x", array.get(2).getString());
+		Assert.assertTrue(array.get(3).isNull());
+		Assert.assertEquals(0, array.get(4).size());
+		Assert.assertEquals("[1,2.5,\"x\",null,[]]", array.toString());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object() {
+
+		JsonNode object = handle("{\"a\":1,\"b\":[true],\"c\":{\"d\":\"e\"}}");
+
+		Assert.assertEquals(JsonState.OBJECT_BEGIN, object.getState());
+		Assert.assertEquals(3, object.size());
+		Assert.assertEquals("b", object.getName(1));
+		Assert.assertEquals(1, object.get("a").getLong());
+		Assert.assertTrue(object.get("b").get(0).getBoolean());
+		Assert.assertEquals("e", object.get("c").get("d").getString());
+		Assert.assertNull(object.get("missing"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object_large() {
+
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < 100; i++) {
+			builder.append(0 == i ? "" : ",").append("\"key").append(i).append("\":").append(i);
+		}
+		JsonNode object = handle(builder.append("}").toString());
+
+		Assert.assertEquals(100, object.size());
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(i, object.get("key" + i).getLong());
+		}
+		Assert.assertNull(object.get("key100"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pooledNames() throws IOException {
+
+		JsonStringPool pool = new JsonStringPool();
+
+		JsonNode first = new DefaultJsonPushParser("{\"name\":1}").handle(new JsonNodeHandler(pool));
+		JsonNode second = new DefaultJsonPushParser("{\"name\":2}").handle(new JsonNodeHandler(pool));
+
+		Assert.assertSame(first.getName(0), second.getName(0));
+		Assert.assertEquals(1, pool.size());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pool_maximumSize() {
+
+		JsonStringPool pool = new JsonStringPool(1);
+
+		Assert.assertEquals("a", pool.pool("a"));
+		Assert.assertEquals("b", pool.pool("b"));
+		Assert.assertEquals(1, pool.size());
+
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void wrongType() {
+
+		handle("[1]").getString();
+
+	}
+
+	private static JsonNode handle(String json) {
+		try {
+			return new DefaultJsonPushParser(json).handle(new JsonNodeHandler());
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link JsonParserCache}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonParserCacheTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_negativeSize() {
+		new JsonParserCache(-1);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void handle_hitAndMiss() throws IOException {
+
+		JsonParserCache cache = new JsonParserCache(1024 * 1024);
+
+		JsonNode first = cache.handle("{\"a\":[1,2]}", new JsonNodeHandler());
+		JsonNode second = cache.handle("{\"a\":[1,2]}".toCharArray(), new JsonNodeHandler());
+		JsonNode third = cache.handle(new StringReader("{\"a\":[1,2]}"), new JsonNodeHandler());
+
+		Assert.assertEquals("{\"a\":[1,2]}", first.toString());
+		Assert.assertEquals(first.toString(), second.toString());
+		Assert.assertEquals(first.toString(), third.toString());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(1, cache.getEntryCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pullParser() throws IOException {
+
+		JsonParserCache cache = new JsonParserCache(1024 * 1024);
+
+		for (int i = 0; i < 2; i++) {
+			JsonPullParser parser = cache.pullParser("[\"foo\",true]");
+			try {
+
+				parser.beginDocument();
+				parser.beginArray();
+				Assert.assertEquals("foo", parser.nextString());
+				Assert.assertTrue(parser.nextBoolean());
+				parser.endArray();
+				parser.endDocument();
+
+			} finally {
+				parser.close();
+			}
+		}
+
+		Assert.assertEquals(1, cache.getHitCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void eviction() {
+
+		JsonParserCache cache = new JsonParserCache(64);
+
+		cache.handle("[1]", new JsonNodeHandler());
+		cache.handle("[2]", new JsonNodeHandler());
+		cache.handle("[1]", new JsonNodeHandler());
+		cache.handle("[3]", new JsonNodeHandler());
+		cache.handle("[1]", new JsonNodeHandler());
+
+		Assert.assertTrue(cache.getSize() <= 64);
+		Assert.assertTrue(cache.getEvictionCount() > 0);
+		Assert.assertEquals(2, cache.getHitCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void syntaxErrorNotCached() {
+
+		JsonParserCache cache = new JsonParserCache(1024);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+
+				cache.handle("[1,]", new JsonNodeHandler());
+
+				throw new RuntimeException("Expected JsonSyntaxException");
+			} catch (JsonSyntaxException exception) {
+
+				Assert.assertEquals(JsonSyntaxError.INVALID_ARRAY_VALUE, exception.getError());
+
+			}
+		}
+
+		Assert.assertEquals(0, cache.getEntryCount());
+		Assert.assertEquals(2, cache.getMissCount());
+
+	}
+
+}
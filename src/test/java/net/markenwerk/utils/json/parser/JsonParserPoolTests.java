@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.handler.replay.JsonReplay;
+import net.markenwerk.utils.json.common.handler.replay.RecordingJsonHandler;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.LongJsonEvent;
+
+/**
+ * JUnit test for {@link ThreadLocalJsonParserPool} and
+ * {@link BoundedJsonParserPool}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonParserPoolTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_negativeCapacity() {
+		new BoundedJsonParserPool(-1);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void getPullParser_nullSource() {
+		new ThreadLocalJsonParserPool().getPullParser(null);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void release_nullParser() {
+		new ThreadLocalJsonParserPool().release((DefaultJsonPullParser) null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void reset_nullSource() {
+		new DefaultJsonPullParser("null").reset(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reset_pullParser() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser("[\"" + createLargeString() + "\"]");
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			jsonParser.skipValue();
+			jsonParser.reset(new StringJsonSource("\"foo\""));
+			jsonParser.beginDocument();
+			Assert.assertEquals("foo", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void reset_pushParser() throws IOException, JsonSyntaxException {
+		DefaultJsonPushParser jsonParser = new DefaultJsonPushParser("1");
+
+		jsonParser.handle(new RecordingJsonHandler());
+		jsonParser.reset(new StringJsonSource("2"));
+		JsonReplay replay = jsonParser.handle(new RecordingJsonHandler());
+
+		replay.assertEquals(new DocumentBeginJsonEvent(), 0);
+		replay.assertEquals(new LongJsonEvent(2), 1);
+		replay.assertEquals(new DocumentEndJsonEvent(), 2);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_reusesPullParser() throws IOException, JsonSyntaxException {
+
+		JsonParserPool pool = new ThreadLocalJsonParserPool();
+
+		DefaultJsonPullParser first = pool.getPullParser(new StringJsonSource("[\"" + createLargeString() + "\"]"));
+		first.beginDocument();
+		first.beginArray();
+		first.nextString();
+		pool.release(first);
+
+		DefaultJsonPullParser second = pool.getPullParser(new StringJsonSource("[1]"));
+		second.beginDocument();
+		second.beginArray();
+		Assert.assertEquals(1, second.nextLong());
+		second.endArray();
+		second.endDocument();
+
+		Assert.assertSame(first, second);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_inUse() {
+
+		JsonParserPool pool = new ThreadLocalJsonParserPool();
+
+		DefaultJsonPullParser first = pool.getPullParser(new StringJsonSource("1"));
+		pool.release(first);
+		DefaultJsonPullParser second = pool.getPullParser(new StringJsonSource("2"));
+		DefaultJsonPullParser third = pool.getPullParser(new StringJsonSource("3"));
+
+		Assert.assertSame(first, second);
+		Assert.assertNotSame(second, third);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_perThread() throws InterruptedException {
+
+		final JsonParserPool pool = new ThreadLocalJsonParserPool();
+		pool.release(pool.getPullParser(new StringJsonSource("1")));
+
+		final DefaultJsonPullParser[] parsers = new DefaultJsonPullParser[1];
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				parsers[0] = pool.getPullParser(new StringJsonSource("2"));
+			}
+
+		};
+		thread.start();
+		thread.join();
+
+		Assert.assertNotSame(pool.getPullParser(new StringJsonSource("3")), parsers[0]);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void threadLocal_reusesPushParser() throws IOException, JsonSyntaxException {
+
+		JsonParserPool pool = new ThreadLocalJsonParserPool();
+
+		DefaultJsonPushParser first = pool.getPushParser(new StringJsonSource("1"));
+		first.handle(new RecordingJsonHandler());
+		pool.release(first);
+
+		DefaultJsonPushParser second = pool.getPushParser(new StringJsonSource("2"));
+		JsonReplay replay = second.handle(new RecordingJsonHandler());
+		pool.release(second);
+
+		Assert.assertSame(first, second);
+		replay.assertEquals(new LongJsonEvent(2), 1);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_capacity() {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(1);
+
+		DefaultJsonPullParser first = pool.getPullParser(new StringJsonSource("1"));
+		DefaultJsonPullParser second = pool.getPullParser(new StringJsonSource("2"));
+		pool.release(first);
+		pool.release(second);
+
+		Assert.assertEquals(1, pool.getPullParserCount());
+		Assert.assertSame(first, pool.getPullParser(new StringJsonSource("3")));
+		Assert.assertEquals(0, pool.getPullParserCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_releasePullParserTwice() {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(2);
+
+		DefaultJsonPullParser jsonParser = pool.getPullParser(new StringJsonSource("1"));
+		pool.release(jsonParser);
+		pool.release(jsonParser);
+
+		Assert.assertEquals(1, pool.getPullParserCount());
+		DefaultJsonPullParser first = pool.getPullParser(new StringJsonSource("2"));
+		DefaultJsonPullParser second = pool.getPullParser(new StringJsonSource("3"));
+		Assert.assertNotSame(first, second);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_releasePushParserTwice() {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(2);
+
+		DefaultJsonPushParser jsonParser = pool.getPushParser(new StringJsonSource("1"));
+		pool.release(jsonParser);
+		pool.release(jsonParser);
+
+		Assert.assertEquals(1, pool.getPushParserCount());
+		DefaultJsonPushParser first = pool.getPushParser(new StringJsonSource("2"));
+		DefaultJsonPushParser second = pool.getPushParser(new StringJsonSource("3"));
+		Assert.assertNotSame(first, second);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_releaseForeignPullParser() throws IOException, JsonSyntaxException {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(1);
+
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new StringJsonSource("1"),
+				JsonParserMode.MULTI_DOCUMENT_MODE);
+		pool.release(jsonParser);
+
+		Assert.assertEquals(0, pool.getPullParserCount());
+		Assert.assertNotSame(jsonParser, pool.getPullParser(new StringJsonSource("2")));
+		jsonParser.beginDocument();
+		Assert.assertEquals(1, jsonParser.nextLong());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_releaseForeignPushParser() {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(1);
+
+		pool.release(new BoundedJsonParserPool(1).getPushParser(new StringJsonSource("1")));
+
+		Assert.assertEquals(0, pool.getPushParserCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_modes() throws IOException, JsonSyntaxException {
+
+		BoundedJsonParserPool pool = new BoundedJsonParserPool(1, JsonParserMode.MULTI_DOCUMENT_MODE);
+
+		pool.release(pool.getPullParser(new StringJsonSource("1")));
+		DefaultJsonPullParser jsonParser = pool.getPullParser(new StringJsonSource("1 2"));
+		jsonParser.beginDocument();
+		Assert.assertEquals(1, jsonParser.nextLong());
+		jsonParser.endDocument();
+		jsonParser.beginDocument();
+		Assert.assertEquals(2, jsonParser.nextLong());
+		jsonParser.endDocument();
+
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalStateException.class)
+	public void release_pullParserUnusable() throws IOException, JsonSyntaxException {
+
+		JsonParserPool pool = new BoundedJsonParserPool(1);
+
+		DefaultJsonPullParser jsonParser = pool.getPullParser(new StringJsonSource("1"));
+		pool.release(jsonParser);
+		jsonParser.beginDocument();
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void release_parserDescribable() {
+
+		JsonParserPool pool = new BoundedJsonParserPool(1);
+
+		DefaultJsonPullParser pullParser = pool.getPullParser(new StringJsonSource("1"));
+		DefaultJsonPushParser pushParser = pool.getPushParser(new StringJsonSource("1"));
+		pool.release(pullParser);
+		pool.release(pushParser);
+
+		Assert.assertEquals(1, pullParser.getLine());
+		Assert.assertEquals(1, pushParser.getColumn());
+		Assert.assertNotNull(pullParser.toString());
+		Assert.assertNotNull(pushParser.toString());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void bounded_reusedParserReadsEnums() throws IOException, JsonSyntaxException {
+
+		JsonParserPool pool = new BoundedJsonParserPool(1);
+
+		DefaultJsonPullParser first = pool.getPullParser(new StringJsonSource("\"NULL\""));
+		first.beginDocument();
+		Assert.assertEquals(JsonState.NULL, first.nextEnum(JsonState.class));
+		pool.release(first);
+
+		DefaultJsonPullParser second = pool.getPullParser(new StringJsonSource("\"LONG\""));
+		second.beginDocument();
+		Assert.assertEquals(JsonState.LONG, second.nextEnum(JsonState.class));
+		pool.release(second);
+
+		Assert.assertSame(first, second);
+
+	}
+
+	private static String createLargeString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			builder.append('a');
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.handler.NullJsonHandler;
+
+/**
+ * JUnit test for {@link JsonStringCache}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonStringCacheTests {
+
+	private static final String DOCUMENT = "[{\"country\":\"DE\",\"status\":\"active\"},"
+			+ "{\"country\":\"DE\",\"status\":\"inactive\"},{\"country\":\"D\\u0045\",\"status\":\"active\"}]";
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidCapacity() {
+		new JsonStringCache(0, 16);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_negativeMaximumLength() {
+		new JsonStringCache(16, -1);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_roundsCapacity() {
+
+		JsonStringCache cache = new JsonStringCache(100, 16);
+
+		Assert.assertEquals(128, cache.getCapacity());
+		Assert.assertEquals(16, cache.getMaximumLength());
+
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void get_null() {
+		new JsonStringCache(16, 16).get(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void get_sharedInstance() {
+
+		JsonStringCache cache = new JsonStringCache(16, 16);
+
+		String first = cache.get(new StringBuilder("foo"));
+		String second = cache.get(new StringBuilder("foo"));
+
+		Assert.assertEquals("foo", first);
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(0.5, cache.getHitRate(), 0);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void get_tooLong() {
+
+		JsonStringCache cache = new JsonStringCache(16, 2);
+
+		String first = cache.get(new StringBuilder("foo"));
+		String second = cache.get(new StringBuilder("foo"));
+
+		Assert.assertEquals(first, second);
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(0, cache.getHitCount());
+		Assert.assertEquals(0, cache.getMissCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void get_evicted() {
+
+		JsonStringCache cache = new JsonStringCache(1, 16);
+
+		String first = cache.get(new StringBuilder("foo"));
+		cache.get(new StringBuilder("bar"));
+		String second = cache.get(new StringBuilder("foo"));
+
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(3, cache.getMissCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void clear() {
+
+		JsonStringCache cache = new JsonStringCache(16, 16);
+		String first = cache.get(new StringBuilder("foo"));
+
+		cache.clear();
+
+		Assert.assertNotSame(first, cache.get(new StringBuilder("foo")));
+		Assert.assertEquals(0, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pullParser() throws IOException {
+
+		JsonStringCache cache = new JsonStringCache(64, 4);
+		JsonPullParser parser = new DefaultJsonPullParser(new StringJsonSource(DOCUMENT), cache);
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			String[] countries = new String[3];
+			for (int i = 0; i < 3; i++) {
+				parser.beginObject();
+				Assert.assertEquals("country", parser.nextName());
+				countries[i] = parser.nextString();
+				Assert.assertEquals("status", parser.nextName());
+				parser.nextString();
+				parser.endObject();
+			}
+			parser.endArray();
+			parser.endDocument();
+
+			Assert.assertEquals("DE", countries[0]);
+			Assert.assertSame(countries[0], countries[1]);
+			Assert.assertEquals("DE", countries[2]);
+			Assert.assertEquals(1, cache.getHitCount());
+			Assert.assertEquals(1, cache.getMissCount());
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pushParser() throws IOException {
+
+		JsonStringCache cache = new JsonStringCache(64, 16);
+
+		new DefaultJsonPushParser(new StringJsonSource(DOCUMENT), cache).handle(new NullJsonHandler());
+
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(3, cache.getMissCount());
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.JsonValueException;
+
+/**
+ * JUnit test for {@link JsonStrings}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class JsonStringsTests {
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void toEpochMillis_null() {
+		JsonStrings.toEpochMillis(null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toEpochMillis_rfc3339() {
+
+		Assert.assertEquals(0L, JsonStrings.toEpochMillis("1970-01-01T00:00:00Z"));
+		Assert.assertEquals(1464006896789L, JsonStrings.toEpochMillis("2016-05-23T12:34:56.789Z"));
+		Assert.assertEquals(1463999696789L, JsonStrings.toEpochMillis("2016-05-23T12:34:56.789+02:00"));
+		Assert.assertEquals(1464006896789L, JsonStrings.toEpochMillis("2016-05-23T10:04:56.789-02:30"));
+		Assert.assertEquals(1464006896789L, JsonStrings.toEpochMillis("2016-05-23T12:34:56.789999999Z"));
+		Assert.assertEquals(-1L, JsonStrings.toEpochMillis("1969-12-31T23:59:59.999Z"));
+		Assert.assertEquals(-62135596800000L, JsonStrings.toEpochMillis("0001-01-01T00:00:00Z"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toEpochMillis_unusualForms() {
+
+		Assert.assertEquals(951782400000L, JsonStrings.toEpochMillis("2000-02-29"));
+		Assert.assertEquals(1464006840000L, JsonStrings.toEpochMillis("2016-05-23 12:34Z"));
+		Assert.assertEquals(1464006896789L, JsonStrings.toEpochMillis("2016-05-23t12:34:56,789z"));
+		Assert.assertEquals(1463999696789L, JsonStrings.toEpochMillis("2016-05-23T12:34:56.789+0200"));
+		Assert.assertEquals(1463999696789L, JsonStrings.toEpochMillis("2016-05-23T12:34:56.789+02"));
+		Assert.assertEquals(1464006896789L, JsonStrings.toEpochMillis("+2016-05-23T12:34:56.789Z"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toEpochMillis_invalid() {
+
+		String[] values = { "", "2016", "16-05-23", "2016-5-23", "2016-13-01", "2016-02-30", "2015-02-29",
+				"2016-05-23T", "2016-05-23T12:34:56", "2016-05-23T24:00:00Z", "2016-05-23T12:60:00Z",
+				"2016-05-23T12:34:56.Z", "2016-05-23T12:34:56Zx", "2016-05-23T12:34:56+2", "2016-05-23X12:34Z" };
+		for (String value : values) {
+			try {
+
+				JsonStrings.toEpochMillis(value);
+
+				throw new RuntimeException("Expected JsonValueException for " + value);
+			} catch (JsonValueException exception) {
+			}
+		}
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toEpochNanos_rfc3339() {
+
+		Assert.assertEquals(1464006896789012345L, JsonStrings.toEpochNanos("2016-05-23T12:34:56.789012345Z"));
+		Assert.assertEquals(-1L, JsonStrings.toEpochNanos("1969-12-31T23:59:59.999999999Z"));
+
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void toEpochNanos_outOfRange() {
+
+		JsonStrings.toEpochNanos("2300-01-01T00:00:00Z");
+
+	}
+
+	private enum Color {
+
+		RED, GREEN, BLUE, Aa, BB
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toUuid() {
+
+		UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426655440000");
+
+		Assert.assertEquals(uuid, JsonStrings.toUuid("123e4567-e89b-12d3-a456-426655440000"));
+		Assert.assertEquals(uuid, JsonStrings.toUuid("123E4567-E89B-12D3-A456-426655440000"));
+		Assert.assertEquals(new UUID(-1, -1), JsonStrings.toUuid("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toUuid_invalid() {
+
+		String[] values = { "", "123e4567e89b12d3a456426655440000", "123e4567-e89b-12d3-a456-42665544000",
+				"123e4567-e89b-12d3-a456-4266554400000", "123e4567-e89b-12d3-a456_426655440000",
+				"123e4567-e89b-12d3-a456-42665544000g" };
+		for (String value : values) {
+			try {
+
+				JsonStrings.toUuid(value);
+
+				throw new RuntimeException("Expected JsonValueException for " + value);
+			} catch (JsonValueException exception) {
+			}
+		}
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toEnum() {
+
+		Assert.assertEquals(Color.RED, JsonStrings.toEnum("RED", Color.class));
+		Assert.assertEquals(Color.BLUE, JsonStrings.toEnum(new StringBuilder("BLUE"), Color.class));
+		Assert.assertEquals(Color.Aa, JsonStrings.toEnum("Aa", Color.class));
+		Assert.assertEquals(Color.BB, JsonStrings.toEnum("BB", Color.class));
+
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void toEnum_unknown() {
+
+		JsonStrings.toEnum("red", Color.class);
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("javadoc")
+	public void toEnum_nullType() {
+
+		JsonStrings.toEnum("RED", null);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toLong() {
+
+		Assert.assertEquals(9007199254740993L, JsonStrings.toLong("9007199254740993"));
+		Assert.assertEquals(Long.MIN_VALUE, JsonStrings.toLong("-9223372036854775808"));
+
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void toLong_invalid() {
+
+		JsonStrings.toLong("1.5");
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void toDouble() {
+
+		Assert.assertEquals(1234.5, JsonStrings.toDouble("1234.50"), 0);
+		Assert.assertEquals(-0.42, JsonStrings.toDouble("-4.2E-1"), 0);
+
+	}
+
+	@Test(expected = JsonValueException.class)
+	@SuppressWarnings("javadoc")
+	public void toDouble_invalid() {
+
+		JsonStrings.toDouble("1,5");
+
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.handler.replay.JsonReplay;
+import net.markenwerk.utils.json.common.handler.replay.RecordingJsonHandler;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.ArrayEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentBeginJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.DocumentEndJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.LongJsonEvent;
+import net.markenwerk.utils.json.common.handler.replay.events.NextJsonEvent;
+
+/**
+ * JUnit test for {@link LazyJsonDocument}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class LazyJsonDocumentTests {
+
+	private static final String DOCUMENT = "{\"skipped\":[{\"a\":\"]}\"},[[]]],\"string\":\"foo\\\"bar\", "
+			+ "\"long\" : 42, \"double\":-4.2e1, \"true\":true, \"null\":null, \"esc\\u0061ped\":1, "
+			+ "\"array\":[1,[2,3],{\"x\":\"y\"}]}";
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullString() {
+		new LazyJsonDocument((String) null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_empty() {
+		try {
+
+			new LazyJsonDocument(" \n ");
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_DOCUMENT_START, exception.getError());
+
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_trailingNonWhitespace() {
+		try {
+
+			new LazyJsonDocument("[] []");
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_DOCUMENT_END, exception.getError());
+
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void create_unterminatedStructure() {
+		try {
+
+			new LazyJsonDocument("{\"a\":[1,2}");
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_OBJECT_FOLLOW, exception.getError());
+
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void literal_root() {
+
+		LazyJsonValue root = new LazyJsonDocument(" 42 ").getRoot();
+
+		Assert.assertEquals(JsonState.LONG, root.getState());
+		Assert.assertEquals(42, root.getLong());
+		Assert.assertEquals(42.0, root.getDouble(), 0);
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object_values() {
+
+		LazyJsonValue root = new LazyJsonDocument(DOCUMENT).getRoot();
+
+		Assert.assertEquals(JsonState.OBJECT_BEGIN, root.getState());
+		Assert.assertEquals("foo\"bar", root.get("string").getString());
+		Assert.assertEquals(42, root.get("long").getLong());
+		Assert.assertEquals(-42.0, root.get("double").getDouble(), 0);
+		Assert.assertTrue(root.get("true").getBoolean());
+		Assert.assertTrue(root.get("null").isNull());
+		Assert.assertEquals(1, root.get("escaped").getLong());
+		Assert.assertNull(root.get("missing"));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object_valuesOutOfOrder() {
+
+		LazyJsonValue root = new LazyJsonDocument(DOCUMENT).getRoot();
+
+		Assert.assertEquals(42, root.get("long").getLong());
+		Assert.assertEquals("foo\"bar", root.get("string").getString());
+		Assert.assertEquals(42, root.get("long").getLong());
+		Assert.assertEquals("[{\"a\":\"]}\"},[[]]]", root.get("skipped").getText());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object_size() {
+
+		LazyJsonValue root = new LazyJsonDocument(DOCUMENT).getRoot();
+
+		Assert.assertEquals(8, root.size());
+		Assert.assertEquals(0, new LazyJsonDocument("{ }").getRoot().size());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void object_missingSeparator() {
+
+		LazyJsonValue root = new LazyJsonDocument("{\"a\":1 \"b\":2}").getRoot();
+
+		try {
+
+			root.get("b");
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_OBJECT_FOLLOW, exception.getError());
+
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	@SuppressWarnings("javadoc")
+	public void object_wrongType() {
+
+		new LazyJsonDocument("[]").getRoot().get("a");
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void array_values() {
+
+		LazyJsonValue array = new LazyJsonDocument(DOCUMENT).getRoot().get("array");
+
+		Assert.assertEquals(3, array.size());
+		Assert.assertEquals(1, array.get(0).getLong());
+		Assert.assertEquals(3, array.get(1).get(1).getLong());
+		Assert.assertEquals("y", array.get(2).get("x").getString());
+		Assert.assertEquals(1, array.get(0).getLong());
+		Assert.assertNull(array.get(3));
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void array_handle() {
+
+		LazyJsonValue array = new LazyJsonDocument(DOCUMENT).getRoot().get("array").get(1);
+
+		JsonReplay replay = array.handle(new RecordingJsonHandler());
+
+		// @formatter:off
+		replay.assertEquals(
+			new DocumentBeginJsonEvent(),
+			new ArrayBeginJsonEvent(),
+			new LongJsonEvent(2),
+			new NextJsonEvent(),
+			new LongJsonEvent(3),
+			new ArrayEndJsonEvent(),
+			new DocumentEndJsonEvent());
+		// @formatter:on
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void array_pullParser() throws IOException {
+
+		JsonPullParser parser = new LazyJsonDocument(DOCUMENT).getRoot().get("array").get(1).pullParser();
+		try {
+
+			parser.beginDocument();
+			parser.beginArray();
+			Assert.assertEquals(2, parser.nextLong());
+			Assert.assertEquals(3, parser.nextLong());
+			parser.endArray();
+			parser.endDocument();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void byteBuffer() throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.wrap("{\"käy\":\"välue\"}".getBytes("UTF-8"));
+
+		LazyJsonValue root = new LazyJsonDocument(buffer).getRoot();
+
+		Assert.assertEquals("välue", root.get("käy").getString());
+		Assert.assertEquals(0, buffer.position());
+
+	}
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import net.markenwerk.utils.json.handler.IdleJsonHandler;
+import net.markenwerk.utils.json.handler.JsonHandler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ParallelJsonIngester}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class ParallelJsonIngesterTests {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, new ThreadFactory() {
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	});
+
+	private static final JsonHandlerFactory<Long> COUNTING_FACTORY = new JsonHandlerFactory<Long>() {
+
+		@Override
+		public JsonHandler<Long> createHandler(File file, long offset) {
+			return new IdleJsonHandler<Long>() {
+
+				private long count;
+
+				@Override
+				public void onLong(long value) {
+					count += value;
+				}
+
+				@Override
+				public Long getResult() {
+					return count;
+				}
+
+			};
+		}
+
+	};
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullExecutor() {
+		new ParallelJsonIngester(null, 4);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidParallelism() {
+		new ParallelJsonIngester(EXECUTOR, 0);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void create_splitWithoutMultiDocumentMode() {
+		new ParallelJsonIngester(EXECUTOR, 4, 1024);
+	}
+
+	@SuppressWarnings("javadoc")
+	@Test(expected = IllegalArgumentException.class)
+	public void ingest_nullFile() throws InterruptedException {
+		new ParallelJsonIngester(EXECUTOR, 4).ingest(Arrays.asList((File) null), COUNTING_FACTORY);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void ingest_files() throws IOException, InterruptedException {
+		List<File> files = new ArrayList<File>();
+		for (int i = 0; i < 10; i++) {
+			files.add(createFile("[" + i + "," + i + "]"));
+		}
+
+		List<JsonIngestionResult<Long>> results = new ParallelJsonIngester(EXECUTOR, 4).ingest(files,
+				COUNTING_FACTORY);
+
+		Assert.assertEquals(10, results.size());
+		for (int i = 0; i < 10; i++) {
+			JsonIngestionResult<Long> result = results.get(i);
+			Assert.assertEquals(files.get(i), result.getFile());
+			Assert.assertTrue(result.isSuccessful());
+			Assert.assertEquals(1, result.getChunkCount());
+			Assert.assertEquals(Long.valueOf(2 * i), result.getResult(0));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void ingest_split() throws IOException, InterruptedException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			builder.append("{\"value\":1,\"text\":\"lïne ").append(i).append("\"}\n");
+		}
+		File largeFile = createFile(builder.toString());
+		File smallFile = createFile("1\n2");
+
+		List<JsonIngestionResult<Long>> results = new ParallelJsonIngester(EXECUTOR, 4, 1000,
+				JsonParserMode.MULTI_DOCUMENT_MODE).ingest(Arrays.asList(largeFile, smallFile), COUNTING_FACTORY);
+
+		JsonIngestionResult<Long> largeResult = results.get(0);
+		Assert.assertTrue(largeResult.isSuccessful());
+		Assert.assertTrue(largeResult.getChunkCount() > 1);
+		long count = 0;
+		for (Long result : largeResult.getResults()) {
+			count += result;
+		}
+		Assert.assertEquals(1000, count);
+		RandomAccessFile file = new RandomAccessFile(largeFile, "r");
+		try {
+			Assert.assertEquals(0, largeResult.getOffset(0));
+			for (int i = 1; i < largeResult.getChunkCount(); i++) {
+				file.seek(largeResult.getOffset(i) - 1);
+				Assert.assertEquals('\n', file.read());
+			}
+		} finally {
+			file.close();
+		}
+
+		JsonIngestionResult<Long> smallResult = results.get(1);
+		Assert.assertEquals(1, smallResult.getChunkCount());
+		Assert.assertEquals(Long.valueOf(3), smallResult.getResult(0));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void ingest_splitTrailingBlankLines() throws IOException, InterruptedException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			builder.append("[1]\n");
+		}
+		for (int i = 0; i < 100; i++) {
+			builder.append(" \r\n");
+		}
+		File file = createFile(builder.toString());
+
+		List<JsonIngestionResult<Long>> results = new ParallelJsonIngester(EXECUTOR, 4, 100,
+				JsonParserMode.MULTI_DOCUMENT_MODE).ingest(Arrays.asList(file), COUNTING_FACTORY);
+
+		JsonIngestionResult<Long> result = results.get(0);
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals(4, result.getChunkCount());
+		long count = 0;
+		for (Long chunkResult : result.getResults()) {
+			count += chunkResult;
+		}
+		Assert.assertEquals(100, count);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void ingest_errors() throws IOException, InterruptedException {
+		File validFile = createFile("[1]");
+		File invalidFile = createFile("[1,]");
+		File missingFile = new File(validFile.getPath() + ".missing");
+
+		List<JsonIngestionResult<Long>> results = new ParallelJsonIngester(EXECUTOR, 2).ingest(Arrays.asList(
+				validFile, invalidFile, missingFile), COUNTING_FACTORY);
+
+		Assert.assertTrue(results.get(0).isSuccessful());
+		Assert.assertEquals(Long.valueOf(1), results.get(0).getResult(0));
+
+		Assert.assertFalse(results.get(1).isSuccessful());
+		Assert.assertNull(results.get(1).getResult(0));
+		Assert.assertTrue(results.get(1).getException(0) instanceof JsonSyntaxException);
+
+		Assert.assertFalse(results.get(2).isSuccessful());
+		Assert.assertTrue(results.get(2).getExceptions().get(0) instanceof FileNotFoundException);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void ingest_error() throws IOException, InterruptedException {
+		File failingFile = createFile("[1,2,3]");
+		File otherFile = createFile("[1]");
+
+		List<JsonIngestionResult<Long>> results = new ParallelJsonIngester(EXECUTOR, 1).ingest(Arrays.asList(
+				failingFile, otherFile), new JsonHandlerFactory<Long>() {
+
+			@Override
+			public JsonHandler<Long> createHandler(File file, long offset) {
+				return new IdleJsonHandler<Long>() {
+
+					@Override
+					public void onLong(long value) {
+						throw new AssertionError("Failing handler");
+					}
+
+					@Override
+					public Long getResult() {
+						return null;
+					}
+
+				};
+			}
+
+		});
+
+		Assert.assertFalse(results.get(0).isSuccessful());
+		Assert.assertTrue(results.get(0).getException(0) instanceof ExecutionException);
+		Assert.assertTrue(results.get(0).getException(0).getCause() instanceof AssertionError);
+
+		Assert.assertFalse(results.get(1).isSuccessful());
+		Assert.assertTrue(results.get(1).getException(0) instanceof CancellationException);
+	}
+
+	private static File createFile(String content) throws IOException {
+		File file = File.createTempFile("ingester", ".json");
+		file.deleteOnExit();
+		FileOutputStream stream = new FileOutputStream(file);
+		try {
+			stream.write(content.getBytes(UTF_8));
+		} finally {
+			stream.close();
+		}
+		return file;
+	}
+
+}
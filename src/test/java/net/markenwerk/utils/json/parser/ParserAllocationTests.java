@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import net.markenwerk.utils.json.handler.IdleJsonHandler;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * JUnit test for the amount of memory that is allocated by
+ * {@link DefaultJsonPullParser} and {@link DefaultJsonPushParser} while
+ * processing documents that contain no string values.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class ParserAllocationTests {
+
+	private static final String DOCUMENT = "[1,true,null,2.5,{},-42,false,1e3]\n";
+
+	private static final int DOCUMENT_COUNT = 10000;
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pullParser_noStringValues() throws IOException, JsonSyntaxException {
+		com.sun.management.ThreadMXBean threadBean = getThreadBean();
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new StringJsonSource(createDocuments(2)),
+				JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			pullDocuments(jsonParser);
+			long allocatedBytes = getAllocatedBytes(threadBean);
+			pullDocuments(jsonParser);
+			allocatedBytes = getAllocatedBytes(threadBean) - allocatedBytes;
+
+			Assert.assertTrue("Allocated " + allocatedBytes + " bytes", allocatedBytes < DOCUMENT_COUNT);
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void pushParser_noStringValues() throws IOException, JsonSyntaxException {
+		com.sun.management.ThreadMXBean threadBean = getThreadBean();
+		String documents = createDocuments(1);
+		for (int i = 0; i < 2; i++) {
+			DefaultJsonPushParser jsonParser = new DefaultJsonPushParser(new StringJsonSource(documents),
+					JsonParserMode.MULTI_DOCUMENT_MODE);
+			IdleJsonHandler<Void> handler = new IdleJsonHandler<Void>() {
+
+				@Override
+				public Void getResult() {
+					return null;
+				}
+
+			};
+			long allocatedBytes = getAllocatedBytes(threadBean);
+			jsonParser.handle(handler);
+			allocatedBytes = getAllocatedBytes(threadBean) - allocatedBytes;
+
+			if (1 == i) {
+				Assert.assertTrue("Allocated " + allocatedBytes + " bytes", allocatedBytes < DOCUMENT_COUNT);
+			}
+		}
+	}
+
+	private static void pullDocuments(DefaultJsonPullParser jsonParser) throws IOException, JsonSyntaxException {
+		for (int i = 0; i < DOCUMENT_COUNT; i++) {
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(1L, jsonParser.nextLong());
+			Assert.assertTrue(jsonParser.nextBoolean());
+			jsonParser.nextNull();
+			Assert.assertEquals(2.5, jsonParser.nextDouble(), 0);
+			jsonParser.beginObject();
+			jsonParser.endObject();
+			Assert.assertEquals(-42L, jsonParser.nextLong());
+			Assert.assertFalse(jsonParser.nextBoolean());
+			Assert.assertEquals(1000, jsonParser.nextDouble(), 0);
+			jsonParser.endArray();
+			jsonParser.endDocument();
+		}
+	}
+
+	private static String createDocuments(int rounds) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < rounds * DOCUMENT_COUNT; i++) {
+			builder.append(DOCUMENT);
+		}
+		return builder.toString();
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		Object threadBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+		Assume.assumeTrue(sunThreadBean.isThreadAllocatedMemorySupported());
+		Assume.assumeTrue(sunThreadBean.isThreadAllocatedMemoryEnabled());
+		return sunThreadBean;
+	}
+
+	private static long getAllocatedBytes(com.sun.management.ThreadMXBean threadBean) {
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2015, 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link ReadAheadJsonSource}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class ReadAheadJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullReader() {
+		new ReadAheadJsonSource(null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidBlockCount() {
+		new ReadAheadJsonSource(new StringReader("null"), 128, 0, null);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void read_executor() throws IOException, JsonSyntaxException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			for (int i = 0; i < 10; i++) {
+				String value = createVeryLargeString();
+				DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new ReadAheadJsonSource(new StringReader(
+						"[\"" + value + "\"," + i + "]"), 256, 2, executor));
+				try {
+
+					jsonParser.beginDocument();
+					jsonParser.beginArray();
+					Assert.assertEquals(value, jsonParser.nextString());
+					Assert.assertEquals(i, jsonParser.nextLong());
+					jsonParser.endArray();
+					jsonParser.endDocument();
+
+				} finally {
+					jsonParser.close();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void read_failingReader() throws JsonSyntaxException {
+		Reader reader = new Reader() {
+
+			private boolean failed;
+
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				if (failed) {
+					throw new IOException("failed");
+				}
+				failed = true;
+				buffer[offset] = '[';
+				buffer[offset + 1] = '1';
+				return 2;
+			}
+
+			@Override
+			public void close() {
+			}
+
+		};
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new ReadAheadJsonSource(reader, 128, 2, null));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(JsonState.LONG, jsonParser.currentState());
+			jsonParser.nextLong();
+
+			throw new RuntimeException("Expected IOException");
+		} catch (IOException exception) {
+
+			Assert.assertEquals("failed", exception.getMessage());
+
+		} finally {
+			try {
+				jsonParser.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void read_failingReaderIsSticky() throws IOException {
+		Reader reader = new Reader() {
+
+			private int count;
+
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				switch (count++) {
+				case 0:
+					buffer[offset] = '[';
+					buffer[offset + 1] = '1';
+					return 2;
+				case 1:
+					throw new IOException("failed");
+				default:
+					buffer[offset] = '4';
+					buffer[offset + 1] = '2';
+					return 2;
+				}
+			}
+
+			@Override
+			public void close() {
+			}
+
+		};
+		ReadAheadReader readAheadReader = new ReadAheadReader(reader, 128, 2, null);
+		try {
+
+			char[] buffer = new char[128];
+			Assert.assertEquals(2, readAheadReader.read(buffer, 0, buffer.length));
+			Assert.assertEquals("[1", new String(buffer, 0, 2));
+			for (int i = 0; i < 3; i++) {
+				try {
+					readAheadReader.read(buffer, 0, buffer.length);
+					throw new RuntimeException("Expected IOException");
+				} catch (IOException exception) {
+					Assert.assertEquals("failed", exception.getMessage());
+				}
+			}
+
+		} finally {
+			readAheadReader.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void close_beforeEnd() throws IOException, JsonSyntaxException {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 10000; i++) {
+			builder.append(i).append(',');
+		}
+		builder.append("0]");
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new ReadAheadJsonSource(new StringReader(builder
+				.toString()), 128, 2, null));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(0, jsonParser.nextLong());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new ReadAheadJsonSource(new StringReader(string), 64, 3, null);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015, 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link RingBufferJsonSource}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class RingBufferJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullReader() {
+		new RingBufferJsonSource(null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_sizeTooSmall() {
+		new RingBufferJsonSource(new StringReader("null"), 64);
+	}
+
+	@Test
+	@SuppressWarnings({ "resource", "javadoc" })
+	public void create_roundsSize() {
+
+		Assert.assertEquals(256, new RingBufferJsonSource(new StringReader("null"), 200).getBufferSize());
+
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void wrapAround_linesAndColumns() throws IOException, JsonSyntaxException {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			builder.append("\"foo\nbar\",\n");
+		}
+		builder.append("\"baz\"]");
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(getSource(builder.toString()));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			for (int i = 0; i < 100; i++) {
+				Assert.assertEquals("foo\nbar", jsonParser.nextString());
+				Assert.assertEquals(2 * i + 2, jsonParser.getLine());
+			}
+			Assert.assertEquals("baz", jsonParser.nextString());
+			Assert.assertEquals(201, jsonParser.getLine());
+			Assert.assertEquals(6, jsonParser.getColumn());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new RingBufferJsonSource(new StringReader(string), 128);
+	}
+
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link DefaultJsonPullParser} with an underlying
+ * {@link SequenceJsonSource}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ */
+public class SequenceJsonPullParserTests extends AbstractJsonPullParserTests {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullInputs() {
+		new SequenceJsonSource(null);
+	}
+
+	@SuppressWarnings({ "resource", "javadoc" })
+	@Test(expected = IllegalArgumentException.class)
+	public void create_nullInput() {
+		new SequenceJsonSource(Collections.<JsonInput> singletonList(null));
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_emptyInputs() throws IOException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new SequenceJsonSource(Arrays.asList(input(
+				"first", ""), input("second", ""))));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException exception) {
+
+			Assert.assertEquals(JsonSyntaxError.INVALID_DOCUMENT_START, exception.getError());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_multipleDocuments() throws IOException, JsonSyntaxException {
+		SequenceJsonSource source = new SequenceJsonSource(Arrays.asList(input("first", "{}"),
+				input("second", "[1] 2"), input("third", "3")));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source, JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			Assert.assertEquals(-1, source.getInputIndex());
+			Assert.assertNull(source.getInputName());
+
+			jsonParser.beginDocument();
+			jsonParser.beginObject();
+			Assert.assertEquals("first", source.getInputName());
+			jsonParser.endObject();
+			jsonParser.endDocument();
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(1, source.getInputIndex());
+			Assert.assertEquals("second", source.getInputName());
+			Assert.assertEquals(1L, jsonParser.nextLong());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(2L, jsonParser.nextLong());
+			jsonParser.endDocument();
+
+			jsonParser.beginDocument();
+			Assert.assertEquals(3L, jsonParser.nextLong());
+			Assert.assertEquals("third", source.getInputName());
+			Assert.assertEquals(1L, source.getInputOffset());
+			jsonParser.endDocument();
+
+			Assert.assertEquals(JsonState.SOURCE_END, jsonParser.currentState());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_singleDocument() throws IOException, JsonSyntaxException {
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new SequenceJsonSource(Arrays.asList(input(
+				"first", "[1"), input("second", ",2]"))));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(1L, jsonParser.nextLong());
+			Assert.assertEquals(2L, jsonParser.nextLong());
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_documentSpanningInputs() throws IOException, JsonSyntaxException {
+		SequenceJsonSource source = new SequenceJsonSource(Arrays.asList(input("first", "[1,"), input("second",
+				"2]")));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source, JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(0, source.getInputIndex());
+			Assert.assertEquals(1L, jsonParser.nextLong());
+			Assert.assertEquals(2L, jsonParser.nextLong());
+			jsonParser.endArray();
+			Assert.assertEquals(1, source.getInputIndex());
+			jsonParser.endDocument();
+
+			Assert.assertEquals(JsonState.SOURCE_END, jsonParser.currentState());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_malformedBytes() throws IOException, JsonSyntaxException {
+		byte[] bytes = new byte[] { '"', 'a', (byte) 0xFF, 'b', '"' };
+		List<JsonInput> inputs = new ArrayList<JsonInput>();
+		inputs.add(new ChannelJsonInput("channel", Channels.newChannel(new ByteArrayInputStream(bytes))));
+		inputs.add(new ByteBufferJsonInput("buffer", ByteBuffer.wrap(bytes)));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new SequenceJsonSource(inputs),
+				JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("a\uFFFDb", jsonParser.nextString());
+			jsonParser.endDocument();
+
+			jsonParser.beginDocument();
+			Assert.assertEquals("a\uFFFDb", jsonParser.nextString());
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_foreignSourceReadString() throws IOException, JsonSyntaxException {
+		CountingJsonInput input = new CountingJsonInput(input("input", "[\"foo\\nbar\"]"));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new SequenceJsonSource(Arrays
+				.asList((JsonInput) input)));
+		try {
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			char[] characters = new char[16];
+			Assert.assertEquals(7, jsonParser.nextString(characters, 0));
+			Assert.assertEquals("foo\nbar", new String(characters, 0, 7));
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_lazyOpening() throws IOException, JsonSyntaxException {
+		CountingJsonInput first = new CountingJsonInput(input("first", "{}"));
+		CountingJsonInput second = new CountingJsonInput(input("second", "[]"));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(new SequenceJsonSource(Arrays.asList(first,
+				second)), JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			Assert.assertEquals(0, first.openCount);
+			Assert.assertEquals(0, second.openCount);
+
+			jsonParser.beginDocument();
+			jsonParser.beginObject();
+			Assert.assertEquals(1, first.openCount);
+			Assert.assertEquals(0, second.openCount);
+			jsonParser.endObject();
+			jsonParser.endDocument();
+
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			Assert.assertEquals(1, first.closeCount);
+			Assert.assertEquals(1, second.openCount);
+			Assert.assertEquals(0, second.closeCount);
+			jsonParser.endArray();
+			jsonParser.endDocument();
+
+		} finally {
+			jsonParser.close();
+		}
+
+		Assert.assertEquals(1, second.closeCount);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_syntaxError() throws IOException {
+		SequenceJsonSource source = new SequenceJsonSource(Arrays.asList(input("first", "{}\n{}"),
+				input("second", "[]\n\n[}")));
+		DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source, JsonParserMode.MULTI_DOCUMENT_MODE);
+		try {
+
+			for (int i = 0; i < 3; i++) {
+				jsonParser.beginDocument();
+				jsonParser.skipValue();
+				jsonParser.endDocument();
+			}
+			jsonParser.beginDocument();
+			jsonParser.beginArray();
+			jsonParser.currentState();
+
+			throw new RuntimeException("Expected JsonSyntaxException");
+		} catch (JsonSyntaxException e) {
+
+			Assert.assertEquals("second", source.getInputName());
+			Assert.assertEquals(3, e.getLine());
+			Assert.assertEquals(2, e.getColumn());
+
+		} finally {
+			jsonParser.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void sequence_inputs() throws IOException, JsonSyntaxException {
+		ByteBuffer directBuffer = ByteBuffer.allocateDirect(16);
+		directBuffer.put("\"büffer\"".getBytes(UTF_8));
+		directBuffer.flip();
+		File file = File.createTempFile("sequence", ".json");
+		try {
+			FileOutputStream stream = new FileOutputStream(file);
+			try {
+				stream.write("\"fïle\"".getBytes(UTF_8));
+			} finally {
+				stream.close();
+			}
+			List<JsonInput> inputs = new ArrayList<JsonInput>();
+			inputs.add(new FileJsonInput(file));
+			inputs.add(new ChannelJsonInput("channel", Channels.newChannel(new ByteArrayInputStream("\"chännel\""
+					.getBytes(UTF_8)))));
+			inputs.add(new ByteBufferJsonInput("buffer", directBuffer));
+			SequenceJsonSource source = new SequenceJsonSource(inputs);
+			DefaultJsonPullParser jsonParser = new DefaultJsonPullParser(source, JsonParserMode.MULTI_DOCUMENT_MODE);
+			try {
+
+				jsonParser.beginDocument();
+				Assert.assertEquals("fïle", jsonParser.nextString());
+				Assert.assertEquals(file.getPath(), source.getInputName());
+				jsonParser.endDocument();
+
+				jsonParser.beginDocument();
+				Assert.assertEquals("chännel", jsonParser.nextString());
+				jsonParser.endDocument();
+
+				jsonParser.beginDocument();
+				Assert.assertEquals("büffer", jsonParser.nextString());
+				jsonParser.endDocument();
+
+				Assert.assertEquals(JsonState.SOURCE_END, jsonParser.currentState());
+				Assert.assertEquals(0, directBuffer.position());
+
+			} finally {
+				jsonParser.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Override
+	protected JsonSource getSource(String string) {
+		return new SequenceJsonSource(Arrays.asList(input("empty", ""), input("string", string)));
+	}
+
+	private static JsonInput input(String name, String string) {
+		return new ByteBufferJsonInput(name, ByteBuffer.wrap(string.getBytes(UTF_8)));
+	}
+
+	private static final class CountingJsonInput implements JsonInput {
+
+		private final JsonInput input;
+
+		private int openCount;
+
+		private int closeCount;
+
+		private CountingJsonInput(JsonInput input) {
+			this.input = input;
+		}
+
+		@Override
+		public String getName() {
+			return input.getName();
+		}
+
+		@Override
+		public JsonSource open() throws IOException {
+			openCount++;
+			final JsonSource source = input.open();
+			return new JsonSource() {
+
+				@Override
+				public int getAvailable() {
+					return source.getAvailable();
+				}
+
+				@Override
+				public int makeAvailable() throws IOException {
+					return source.makeAvailable();
+				}
+
+				@Override
+				public boolean makeAvailable(int minimum) throws IOException {
+					return source.makeAvailable(minimum);
+				}
+
+				@Override
+				public char nextCharacter() {
+					return source.nextCharacter();
+				}
+
+				@Override
+				public char peekCharacter(int offset) {
+					return source.peekCharacter(offset);
+				}
+
+				@Override
+				public String nextString(int length) {
+					return source.nextString(length);
+				}
+
+				@Override
+				public void appendNextString(StringBuilder builder, int length) {
+					source.appendNextString(builder, length);
+				}
+
+				@Override
+				public int getLine() {
+					return source.getLine();
+				}
+
+				@Override
+				public int getColumn() {
+					return source.getColumn();
+				}
+
+				@Override
+				public String getPast(int maximum) {
+					return source.getPast(maximum);
+				}
+
+				@Override
+				public String getFuture(int maximum) {
+					return source.getFuture(maximum);
+				}
+
+				@Override
+				public void close() throws IOException {
+					closeCount++;
+					source.close();
+				}
+
+			};
+		}
+
+	}
+
+}